@@ -0,0 +1,64 @@
+package com.fitness.application.bench;
+
+import com.fitness.application.model.Streak;
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.StreakRepository;
+import com.fitness.application.repository.WorkoutRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory stand-ins for the Mongo repositories. Only the methods the benchmarked code paths
+ * call are implemented; anything else fails loudly so a new dependency is not silently measured.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static WorkoutRepository workouts(List<Workout> workouts) {
+        Map<String, List<Workout>> byUser = workouts.stream()
+                .collect(Collectors.groupingBy(Workout::getUserId));
+        return standIn(WorkoutRepository.class, Map.of(
+                "findByUserId", args -> byUser.getOrDefault((String) args[0], List.of())));
+    }
+
+    public static StreakRepository streaks() {
+        Map<String, Streak> byUser = new ConcurrentHashMap<>();
+        return standIn(StreakRepository.class, Map.of(
+                "findByUserId", args -> Optional.ofNullable(byUser.get((String) args[0])),
+                "save", args -> {
+                    Streak streak = (Streak) args[0];
+                    byUser.put(streak.getUserId(), streak);
+                    return streak;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T standIn(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> implementation = methods.get(method.getName());
+                    if (implementation != null) {
+                        return implementation.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> repositoryType.getSimpleName() + " stand-in";
+                        };
+                    }
+                    throw new UnsupportedOperationException(
+                            repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                });
+    }
+}
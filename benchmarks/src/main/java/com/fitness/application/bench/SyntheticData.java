@@ -0,0 +1,89 @@
+package com.fitness.application.bench;
+
+import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.model.Goal;
+import com.fitness.application.model.Workout;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic histories, seeded so every run measures the same data.
+ */
+public final class SyntheticData {
+    public static final String USER_ID = "bench-user";
+
+    private static final String[] TYPES = {"strength", "cardio", "hiit", "flexibility"};
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Workouts walking back from today: mostly daily, with occasional skipped days
+     * and same-day doubles, in shuffled order as a Mongo scan would return them.
+     */
+    public static List<Workout> workoutHistory(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Workout> workouts = new ArrayList<>(size);
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < size; i++) {
+            workouts.add(workout(i, date, random));
+            int step = random.nextInt(10);
+            if (step == 0) {
+                date = date.minusDays(2 + random.nextInt(3));
+            } else if (step > 1) {
+                date = date.minusDays(1);
+            }
+        }
+        for (int i = workouts.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Workout swap = workouts.get(i);
+            workouts.set(i, workouts.get(j));
+            workouts.set(j, swap);
+        }
+        return workouts;
+    }
+
+    public static Workout workout(int index, LocalDate date, SplittableRandom random) {
+        return Workout.builder()
+                .id(String.format("%024x", index))
+                .userId(USER_ID)
+                .title("Workout " + index)
+                .type(TYPES[random.nextInt(TYPES.length)])
+                .duration(15 + random.nextInt(90))
+                .calories(100 + random.nextInt(700))
+                .exercises(1 + random.nextInt(12))
+                .date(date)
+                .completed(random.nextInt(10) != 0)
+                .notes(random.nextBoolean() ? "Felt good" : null)
+                .build();
+    }
+
+    public static WorkoutDto workoutDto(int index, SplittableRandom random) {
+        return WorkoutDto.builder()
+                .id(String.format("%024x", index))
+                .title("Workout " + index)
+                .type(TYPES[random.nextInt(TYPES.length)])
+                .duration(15 + random.nextInt(90))
+                .calories(100 + random.nextInt(700))
+                .exercises(1 + random.nextInt(12))
+                .date(LocalDate.now().minusDays(index).toString())
+                .completed(random.nextBoolean())
+                .notes("Felt good")
+                .build();
+    }
+
+    public static Goal goal(int index, SplittableRandom random) {
+        double target = 10 + random.nextInt(200);
+        return Goal.builder()
+                .id(String.format("%024x", index))
+                .userId(USER_ID)
+                .title("Goal " + index)
+                .target(target)
+                .current(random.nextDouble() * target * 1.2)
+                .type("strength")
+                .build();
+    }
+}
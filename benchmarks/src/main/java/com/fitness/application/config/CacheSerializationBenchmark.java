@@ -0,0 +1,63 @@
+package com.fitness.application.config;
+
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.dto.WorkoutDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a cached "workouts" entry through the value serializer configured in CacheConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CacheSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int entries;
+
+    private RedisSerializer<Object> serializer;
+    private List<WorkoutDto> workouts;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = CacheConfig.cacheValueSerializer();
+
+        SplittableRandom random = new SplittableRandom(42L);
+        workouts = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            workouts.add(SyntheticData.workoutDto(i, random));
+        }
+        serialized = serializer.serialize(workouts);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(workouts);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,111 @@
+package com.fitness.application.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.model.Workout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU per workout-history response for each negotiable encoding, with and without the gzip
+ * the container applies. Run main() for the matching bytes per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Workout> history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = mapper(format);
+        history = SyntheticData.workoutHistory(listSize, 42L);
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        return encode(objectMapper, history, gzip);
+    }
+
+    private static long encode(ObjectMapper objectMapper, List<Workout> history, boolean gzip) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        // Tomcat's gzip filter uses the default deflate level, as GZIPOutputStream does
+        try (OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter) {
+            objectMapper.writeValue(out, history);
+        }
+        return counter.bytes;
+    }
+
+    // Built the way JacksonConfig builds the application's converters
+    private static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        return new Jackson2ObjectMapperBuilder().factory(factory).modules(new EntityJsonModule()).build();
+    }
+
+    /**
+     * Prints bytes per response for each encoding.
+     */
+    public static void main(String[] args) throws IOException {
+        int listSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        List<Workout> history = SyntheticData.workoutHistory(listSize, 42L);
+        System.out.printf("%d workouts%n%-8s %12s %12s%n", listSize, "format", "bytes", "gzip bytes");
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper objectMapper = mapper(format);
+            System.out.printf("%-8s %12d %12d%n", format,
+                    encode(objectMapper, history, false), encode(objectMapper, history, true));
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
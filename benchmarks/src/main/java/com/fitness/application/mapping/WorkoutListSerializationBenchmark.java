@@ -0,0 +1,93 @@
+package com.fitness.application.mapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.model.Workout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A getAllWorkouts-sized response from entities to JSON bytes: builder-mapped DTOs (the old
+ * path), WorkoutMapper DTOs, and entities written directly by EntityJsonModule. Output goes to
+ * a null stream so only mapping and serialization are measured. Run with "-prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WorkoutListSerializationBenchmark {
+
+    @Param({"1000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Workout> history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same builder Spring Boot uses for the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().modules(new EntityJsonModule()).build();
+        history = SyntheticData.workoutHistory(listSize, 42L);
+    }
+
+    @Benchmark
+    public void builderDtos() throws IOException {
+        List<WorkoutDto> dtos = new ArrayList<>(history.size());
+        for (Workout workout : history) {
+            dtos.add(WorkoutMappingBenchmark.builderToDto(workout));
+        }
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    @Benchmark
+    public void mapperDtos() throws IOException {
+        List<WorkoutDto> dtos = new ArrayList<>(history.size());
+        for (Workout workout : history) {
+            dtos.add(WorkoutMapper.toDto(workout));
+        }
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    @Benchmark
+    public void entitiesDirect() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), history);
+    }
+
+    /**
+     * Fails fast if the entity serializer ever drifts from the DTO's JSON shape.
+     */
+    public static void main(String[] args) throws IOException {
+        WorkoutListSerializationBenchmark benchmark = new WorkoutListSerializationBenchmark();
+        benchmark.listSize = 50;
+        benchmark.setUp();
+        List<WorkoutDto> dtos = benchmark.history.stream().map(WorkoutMappingBenchmark::builderToDto).toList();
+        byte[] expected = benchmark.objectMapper.writeValueAsBytes(dtos);
+        byte[] actual = benchmark.objectMapper.writeValueAsBytes(benchmark.history);
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Entity JSON differs from DTO JSON:\n"
+                    + new String(expected) + "\n" + new String(actual));
+        }
+        System.out.println("Entity and DTO JSON are identical");
+    }
+}
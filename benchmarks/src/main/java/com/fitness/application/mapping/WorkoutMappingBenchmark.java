@@ -0,0 +1,119 @@
+package com.fitness.application.mapping;
+
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.model.Workout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping through WorkoutMapper, per element and over a full history list
+ * as returned by getAllWorkouts, against the previous builder + LocalDate.toString/parse
+ * conversion. Run with "-prof gc" to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WorkoutMappingBenchmark {
+
+    @Param({"1000"})
+    private int listSize;
+
+    private Workout workout;
+    private WorkoutDto workoutDto;
+    private List<Workout> history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        workout = SyntheticData.workout(1, LocalDate.now(), random);
+        workoutDto = SyntheticData.workoutDto(1, random);
+        history = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            history.add(SyntheticData.workout(i, LocalDate.now().minusDays(i), random));
+        }
+    }
+
+    @Benchmark
+    public WorkoutDto toDto() {
+        return WorkoutMapper.toDto(workout);
+    }
+
+    @Benchmark
+    public WorkoutDto toDtoWithBuilder() {
+        return builderToDto(workout);
+    }
+
+    @Benchmark
+    public Workout toEntity() {
+        return WorkoutMapper.toEntity(workoutDto);
+    }
+
+    @Benchmark
+    public Workout toEntityWithBuilder() {
+        return builderToEntity(workoutDto);
+    }
+
+    @Benchmark
+    public void historyToDtos(Blackhole blackhole) {
+        for (Workout entry : history) {
+            blackhole.consume(WorkoutMapper.toDto(entry));
+        }
+    }
+
+    @Benchmark
+    public void historyToDtosWithBuilder(Blackhole blackhole) {
+        for (Workout entry : history) {
+            blackhole.consume(builderToDto(entry));
+        }
+    }
+
+    // The conversions WorkoutService used before WorkoutMapper, kept as the baseline
+    static WorkoutDto builderToDto(Workout workout) {
+        return WorkoutDto.builder()
+                .id(workout.getId())
+                .title(workout.getTitle())
+                .type(workout.getType())
+                .duration(workout.getDuration())
+                .calories(workout.getCalories())
+                .exercises(workout.getExercises())
+                .date(workout.getDate().toString())
+                .completed(workout.isCompleted())
+                .notes(workout.getNotes())
+                .build();
+    }
+
+    static Workout builderToEntity(WorkoutDto dto) {
+        return Workout.builder()
+                .id(dto.getId())
+                .title(dto.getTitle())
+                .type(dto.getType())
+                .duration(dto.getDuration())
+                .calories(dto.getCalories())
+                .exercises(dto.getExercises())
+                .date(LocalDate.parse(dto.getDate()))
+                .completed(dto.isCompleted())
+                .notes(dto.getNotes())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fitness.application.service;
+
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.model.Goal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GoalProgressBenchmark {
+    private static final int GOAL_COUNT = 1024;
+
+    private GoalService goalService;
+    private Goal[] goals;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        goalService = new GoalService(null, null, null, null);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        goals = new Goal[GOAL_COUNT];
+        for (int i = 0; i < GOAL_COUNT; i++) {
+            goals[i] = SyntheticData.goal(i, random);
+        }
+    }
+
+    // Cycles through varied goals so the branch profile is not a single constant input
+    @Benchmark
+    public int calculateProgress() {
+        Goal goal = goals[next];
+        next = (next + 1) & (GOAL_COUNT - 1);
+        return goalService.calculateProgress(goal);
+    }
+}
@@ -0,0 +1,54 @@
+package com.fitness.application.service;
+
+import com.fitness.application.bench.InMemoryRepositories;
+import com.fitness.application.bench.SyntheticData;
+import com.fitness.application.repository.StreakRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full streak recalculation over a user's history, the path taken whenever a completed
+ * workout is deleted, un-completed or moved to another date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StreakServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int historySize;
+
+    private StreakService streakService;
+    private StreakRepository streakRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        streakRepository = InMemoryRepositories.streaks();
+        streakService = new StreakService(
+                streakRepository,
+                InMemoryRepositories.workouts(SyntheticData.workoutHistory(historySize, 42L)),
+                event -> { });
+    }
+
+    @Benchmark
+    public void recalculateStreak(Blackhole blackhole) {
+        streakService.recalculateStreak(SyntheticData.USER_ID);
+        blackhole.consume(streakRepository.findByUserId(SyntheticData.USER_ID));
+    }
+}
@@ -0,0 +1,87 @@
+package com.fitness.application.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-side filter that charges the bytes allocated by each request thread to the scenario
+ * named in the request header. Work handed to other threads (such as the dashboard fan-out
+ * pool, the outbox drain or the cache refreshers) is not attributed to a scenario; it is part of
+ * {@link #serverAllocatedBytes()}, the total of every thread except the load driver's since the
+ * last {@link #reset()}, which includes the in-process MongoDB and Redis when they are used. Threads
+ * that end during a run take their count with them.
+ */
+final class AllocationTracker extends OncePerRequestFilter {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<Scenario, LongAdder> bytesByScenario = new EnumMap<>(Scenario.class);
+    private volatile Map<Long, Long> baseline = Map.of();
+
+    AllocationTracker() {
+        for (Scenario scenario : Scenario.values()) {
+            bytesByScenario.put(scenario, new LongAdder());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String label = request.getHeader(Scenario.HEADER);
+        if (label == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bytesByScenario.get(Scenario.fromName(label)).add(THREADS.getCurrentThreadAllocatedBytes() - before);
+        }
+    }
+
+    long allocatedBytes(Scenario scenario) {
+        return bytesByScenario.get(scenario).sum();
+    }
+
+    long serverAllocatedBytes() {
+        Map<Long, Long> start = baseline;
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : serverThreadBytes().entrySet()) {
+            total += thread.getValue() - start.getOrDefault(thread.getKey(), 0L);
+        }
+        return total;
+    }
+
+    void reset() {
+        bytesByScenario.values().forEach(LongAdder::reset);
+        baseline = serverThreadBytes();
+    }
+
+    private static Map<Long, Long> serverThreadBytes() {
+        Map<Long, Long> bytes = new HashMap<>();
+        for (ThreadInfo thread : THREADS.getThreadInfo(THREADS.getAllThreadIds())) {
+            if (thread == null || thread.getThreadName().startsWith(LoadDriver.THREAD_PREFIX)
+                    || thread.getThreadName().startsWith("HttpClient-")) {
+                continue;
+            }
+            long allocated = THREADS.getThreadAllocatedBytes(thread.getThreadId());
+            if (allocated >= 0) {
+                bytes.put(thread.getThreadId(), allocated);
+            }
+        }
+        return bytes;
+    }
+}
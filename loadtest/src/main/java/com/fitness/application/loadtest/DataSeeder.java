@@ -0,0 +1,109 @@
+package com.fitness.application.loadtest;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.User;
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.ProgressRepository;
+import com.fitness.application.repository.UserRepository;
+import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.security.JwtUtils;
+import com.fitness.application.security.UserDetailsImpl;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds users with a daily-ish workout history and a weight series, straight through the
+ * repositories, and mints a token per user so the run never pays for bcrypt logins.
+ */
+final class DataSeeder {
+    private static final String[] TYPES = {"strength", "cardio", "hiit", "flexibility"};
+
+    private final UserRepository userRepository;
+    private final WorkoutRepository workoutRepository;
+    private final ProgressRepository progressRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtils jwtUtils;
+
+    DataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.workoutRepository = context.getBean(WorkoutRepository.class);
+        this.progressRepository = context.getBean(ProgressRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.jwtUtils = context.getBean(JwtUtils.class);
+    }
+
+    List<SeededUser> seed(LoadTestOptions options) {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        String passwordHash = passwordEncoder.encode("load-test-password");
+        List<SeededUser> seeded = new ArrayList<>(options.users);
+
+        for (int u = 0; u < options.users; u++) {
+            User user = userRepository.save(User.builder()
+                    .name("Load User " + u)
+                    .email("load-user-" + u + "@example.com")
+                    .password(passwordHash)
+                    .build());
+
+            List<Workout> workouts = workoutRepository.saveAll(workouts(user.getId(), options.workoutsPerUser, random));
+            progressRepository.saveAll(weightSeries(user.getId(), options.progressPerUser, random));
+
+            List<String> workoutIds = new ArrayList<>(workouts.size());
+            for (Workout workout : workouts) {
+                workoutIds.add(workout.getId());
+            }
+            seeded.add(new SeededUser(user.getId(), token(user), workoutIds));
+        }
+        return seeded;
+    }
+
+    private List<Workout> workouts(String userId, int count, SplittableRandom random) {
+        List<Workout> workouts = new ArrayList<>(count);
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            workouts.add(Workout.builder()
+                    .userId(userId)
+                    .title("Session " + i)
+                    .type(TYPES[random.nextInt(TYPES.length)])
+                    .duration(15 + random.nextInt(90))
+                    .calories(100 + random.nextInt(700))
+                    .exercises(1 + random.nextInt(12))
+                    .date(date)
+                    .completed(random.nextInt(10) != 0)
+                    .notes(random.nextInt(3) == 0 ? "Felt strong today" : null)
+                    .build());
+            date = date.minusDays(random.nextInt(7) == 0 ? 2 : 1);
+        }
+        return workouts;
+    }
+
+    private List<Progress> weightSeries(String userId, int count, SplittableRandom random) {
+        List<Progress> series = new ArrayList<>(count);
+        double weight = 70 + random.nextInt(30);
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            weight += (random.nextDouble() - 0.55) * 0.4;
+            series.add(Progress.builder()
+                    .userId(userId)
+                    .category("weight")
+                    .date(date.minusDays(i))
+                    .value(Math.round(weight * 10) / 10.0)
+                    .additionalData(Map.of("unit", "kg"))
+                    .build());
+        }
+        return series;
+    }
+
+    private String token(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(
+                user.getId(), user.getEmail(), user.getEmail(), user.getPassword(), user.getName());
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fitness.application.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * In-process MongoDB and Redis substitutes bound to loopback, so a run needs no network
+ * and no external services. A real MongoDB can be given instead, for storage and latency
+ * figures the in-memory backend cannot provide; the run then uses its fitness_loadtest database.
+ */
+final class EmbeddedBackends implements AutoCloseable {
+    private final MongoServer mongoServer;
+    private final RedisServer redisServer;
+    private final InetSocketAddress mongoAddress;
+
+    private EmbeddedBackends(MongoServer mongoServer, InetSocketAddress mongoAddress, RedisServer redisServer) {
+        this.mongoServer = mongoServer;
+        this.mongoAddress = mongoAddress;
+        this.redisServer = redisServer;
+    }
+
+    static EmbeddedBackends start(String externalMongo) throws IOException {
+        MongoServer mongoServer = null;
+        InetSocketAddress mongoAddress;
+        if (externalMongo != null) {
+            String[] hostAndPort = externalMongo.split(":");
+            mongoAddress = InetSocketAddress.createUnresolved(hostAndPort[0],
+                    hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : 27017);
+        } else {
+            mongoServer = new MongoServer(new MemoryBackend());
+            mongoServer.bind("127.0.0.1", 0);
+            mongoAddress = mongoServer.getLocalAddress();
+        }
+
+        RedisServer redisServer = RedisServer.newRedisServer(0);
+        redisServer.start();
+
+        return new EmbeddedBackends(mongoServer, mongoAddress, redisServer);
+    }
+
+    String[] springProperties() {
+        return new String[]{
+                "--spring.data.mongodb.host=" + (mongoServer != null ? "127.0.0.1" : mongoAddress.getHostString()),
+                "--spring.data.mongodb.port=" + mongoAddress.getPort(),
+                "--spring.data.mongodb.database=" + (mongoServer != null ? "fitnessdb" : "fitness_loadtest"),
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redisServer.getBindPort()
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        redisServer.stop();
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.fitness.application.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop driver: each worker picks a user and a scenario by weight, sends the request,
+ * waits for the full response and records the latency under that scenario.
+ */
+final class LoadDriver {
+    static final String THREAD_PREFIX = "load-driver-";
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final Scenario[] weightedScenarios;
+
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+
+    private volatile boolean running;
+
+    LoadDriver(String baseUrl, List<SeededUser> users, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.weightedScenarios = expand(options.mix);
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the workers for the given time and returns the latency histograms of that window.
+     */
+    Map<Scenario, Histogram> run(Duration duration) throws InterruptedException {
+        for (Recorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+        errors.values().forEach(LongAdder::reset);
+
+        running = true;
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency,
+                task -> new Thread(task, THREAD_PREFIX + threads.incrementAndGet()));
+        for (int i = 0; i < options.concurrency; i++) {
+            long workerSeed = options.seed * 31 + i;
+            workers.execute(() -> work(new SplittableRandom(workerSeed)));
+        }
+
+        Thread.sleep(duration.toMillis());
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+        recorders.forEach((scenario, recorder) -> histograms.put(scenario, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(Scenario scenario) {
+        return errors.get(scenario).sum();
+    }
+
+    private void work(SplittableRandom random) {
+        while (running) {
+            SeededUser user = users.get(random.nextInt(users.size()));
+            Scenario scenario = weightedScenarios[random.nextInt(weightedScenarios.length)];
+            HttpRequest request = scenario.request(baseUrl, user, random)
+                    .header("Authorization", "Bearer " + user.token())
+                    .header(Scenario.HEADER, scenario.label())
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                long latency = System.nanoTime() - start;
+                if (response.statusCode() >= 400) {
+                    errors.get(scenario).increment();
+                } else {
+                    recorders.get(scenario).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                errors.get(scenario).increment();
+            }
+        }
+    }
+
+    private static Scenario[] expand(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Scenario[] weighted = new Scenario[total];
+        int i = 0;
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                weighted[i++] = entry.getKey();
+            }
+        }
+        return weighted;
+    }
+}
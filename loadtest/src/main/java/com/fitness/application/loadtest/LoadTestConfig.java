@@ -0,0 +1,22 @@
+package com.fitness.application.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+class LoadTestConfig {
+
+    @Bean
+    AllocationTracker allocationTracker() {
+        return new AllocationTracker();
+    }
+
+    @Bean
+    FilterRegistrationBean<AllocationTracker> allocationTrackerRegistration(AllocationTracker allocationTracker) {
+        FilterRegistrationBean<AllocationTracker> registration = new FilterRegistrationBean<>(allocationTracker);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
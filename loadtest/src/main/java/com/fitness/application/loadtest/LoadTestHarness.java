@@ -0,0 +1,143 @@
+package com.fitness.application.loadtest;
+
+import com.fitness.application.FitnessApplication;
+import org.HdrHistogram.Histogram;
+import org.bson.Document;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the backend against in-process MongoDB and Redis, seeds data, drives the configured
+ * traffic mix and prints throughput, latency percentiles and allocation per scenario.
+ *
+ * <pre>java -jar target/loadtest.jar --concurrency=32 --duration=60 --users=500</pre>
+ *
+ * Run it once with --workout-storage=documents and once with --workout-storage=buckets to
+ * compare the two workout layouts under the same traffic, and likewise --progress-storage with
+ * collection and timeseries.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        try (EmbeddedBackends backends = EmbeddedBackends.start(options.mongo);
+             ConfigurableApplicationContext context = boot(backends, options)) {
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = new DataSeeder(context).seed(options);
+            System.out.printf("Seeded %d users in %d ms%n", users.size(),
+                    Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+            printStorage(context.getBean(MongoTemplate.class));
+
+            AllocationTracker allocations = context.getBean(AllocationTracker.class);
+            LoadDriver driver = new LoadDriver(baseUrl, users, options);
+
+            if (options.warmupSeconds > 0) {
+                driver.run(Duration.ofSeconds(options.warmupSeconds));
+            }
+            allocations.reset();
+
+            Duration measured = Duration.ofSeconds(options.durationSeconds);
+            Map<Scenario, Histogram> histograms = driver.run(measured);
+            print(histograms, driver, allocations, measured);
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(EmbeddedBackends backends, LoadTestOptions options) {
+        List<String> properties = new ArrayList<>(List.of(backends.springProperties()));
+        properties.addAll(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--app.ratelimit.enabled=false",
+                "--app.notifications.scheduler.enabled=false",
+                "--app.mongo.profiler.explain-enabled=false", // the in-memory backend has no explain command
+                "--app.changestream.enabled=false", // nor working change streams
+                "--app.workouts.storage=" + options.workoutStorage,
+                "--app.progress.storage=" + options.progressStorage,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.de.bwaldvogel=ERROR",
+                "--logging.level.com.fitness.application=WARN"));
+
+        return new SpringApplicationBuilder(FitnessApplication.class, LoadTestConfig.class)
+                .run(properties.toArray(String[]::new));
+    }
+
+    private static void print(Map<Scenario, Histogram> histograms, LoadDriver driver,
+                              AllocationTracker allocations, Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        System.out.printf("%n%-18s %9s %9s %9s %9s %9s %9s %7s %12s %11s%n",
+                "scenario", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "alloc/req*", "alloc MB/s*");
+
+        long totalRequests = 0;
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+            long requests = histogram.getTotalCount();
+            long errors = driver.errors(scenario);
+            if (requests == 0 && errors == 0) {
+                continue;
+            }
+            totalRequests += requests;
+
+            long allocated = allocations.allocatedBytes(scenario);
+            System.out.printf("%-18s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %12s %11.1f%n",
+                    scenario.label(),
+                    requests,
+                    requests / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    errors,
+                    requests > 0 ? formatBytes(allocated / (requests + errors)) : "-",
+                    allocated / seconds / (1024 * 1024));
+        }
+        System.out.printf("%ntotal throughput: %.1f req/s%n", totalRequests / seconds);
+        System.out.println("* on the request thread only");
+
+        long serverAllocated = allocations.serverAllocatedBytes();
+        System.out.printf("server allocation, all threads: %s/req, %.1f MB/s%n",
+                totalRequests > 0 ? formatBytes(serverAllocated / totalRequests) : "-",
+                serverAllocated / seconds / (1024 * 1024));
+    }
+
+    private static void printStorage(MongoTemplate mongoTemplate) {
+        System.out.printf("%n%-18s %10s %12s %12s %12s%n", "collection", "documents", "data", "storage", "indexes");
+        for (String collection : List.of("workouts", "workout_buckets", "progress", "progress_series")) {
+            if (!mongoTemplate.collectionExists(collection)) {
+                continue;
+            }
+            // A time-series collection counts its buckets here, not its measurements
+            Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+            System.out.printf("%-18s %10d %12s %12s %12s%n", collection,
+                    size(stats, "count"), formatBytes(size(stats, "size")),
+                    formatBytes(size(stats, "storageSize")), formatBytes(size(stats, "totalIndexSize")));
+        }
+    }
+
+    private static long size(Document stats, String field) {
+        return stats.get(field) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes >= 1024 * 1024
+                ? String.format("%.1f MB", bytes / (1024.0 * 1024))
+                : String.format("%.1f KB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fitness.application.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Harness settings, given as --key=value arguments.
+ */
+final class LoadTestOptions {
+    int concurrency = 16;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    int users = 200;
+    int workoutsPerUser = 365;
+    int progressPerUser = 180;
+    long seed = 42L;
+    String workoutStorage = "documents";
+    String progressStorage = "collection";
+    String mongo; // host:port of a real MongoDB, instead of the in-memory one
+    Map<Scenario, Integer> mix = parseMix("dashboard=40,log-workout=10,toggle-completion=10,workout-range=25,progress-range=15");
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "workouts-per-user" -> options.workoutsPerUser = Integer.parseInt(value);
+                case "progress-per-user" -> options.progressPerUser = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "workout-storage" -> options.workoutStorage = value;
+                case "progress-storage" -> options.progressStorage = value;
+                case "mongo" -> options.mongo = value;
+                case "mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Scenario.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "concurrency=" + concurrency + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds
+                + "s, users=" + users + ", workouts/user=" + workoutsPerUser
+                + ", progress/user=" + progressPerUser + ", workout storage=" + workoutStorage
+                + ", progress storage=" + progressStorage + ", mongo=" + (mongo != null ? mongo : "in-memory")
+                + ", mix=" + mix;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fitness.application.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * The traffic mix. Each scenario builds one request for a seeded user.
+ */
+enum Scenario {
+    DASHBOARD("dashboard") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard")).GET();
+        }
+    },
+    LOG_WORKOUT("log-workout") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            String body = "{\"title\":\"Load test workout\",\"type\":\"cardio\",\"duration\":" + (20 + random.nextInt(60))
+                    + ",\"calories\":" + (150 + random.nextInt(500)) + ",\"exercises\":" + (1 + random.nextInt(8))
+                    + ",\"date\":\"" + LocalDate.now() + "\",\"completed\":true}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/workouts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    TOGGLE_COMPLETION("toggle-completion") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            String workoutId = user.workoutIds().get(random.nextInt(user.workoutIds().size()));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/workouts/" + workoutId + "/toggle-completion"))
+                    .PUT(HttpRequest.BodyPublishers.noBody());
+        }
+    },
+    WORKOUT_RANGE("workout-range") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            int[] windows = {7, 30, 90};
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/workouts/range?days=" + windows[random.nextInt(windows.length)]))
+                    .GET();
+        }
+    },
+    // Not in the default mix: one user's full year, the read the bucketed workout layout is for
+    WORKOUT_YEAR("workout-year") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/workouts/range?days=365")).GET();
+        }
+    },
+    PROGRESS_RANGE("progress-range") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            LocalDate end = LocalDate.now();
+            LocalDate start = end.minusDays(30 + random.nextInt(150));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/range?category=weight&startDate="
+                    + start + "&endDate=" + end)).GET();
+        }
+    },
+    // Not in the default mix: the in-memory backend has no $dateTrunc
+    PROGRESS_SERIES("progress-series") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random) {
+            String[] units = {"week", "month"};
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/series?category=weight&unit="
+                    + units[random.nextInt(units.length)])).GET();
+        }
+    };
+
+    static final String HEADER = "X-Load-Scenario";
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, SeededUser user, SplittableRandom random);
+
+    static Scenario fromName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+}
@@ -0,0 +1,6 @@
+package com.fitness.application.loadtest;
+
+import java.util.List;
+
+record SeededUser(String id, String token, List<String> workoutIds) {
+}
@@ -0,0 +1,18 @@
+package com.fitness.application.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cached value as stored by {@link CoalescingCache}, with the time it stops being fresh and
+ * how long it took to load, which scales its probabilistic early refresh.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedValue {
+    private Object value;
+    private long freshUntil;
+    private long loadMillis;
+}
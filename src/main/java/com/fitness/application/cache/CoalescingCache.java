@@ -0,0 +1,208 @@
+package com.fitness.application.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads {@code @Cacheable(sync = true)} misses once per key and node: callers that miss while a
+ * load is running wait for it instead of running their own. An entry is fresh for the first part
+ * of its TTL. After that it is served stale while one background load replaces it, and a hot
+ * entry may be replaced earlier still, with a chance that grows as its fresh time runs out and
+ * with how long it took to load (XFetch). Evicting a key detaches a load in flight for it, so a
+ * value read before a write is never stored after that write's eviction.
+ */
+public class CoalescingCache implements Cache {
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingCache.class);
+
+    private final Cache delegate;
+    private final TtlFunction ttl;
+    private final double staleFraction;
+    private final double earlyRefreshBeta;
+    private final TaskExecutor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    public CoalescingCache(Cache delegate, TtlFunction ttl, double staleFraction, double earlyRefreshBeta,
+                           TaskExecutor refreshExecutor, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.staleFraction = staleFraction;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return (T) load(key, valueLoader);
+        }
+        if (!(wrapper.get() instanceof CachedValue cached)) {
+            return (T) wrapper.get(); // stored before this cache wrapped its values
+        }
+        long now = clock.millis();
+        if (now >= cached.getFreshUntil()) {
+            refresh(key, valueLoader, cached.getValue(), "stale");
+        } else if (now - cached.getLoadMillis() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble())
+                >= cached.getFreshUntil()) {
+            refresh(key, valueLoader, cached.getValue(), "early");
+        }
+        return (T) cached.getValue();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        loads.remove(key);
+        delegate.put(key, value != null ? wrap(key, value, 0) : null);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value != null ? wrap(key, value, 0) : null);
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        // Detached first, so a load that finishes in between does not store its value
+        loads.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loads.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        loads.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loads.clear();
+        return delegate.invalidate();
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running == null) {
+            count("miss");
+            return run(key, valueLoader, load);
+        }
+        count("coalesced");
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // The loader's own exception, which the caching interceptor unwraps
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private void refresh(Object key, Callable<?> valueLoader, Object stale, String reason) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+        count(reason);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    run(key, valueLoader, load);
+                } catch (ValueRetrievalException e) {
+                    logger.warn("Background refresh of {} {} failed: {}", getName(), key,
+                            NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            loads.remove(key, load);
+            load.complete(stale);
+        }
+    }
+
+    private Object run(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        long started = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Throwable e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // Removed before storing: an eviction since the load started has already removed it
+        if (loads.remove(key, load) && value != null) {
+            delegate.put(key, wrap(key, value, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
+        }
+        load.complete(value);
+        return value;
+    }
+
+    private CachedValue wrap(Object key, Object value, long loadMillis) {
+        Duration timeToLive = ttl != null ? ttl.getTimeToLive(key, value) : null;
+        long freshUntil = timeToLive != null && timeToLive.compareTo(Duration.ZERO) > 0
+                ? clock.millis() + (long) (timeToLive.toMillis() * (1 - staleFraction))
+                : Long.MAX_VALUE;
+        return new CachedValue(value, freshUntil, loadMillis);
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof CachedValue cached ? cached.getValue() : stored;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("fitness.cache.loads", "cache", getName(), "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitness.application.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps each cache of a {@link CacheManager} in a {@link CoalescingCache}, taking entry TTLs
+ * from the Redis cache configuration.
+ */
+public class CoalescingCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final double staleFraction;
+    private final double earlyRefreshBeta;
+    private final TaskExecutor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheManager(CacheManager delegate, double staleFraction, double earlyRefreshBeta,
+                                  TaskExecutor refreshExecutor, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.staleFraction = staleFraction;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, key -> {
+            Cache cache = delegate.getCache(key);
+            return cache != null ? coalescing(cache) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Cache coalescing(Cache cache) {
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        return new CoalescingCache(cache,
+                target instanceof RedisCache redisCache ? redisCache.getCacheConfiguration().getTtlFunction() : null,
+                staleFraction, earlyRefreshBeta, refreshExecutor, meterRegistry, clock);
+    }
+}
@@ -0,0 +1,155 @@
+package com.fitness.application.changestream;
+
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.service.CollectionVersionService;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Evicts the cache entries and bumps the ETag version of whichever user a change belongs to.
+ * The services already do both for their own writes so a client reads its write straight
+ * away; this catches the keys they miss and writes made outside the API.
+ */
+@Component
+public class CacheInvalidationListener implements ChangeStreamListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final String WORKOUT_BUCKETS = "workout_buckets";
+
+    private final CacheManager cacheManager;
+    private final RedisCacheWriter cacheWriter;
+    private final CollectionVersionService versionService;
+    private final MongoTemplate mongoTemplate;
+
+    public CacheInvalidationListener(CacheManager cacheManager,
+                                     RedisCacheWriter cacheWriter,
+                                     CollectionVersionService versionService,
+                                     MongoTemplate mongoTemplate) {
+        this.cacheManager = cacheManager;
+        this.cacheWriter = cacheWriter;
+        this.versionService = versionService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void onChange(String collection, ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        if (operation == OperationType.DROP || operation == OperationType.RENAME || operation == OperationType.INVALIDATE) {
+            onHistoryLost(collection);
+            return;
+        }
+        String id = documentId(change);
+        if (id == null) {
+            return;
+        }
+        if (WORKOUT_BUCKETS.equals(collection)) {
+            onBucketChange(id, change);
+            return;
+        }
+
+        String userId = owner(change);
+        if (userId == null && operation != OperationType.DELETE) {
+            // Deleted again before the lookup; its delete event follows
+            return;
+        }
+        if (userId == null) {
+            // Without pre-images a delete only carries the id; deletes through the API leave a tombstone
+            SyncTombstone tombstone = mongoTemplate.findOne(
+                    new Query(Criteria.where("entityId").is(id)), SyncTombstone.class);
+            userId = tombstone != null ? tombstone.getUserId() : null;
+        }
+        if (userId == null) {
+            logger.info("Cannot attribute a {} of {} {}, clearing its caches", change.getOperationTypeString(), collection, id);
+            clearCaches(collection);
+            return;
+        }
+
+        evict(collection, userId, id);
+        versionService.bump(collection, userId);
+    }
+
+    @Override
+    public void onHistoryLost(String collection) {
+        String cached = WORKOUT_BUCKETS.equals(collection) ? "workouts" : collection;
+        clearCaches(cached);
+        versionService.resetAll(cached);
+    }
+
+    // Bucket ids start with their user, so even a bare delete can be attributed
+    private void onBucketChange(String bucketId, ChangeStreamDocument<Document> change) {
+        String userId = bucketId.substring(0, bucketId.lastIndexOf(':'));
+        evict("workouts", userId);
+        // Workouts an update removed are only named in the pre-image, when there is one
+        for (Document bucket : new Document[] {change.getFullDocument(), change.getFullDocumentBeforeChange()}) {
+            if (bucket != null) {
+                for (Document workout : bucket.getList("workouts", Document.class, List.of())) {
+                    evict("workouts", workout.get("_id") + "_" + userId);
+                }
+            }
+        }
+        versionService.bump("workouts", userId);
+    }
+
+    // Mirrors the keys the services cache under, see the @Cacheable annotations
+    private void evict(String collection, String userId, String id) {
+        switch (collection) {
+            case "workouts" -> {
+                evict("workouts", userId);
+                evict("workouts", id + "_" + userId);
+            }
+            case "progress" -> {
+                evict("progress", id);
+                // One list per category, and the change may have moved the entry between categories
+                cacheWriter.clean("progress", (CacheKeyPrefix.simple().compute("progress") + userId + "_*")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            case "goals" -> evict("goals", userId);
+            case "streaks" -> evict("streaks", userId);
+            default -> {
+            }
+        }
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clearCaches(String collection) {
+        Cache cache = cacheManager.getCache(collection);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static String owner(ChangeStreamDocument<Document> change) {
+        Document document = change.getFullDocument() != null ? change.getFullDocument() : change.getFullDocumentBeforeChange();
+        Object userId = document != null ? document.get("userId") : null;
+        return userId != null ? userId.toString() : null;
+    }
+
+    private static String documentId(ChangeStreamDocument<Document> change) {
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
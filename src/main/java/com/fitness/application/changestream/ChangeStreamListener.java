@@ -0,0 +1,18 @@
+package com.fitness.application.changestream;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+
+/**
+ * Receives changes from the watched collections. Delivery is at least once: after a failover
+ * the new owner resumes from the last saved token, so recent changes can arrive again.
+ */
+public interface ChangeStreamListener {
+
+    void onChange(String collection, ChangeStreamDocument<Document> change);
+
+    /**
+     * The stream could not resume where it left off, so changes in between were missed.
+     */
+    void onHistoryLost(String collection);
+}
@@ -0,0 +1,244 @@
+package com.fitness.application.changestream;
+
+import com.fitness.application.model.ChangeStreamToken;
+import com.fitness.application.service.LeaseService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the change streams of the user collections and hands every change to the
+ * {@link ChangeStreamListener}s, so caches and derived state follow the database itself,
+ * including writes that never went through the services. Each collection's stream is one
+ * partition, owned through a lease so exactly one node consumes it; its resume token is saved
+ * as it goes, and the next owner resumes there after a restart or failover. A listener failure
+ * stops the stream before the change's token is saved, so the change is retried rather than
+ * lost; listeners have to cope with seeing a change again. A standalone server has no change
+ * streams, so none are watched there.
+ */
+@Component
+public class ChangeStreamWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamWatcher.class);
+
+    // The oplog no longer holds the resume point (ChangeStreamHistoryLost, ChangeStreamFatalError)
+    private static final Set<Integer> HISTORY_LOST = Set.of(286, 280);
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final List<ChangeStreamListener> listeners;
+    private final ThreadPoolTaskExecutor executor;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean running;
+
+    @Value("${app.changestream.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.changestream.collections:workouts,workout_buckets,progress,goals,streaks}")
+    private List<String> collections;
+
+    @Value("${app.changestream.lease-ttl-ms:30000}")
+    private long leaseTtlMs;
+
+    @Value("${app.changestream.retry-interval-ms:10000}")
+    private long retryIntervalMs;
+
+    @Value("${app.changestream.token-flush-interval-ms:1000}")
+    private long tokenFlushIntervalMs;
+
+    public ChangeStreamWatcher(MongoTemplate mongoTemplate,
+                               LeaseService leaseService,
+                               List<ChangeStreamListener> listeners,
+                               @Qualifier("changeStreamExecutor") ThreadPoolTaskExecutor executor,
+                               Clock clock,
+                               MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.listeners = listeners;
+        this.executor = executor;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (standalone()) {
+            logger.warn("MongoDB is a standalone server without change streams; not watching {}", collections);
+            return;
+        }
+        running = true;
+        for (String collection : collections) {
+            executor.execute(() -> run(collection));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void run(String collection) {
+        String leaseName = "changestream-" + collection;
+        Duration leaseTtl = Duration.ofMillis(leaseTtlMs);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            if (leaseService.tryAcquire(leaseName, leaseTtl)) {
+                try {
+                    watch(collection, leaseName, leaseTtl);
+                } catch (MongoCommandException e) {
+                    if (HISTORY_LOST.contains(e.getErrorCode())) {
+                        logger.warn("Change stream for {} cannot resume, restarting from now: {}", collection, e.getErrorMessage());
+                        mongoTemplate.remove(new Query(Criteria.where("_id").is(collection)), ChangeStreamToken.class);
+                        notifyHistoryLost(collection);
+                        continue;
+                    }
+                    logger.warn("Change stream for {} failed: {}", collection, e.getErrorMessage());
+                } catch (Exception e) {
+                    logger.warn("Change stream for {} failed: {}", collection, e.getMessage());
+                }
+                // Let another node try while this one backs off
+                leaseService.release(leaseName);
+            }
+            sleep(retryIntervalMs);
+        }
+    }
+
+    private void watch(String collection, String leaseName, Duration leaseTtl) {
+        // Pre-images are used when the collection has them enabled, for the owner of a deleted document
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        ChangeStreamToken saved = mongoTemplate.findById(collection, ChangeStreamToken.class);
+        if (saved != null && saved.getToken() != null) {
+            stream = stream.resumeAfter(BsonDocument.parse(saved.getToken()));
+        }
+
+        Counter changes = Counter.builder("fitness.changestream.changes")
+                .description("Changes consumed from the collection's change stream")
+                .tag("collection", collection)
+                .register(meterRegistry);
+        Timer lag = Timer.builder("fitness.changestream.lag")
+                .description("Time from a change being written to it being consumed")
+                .tag("collection", collection)
+                .register(meterRegistry);
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            logger.info("Consuming change stream for {}{}", collection, saved != null ? " from saved token" : "");
+            BsonDocument savedToken = null;
+            Instant flushAt = clock.instant().plusMillis(tokenFlushIntervalMs);
+            Instant renewAt = clock.instant().plus(leaseTtl.dividedBy(3));
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    changes.increment();
+                    if (change.getClusterTime() != null) {
+                        long writtenAt = change.getClusterTime().getTime() * 1000L;
+                        lag.record(Math.max(0, clock.millis() - writtenAt), TimeUnit.MILLISECONDS);
+                    }
+                    dispatch(collection, change);
+                }
+
+                // Tokens are saved after the changes before them were handled, so a crash replays
+                // at most one flush interval of changes
+                Instant now = clock.instant();
+                BsonDocument token = cursor.getResumeToken();
+                if (token != null && !token.equals(savedToken) && !now.isBefore(flushAt)) {
+                    saveToken(collection, token);
+                    savedToken = token;
+                    flushAt = now.plusMillis(tokenFlushIntervalMs);
+                }
+                if (!now.isBefore(renewAt)) {
+                    if (!leaseService.tryAcquire(leaseName, leaseTtl)) {
+                        logger.info("Lost the change stream lease for {}", collection);
+                        return;
+                    }
+                    renewAt = now.plus(leaseTtl.dividedBy(3));
+                }
+            }
+
+            BsonDocument token = cursor.getResumeToken();
+            if (token != null && !token.equals(savedToken)) {
+                saveToken(collection, token);
+            }
+        }
+    }
+
+    private void dispatch(String collection, ChangeStreamDocument<Document> change) {
+        for (ChangeStreamListener listener : listeners) {
+            try {
+                listener.onChange(collection, change);
+            } catch (Exception e) {
+                logger.error("{} failed on a {} change to {}, retrying from the saved token: {}",
+                        listener.getClass().getSimpleName(), change.getOperationTypeString(), collection, e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    private boolean standalone() {
+        try {
+            Document reply = mongoTemplate.executeCommand(new Document("isMaster", 1));
+            return reply.get("setName") == null && !"isdbgrid".equals(reply.get("msg"));
+        } catch (Exception e) {
+            // Left to the streams to find out
+            return false;
+        }
+    }
+
+    private void notifyHistoryLost(String collection) {
+        for (ChangeStreamListener listener : listeners) {
+            try {
+                listener.onHistoryLost(collection);
+            } catch (Exception e) {
+                logger.error("{} failed to reset {}: {}", listener.getClass().getSimpleName(), collection, e.getMessage());
+            }
+        }
+    }
+
+    private void saveToken(String collection, BsonDocument token) {
+        mongoTemplate.save(ChangeStreamToken.builder()
+                .id(collection)
+                .token(token.toJson())
+                .owner(leaseService.getNodeId())
+                .updatedAt(clock.instant())
+                .build());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.fitness.application.changestream;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.StrengthSet;
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.model.Workout;
+import com.fitness.application.service.OutboxService;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Brings the streak, leaderboard, personal record and achievement projections up to date after
+ * workout and progress writes made outside the API, by appending an "external" outbox event for
+ * the projectors to re-derive from. API writes append their own events, so they are told apart
+ * and skipped: the services stamp a new syncSeq on every save and leave a tombstone on every
+ * delete. A replacement is taken for an API save unless a pre-image shows the syncSeq unchanged.
+ * Bucket changes are skipped too, since only the API and the bucket migration write buckets.
+ */
+@Component
+public class ProjectionChangeListener implements ChangeStreamListener {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionChangeListener.class);
+
+    private static final String SYNC_SEQ = "syncSeq";
+
+    private final OutboxService outboxService;
+    private final MongoTemplate mongoTemplate;
+
+    public ProjectionChangeListener(OutboxService outboxService, MongoTemplate mongoTemplate) {
+        this.outboxService = outboxService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void onChange(String collection, ChangeStreamDocument<Document> change) {
+        if (!"workouts".equals(collection) && !"progress".equals(collection)) {
+            return;
+        }
+        Document current = change.getFullDocument();
+        Document previous = change.getFullDocumentBeforeChange();
+        Document owned = current != null ? current : previous;
+        String id = documentId(change);
+        if (owned == null || owned.get("userId") == null || id == null || madeThroughApi(change, id)) {
+            return;
+        }
+
+        String userId = owned.get("userId").toString();
+        Map<String, Object> data = "workouts".equals(collection) ? workoutData(current, previous) : progressData(current, previous);
+        // Without a pre-image an update's previous values are unknown; the operation still tells an insert or delete
+        data.put("operation", change.getOperationType().getValue());
+        outboxService.append(eventId(change), userId, "workouts".equals(collection) ? "workout" : "progress", "external", id, data);
+    }
+
+    @Override
+    public void onHistoryLost(String collection) {
+        if ("workouts".equals(collection) || "progress".equals(collection)) {
+            logger.warn("Changes to {} made outside the API while its stream was down are not in the projections", collection);
+        }
+    }
+
+    private boolean madeThroughApi(ChangeStreamDocument<Document> change, String id) {
+        OperationType operation = change.getOperationType();
+        Document current = change.getFullDocument();
+        Document previous = change.getFullDocumentBeforeChange();
+        return switch (operation) {
+            case INSERT -> current != null && syncSeq(current) > 0;
+            case UPDATE -> change.getUpdateDescription() != null
+                    && change.getUpdateDescription().getUpdatedFields() != null
+                    && change.getUpdateDescription().getUpdatedFields().containsKey(SYNC_SEQ);
+            case REPLACE -> previous == null || current == null || syncSeq(current) != syncSeq(previous);
+            case DELETE -> mongoTemplate.exists(new Query(Criteria.where("entityId").is(id)), SyncTombstone.class);
+            default -> true;
+        };
+    }
+
+    // Read through the mapping, so dates come back as the services store them
+    private Map<String, Object> workoutData(Document current, Document previous) {
+        Map<String, Object> data = new HashMap<>();
+        if (current != null) {
+            Workout workout = mongoTemplate.getConverter().read(Workout.class, current);
+            data.put("date", workout.getDate() != null ? workout.getDate().toString() : null);
+            data.put("completed", workout.isCompleted());
+            data.put("calories", workout.getCalories());
+            data.put("duration", workout.getDuration());
+        }
+        if (previous != null) {
+            Workout workout = mongoTemplate.getConverter().read(Workout.class, previous);
+            data.put("previousDate", workout.getDate() != null ? workout.getDate().toString() : null);
+            data.put("previousCompleted", workout.isCompleted());
+            data.put("previousCalories", workout.getCalories());
+            data.put("previousDuration", workout.getDuration());
+        }
+        return data;
+    }
+
+    private Map<String, Object> progressData(Document current, Document previous) {
+        Map<String, Object> data = new HashMap<>();
+        StrengthSet set = current != null ? StrengthSet.from(mongoTemplate.getConverter().read(Progress.class, current)) : null;
+        if (set != null) {
+            data.put("exercise", set.getExercise());
+        }
+        StrengthSet previousSet = previous != null ? StrengthSet.from(mongoTemplate.getConverter().read(Progress.class, previous)) : null;
+        if (previousSet != null) {
+            data.put("previousExercise", previousSet.getExercise());
+        }
+        return data;
+    }
+
+    // Derived from the change, so one replayed after a restart or a failed listener is queued and counted once
+    private static String eventId(ChangeStreamDocument<Document> change) {
+        ByteBuffer id = ByteBuffer.allocate(12);
+        id.putInt(change.getClusterTime() != null ? change.getClusterTime().getTime() : 0);
+        BsonDocument token = change.getResumeToken() != null ? change.getResumeToken() : change.getDocumentKey();
+        id.putLong(UUID.nameUUIDFromBytes(token.toJson().getBytes(StandardCharsets.UTF_8)).getMostSignificantBits());
+        return new ObjectId(id.array()).toHexString();
+    }
+
+    private static long syncSeq(Document document) {
+        Object seq = document.get(SYNC_SEQ);
+        return seq instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static String documentId(ChangeStreamDocument<Document> change) {
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
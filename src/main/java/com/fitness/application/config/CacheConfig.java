@@ -1,18 +1,28 @@
 
 package com.fitness.application.config;
 
+import com.fitness.application.cache.CoalescingCacheManager;
+import com.fitness.application.timing.TimedRedisCacheWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,9 +31,25 @@ import java.util.Map;
 @Configuration
 public class CacheConfig {
     
+    @Value("${app.cache.stale-fraction:0.2}")
+    private double staleFraction;
+    
+    @Value("${app.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+    
+    // Concurrent misses on a key share one load, and entries are refreshed before they expire
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                     @Qualifier("cacheRefreshExecutor") ThreadPoolTaskExecutor refreshExecutor,
+                                     MeterRegistry meterRegistry,
+                                     Clock clock) {
+        return new CoalescingCacheManager(redisCacheManager, staleFraction, earlyRefreshBeta,
+                refreshExecutor, meterRegistry, clock);
+    }
+    
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisCacheWriter cacheWriter) {
         // Default cache configuration
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
@@ -33,7 +59,7 @@ public class CacheConfig {
                                 new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()));
+                                cacheValueSerializer()));
         
         // Configure specific TTLs for different caches
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
@@ -51,8 +77,8 @@ public class CacheConfig {
         cacheConfigurations.put("streaks", 
                 defaultConfig.entryTtl(Duration.ofMinutes(30)));
         
-        // User profile cache - longer TTL as it changes less frequently
-        cacheConfigurations.put("users", 
+        // User identity cache - longer TTL as it changes less frequently
+        cacheConfigurations.put("user_identities", 
                 defaultConfig.entryTtl(Duration.ofHours(6)));
         
         // API rate limit cache - very short TTL
@@ -63,10 +89,24 @@ public class CacheConfig {
         cacheConfigurations.put("recent_activities", 
                 defaultConfig.entryTtl(Duration.ofMinutes(5)));
         
-        return RedisCacheManager.builder(connectionFactory)
+        return RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .transactionAware()
+                .enableStatistics() // hit/miss/put/removal counters for the cache metrics binder
                 .build();
     }
+    
+    // Cache round-trips are attributed to the request timing breakdown. Pattern evictions
+    // (clear, and the change-stream invalidator) SCAN in batches instead of blocking Redis on KEYS
+    @Bean
+    public RedisCacheWriter redisCacheWriter(RedisConnectionFactory connectionFactory) {
+        return new TimedRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(
+                connectionFactory, BatchStrategies.scan(1000)));
+    }
+    
+    // Shared with the benchmarks so they measure the serializer the caches actually use
+    public static RedisSerializer<Object> cacheValueSerializer() {
+        return new GenericJackson2JsonRedisSerializer();
+    }
 }
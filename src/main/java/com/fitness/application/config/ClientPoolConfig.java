@@ -0,0 +1,90 @@
+package com.fitness.application.config;
+
+import com.fitness.application.pool.MongoPoolListener;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool sizes and timeouts for the Mongo client (app.mongo.pool.*, app.mongo.socket.*), and pool
+ * metrics for the Lettuce pool sized by spring.data.redis.lettuce.pool.*.
+ */
+@Configuration
+public class ClientPoolConfig {
+
+    @Value("${app.mongo.pool.max-size:100}")
+    private int maxSize;
+
+    @Value("${app.mongo.pool.min-size:0}")
+    private int minSize;
+
+    @Value("${app.mongo.pool.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${app.mongo.pool.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    @Value("${app.mongo.pool.max-idle-ms:0}")
+    private long maxIdleMs;
+
+    @Value("${app.mongo.pool.max-life-ms:0}")
+    private long maxLifeMs;
+
+    @Value("${app.mongo.socket.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${app.mongo.socket.read-timeout-ms:0}")
+    private int readTimeoutMs;
+
+    @Value("${app.mongo.server-selection-timeout-ms:30000}")
+    private long serverSelectionTimeoutMs;
+
+    @Value("${app.redis.share-native-connection:false}")
+    private boolean shareNativeConnection;
+
+    private final LettuceConnectionFactory lettuceConnectionFactory;
+
+    public ClientPoolConfig(LettuceConnectionFactory lettuceConnectionFactory) {
+        this.lettuceConnectionFactory = lettuceConnectionFactory;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MongoPoolListener listener) {
+        return settings -> settings
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(maxSize)
+                        .minSize(minSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdleMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(maxLifeMs, TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(listener))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+
+    // Publishes commons.pool2.* (active, idle, waiters, borrow wait) for the Lettuce pool
+    @Bean
+    public CommonsObjectPool2Metrics commonsObjectPool2Metrics() {
+        return new CommonsObjectPool2Metrics();
+    }
+
+    /**
+     * Every command borrows a pooled connection unless app.redis.share-native-connection=true, in
+     * which case Lettuce shares one connection across threads and only blocking and transactional
+     * commands borrow from the pool.
+     */
+    @PostConstruct
+    void configureRedisConnectionSharing() {
+        lettuceConnectionFactory.setShareNativeConnection(shareNativeConnection);
+    }
+}
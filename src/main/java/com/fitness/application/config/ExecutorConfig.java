@@ -0,0 +1,110 @@
+
+package com.fitness.application.config;
+
+import com.fitness.application.routing.ReadRouting;
+import com.fitness.application.timing.RequestTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.dashboard.executor.core-size:8}")
+    private int dashboardCoreSize;
+
+    @Value("${app.dashboard.executor.max-size:32}")
+    private int dashboardMaxSize;
+
+    @Value("${app.dashboard.executor.queue-capacity:200}")
+    private int dashboardQueueCapacity;
+
+    // Bounded pool for the dashboard fan-out; when saturated the request thread
+    // runs the task itself, so load degrades to sequential fetching instead of errors
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dashboardCoreSize);
+        executor.setMaxPoolSize(dashboardMaxSize);
+        executor.setQueueCapacity(dashboardQueueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(RequestTimings::propagate);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // One outbox drain at a time per node. The single queue slot coalesces wake-ups: while a
+    // drain is queued, further wake-ups only mark their partition for it
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${app.cache.refresh-executor.max-size:4}")
+    private int cacheRefreshMaxSize;
+
+    @Value("${app.cache.refresh-executor.queue-capacity:100}")
+    private int cacheRefreshQueueCapacity;
+
+    // Background cache refreshes. A rejected refresh is skipped; the entry is still served
+    // and a later hit retries it. Refreshes read with the route of the request that started them
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(cacheRefreshMaxSize);
+        executor.setQueueCapacity(cacheRefreshQueueCapacity);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setTaskDecorator(ReadRouting::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${app.cache.warmup.executor.max-size:2}")
+    private int cacheWarmupMaxSize;
+
+    @Value("${app.cache.warmup.executor.queue-capacity:500}")
+    private int cacheWarmupQueueCapacity;
+
+    // Cache warm-up after logins and on startup. Kept small so warming never competes with
+    // requests for connections; a login whose warm-up is rejected is simply not warmed
+    @Bean
+    public ThreadPoolTaskExecutor cacheWarmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(cacheWarmupMaxSize);
+        executor.setQueueCapacity(cacheWarmupQueueCapacity);
+        executor.setThreadNamePrefix("cache-warmup-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${app.changestream.collections:workouts,workout_buckets,progress,goals,streaks}")
+    private List<String> changeStreamCollections;
+
+    // A thread per watched collection, each blocked on its change stream cursor
+    @Bean
+    public ThreadPoolTaskExecutor changeStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(changeStreamCollections.size());
+        executor.setMaxPoolSize(changeStreamCollections.size());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("changestream-");
+        executor.initialize();
+        return executor;
+    }
+}
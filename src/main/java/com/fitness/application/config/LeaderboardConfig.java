@@ -0,0 +1,28 @@
+package com.fitness.application.config;
+
+import com.fitness.application.leaderboard.LeaderboardStore;
+import com.fitness.application.leaderboard.RedisLeaderboardStore;
+import com.fitness.application.leaderboard.SkipListLeaderboardStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+
+@Configuration
+public class LeaderboardConfig {
+
+    // "redis" shares boards across nodes; "memory" keeps them in-process for single-node runs and tests
+    @Value("${app.leaderboard.store:redis}")
+    private String store;
+
+    @Bean
+    public LeaderboardStore leaderboardStore(StringRedisTemplate redisTemplate, Clock clock) {
+        return switch (store) {
+            case "redis" -> new RedisLeaderboardStore(redisTemplate);
+            case "memory" -> new SkipListLeaderboardStore(clock);
+            default -> throw new IllegalStateException("Unknown app.leaderboard.store: " + store);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.fitness.application.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+public class MetricsConfig {
+
+    // Backs the class-level @Timed("fitness.service") on the domain services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Adds operation and collection tags to spring.data.repository.invocations
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider(MongoMappingContext mappingContext) {
+        return new CollectionRepositoryTagsProvider(mappingContext);
+    }
+
+    static class CollectionRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+        private final MongoMappingContext mappingContext;
+        private final Map<Class<?>, String> collections = new ConcurrentHashMap<>();
+
+        CollectionRepositoryTagsProvider(MongoMappingContext mappingContext) {
+            this.mappingContext = mappingContext;
+        }
+
+        @Override
+        public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+            return Tags.of(super.repositoryTags(invocation))
+                    .and("operation", operation(invocation.getMethod().getName()))
+                    .and("collection", collections.computeIfAbsent(invocation.getRepositoryInterface(), this::collectionOf));
+        }
+
+        private String collectionOf(Class<?> repositoryInterface) {
+            Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repositoryInterface).getDomainType();
+            MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+            return entity != null ? entity.getCollection() : "unknown";
+        }
+
+        static String operation(String methodName) {
+            if (methodName.startsWith("save") || methodName.startsWith("insert")) {
+                return "write";
+            }
+            if (methodName.startsWith("delete") || methodName.startsWith("remove")) {
+                return "delete";
+            }
+            if (methodName.startsWith("count")) {
+                return "count";
+            }
+            if (methodName.startsWith("exists")) {
+                return "exists";
+            }
+            return "read";
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.fitness.application.config;
+
+import com.fitness.application.profiling.MongoQueryProfiler;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoProfilerConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryProfilerCustomizer(MongoQueryProfiler profiler) {
+        return settings -> settings.addCommandListener(profiler);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fitness.application.config;
+
+import com.fitness.application.routing.ReadRouting;
+import com.fitness.application.routing.ReadRoutingListener;
+import com.fitness.application.routing.RoutingMongoTemplate;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+@Configuration
+public class MongoReadRoutingConfig {
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter, ReadRouting readRouting) {
+        return new RoutingMongoTemplate(factory, converter, readRouting);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer readRoutingCustomizer(ReadRoutingListener listener) {
+        return settings -> settings.addCommandListener(listener);
+    }
+}
@@ -0,0 +1,33 @@
+
+package com.fitness.application.config;
+
+import com.fitness.application.realtime.RealtimeUpdateSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisPubSubConfig {
+
+    @Value("${app.realtime.channel:fitness:user-updates}")
+    private String updatesChannel;
+
+    @Bean
+    public ChannelTopic userUpdatesTopic() {
+        return new ChannelTopic(updatesChannel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RealtimeUpdateSubscriber realtimeUpdateSubscriber,
+            ChannelTopic userUpdatesTopic) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(realtimeUpdateSubscriber, userUpdatesTopic);
+        return container;
+    }
+}
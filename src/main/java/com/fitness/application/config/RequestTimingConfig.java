@@ -0,0 +1,25 @@
+package com.fitness.application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.timing.TimedJacksonHttpMessageConverter;
+import com.fitness.application.timing.TimingCommandListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+// Feeds Mongo and Jackson time into the per-request timing context (see RequestTimingFilter)
+@Configuration
+public class RequestTimingConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer timingCommandListenerCustomizer() {
+        return settings -> settings.addCommandListener(new TimingCommandListener());
+    }
+
+    // Replaces Boot's default JSON converter, keeping the application's ObjectMapper
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
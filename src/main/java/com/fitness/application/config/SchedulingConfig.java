@@ -0,0 +1,19 @@
+
+package com.fitness.application.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Injected wherever "now" matters so schedules can be driven by a fixed or stepped clock
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
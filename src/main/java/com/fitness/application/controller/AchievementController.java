@@ -0,0 +1,35 @@
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.AchievementDto;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.AchievementService;
+import com.fitness.application.service.CollectionVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/achievements")
+@RequiredArgsConstructor
+public class AchievementController {
+    private final AchievementService achievementService;
+    private final CollectionVersionService versionService;
+    
+    @GetMapping
+    public ResponseEntity<List<AchievementDto>> getAchievements(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("achievements", userDetails.getId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        List<AchievementDto> achievements = achievementService.getAchievements(userDetails.getId());
+        return ConditionalGet.ok(etag, achievements);
+    }
+}
@@ -8,6 +8,7 @@ import com.fitness.application.model.User;
 import com.fitness.application.repository.UserRepository;
 import com.fitness.application.security.JwtUtils;
 import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CacheWarmupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,6 +34,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final CacheWarmupService cacheWarmupService;
 
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody AuthRequest loginRequest) {
@@ -47,6 +49,8 @@ public class AuthController {
         String jwt = jwtUtils.generateJwtToken(authentication);
         
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        // The dashboard usually follows a login, so its data is loaded while the client redirects
+        cacheWarmupService.warmAfterLogin(userDetails);
         
         Map<String, Object> userData = new HashMap<>();
         userData.put("id", userDetails.getId());
@@ -0,0 +1,56 @@
+
+package com.fitness.application.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Shared handling for ETag-validated GETs. Responses are private to the user and must be
+ * revalidated, which a matching If-None-Match answers with a bodiless 304. Bodies are negotiated
+ * between JSON, CBOR and Smile, so every response varies by Accept.
+ */
+final class ConditionalGet {
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(ServletWebRequest request, String etag) {
+        if (request.checkNotModified(etag)) {
+            HttpServletResponse response = request.getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    // Streamed bodies bypass message converters, so negotiation and the content type are handled
+    // here. Their headers are added to the raw response, which already carries the ETag from
+    // notModified()
+    static <T> ResponseEntity<StreamingResponseBody> ok(ResponseFormats.Format format, Supplier<Stream<T>> source) {
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.mediaType())
+                .body(JsonStreams.array(format.objectMapper(), source));
+    }
+}
@@ -0,0 +1,33 @@
+
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.DashboardDto;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CacheWarmupService;
+import com.fitness.application.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+    private final CacheWarmupService cacheWarmupService;
+
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(defaultValue = "weight,strength") List<String> categories) {
+        cacheWarmupService.recordAccess(userDetails.getId());
+        DashboardDto dashboard = dashboardService.getDashboard(userDetails, categories);
+        return ResponseEntity.ok(dashboard);
+    }
+}
@@ -3,33 +3,47 @@ package com.fitness.application.controller;
 
 import com.fitness.application.dto.GoalDto;
 import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CollectionVersionService;
 import com.fitness.application.service.GoalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/goals")
 @RequiredArgsConstructor
 public class GoalController {
     private final GoalService goalService;
+    private final CollectionVersionService versionService;
+    private final ResponseFormats responseFormats;
     
     @GetMapping
-    public ResponseEntity<List<GoalDto>> getAllGoals(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        List<GoalDto> goals = goalService.getAllGoals(userDetails);
-        return ResponseEntity.ok(goals);
+    public ResponseEntity<StreamingResponseBody> getAllGoals(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("goals", userDetails.getId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        return ConditionalGet.ok(responseFormats.negotiate(request), () -> goalService.streamAllGoals(userDetails));
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<GoalDto> getGoalById(
             @PathVariable String id,
-            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("goals", userDetails.getId(), id);
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
         GoalDto goal = goalService.getGoalById(id, userDetails);
-        return ResponseEntity.ok(goal);
+        return ConditionalGet.ok(etag, goal);
     }
     
     @PostMapping
@@ -0,0 +1,49 @@
+package com.fitness.application.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fitness.application.timing.RequestTimings;
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a cursor-backed stream to the response as an array element by element, so memory
+ * stays flat however long a user's history is and the first bytes leave before the last
+ * document is read. The stream is opened on the thread that writes the body and closed, which
+ * releases the Mongo cursor, when the array ends or the client disconnects. The mapper decides
+ * the encoding: JSON, or CBOR and Smile for clients that ask for them.
+ *
+ * <p>The body is written on an MVC async thread after the request thread has left
+ * RequestTimingFilter, so the request's timings are carried over and the write is counted as
+ * serialization.
+ */
+final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    static <T> StreamingResponseBody array(ObjectMapper objectMapper, Supplier<Stream<T>> source) {
+        // The servlet container owns the output stream; Spring flushes and closes it after the body.
+        // A failed write must leave the array open rather than close it into a shorter valid one
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        RequestTimings timings = RequestTimings.current();
+        return outputStream -> {
+            // A failure part way must propagate: the 200 and part of the body are already out, and
+            // the container answers an error on a committed response by dropping the connection
+            // before the final chunk, so the client sees a failed transfer rather than a short list
+            try (Stopwatch attached = RequestTimings.attach(timings);
+                 Stopwatch serialization = RequestTimings.start(Phase.SERIALIZATION);
+                 Stream<T> elements = source.get()) {
+                // Jackson serializes an Iterator as an array, pulling one document at a time
+                writer.writeValue(outputStream, elements.iterator());
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.LeaderboardDto;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+    
+    // Boards change with every user's writes, so there is no per-user ETag to revalidate against
+    @GetMapping("/{board}")
+    public ResponseEntity<LeaderboardDto> getLeaderboard(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String board,
+            @RequestParam(required = false) String period,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(userDetails.getId(), board, period, limit));
+    }
+}
@@ -0,0 +1,67 @@
+
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.ApiResponse;
+import com.fitness.application.dto.GoalUpdatesRequest;
+import com.fitness.application.dto.NotificationDto;
+import com.fitness.application.dto.WorkoutReminderRequest;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.NotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+    private final NotificationService notificationService;
+
+    @GetMapping
+    public ResponseEntity<List<NotificationDto>> getNotifications(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<NotificationDto> notifications = notificationService.getNotifications(userDetails);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Void> markAsRead(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        notificationService.markAsRead(id, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Void> markAllAsRead(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        notificationService.markAllAsRead(userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteNotification(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        notificationService.deleteNotification(id, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/workout-reminders")
+    public ResponseEntity<ApiResponse> updateWorkoutReminders(
+            @Valid @RequestBody WorkoutReminderRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        notificationService.updateWorkoutReminders(request, userDetails);
+        return ResponseEntity.ok(ApiResponse.builder().success(true).message("Workout reminder preferences updated").build());
+    }
+
+    @PostMapping("/goal-updates")
+    public ResponseEntity<ApiResponse> updateGoalUpdates(
+            @RequestBody GoalUpdatesRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        notificationService.updateGoalUpdates(request.isEnabled(), userDetails);
+        return ResponseEntity.ok(ApiResponse.builder().success(true).message("Goal notification preferences updated").build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.PersonalRecordDto;
+import com.fitness.application.dto.PersonalRecordEntryDto;
+import com.fitness.application.model.StrengthSet;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CollectionVersionService;
+import com.fitness.application.service.PersonalRecordService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/records")
+@RequiredArgsConstructor
+public class PersonalRecordController {
+    private final PersonalRecordService personalRecordService;
+    private final CollectionVersionService versionService;
+    
+    @GetMapping
+    public ResponseEntity<List<PersonalRecordDto>> getRecords(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("records", userDetails.getId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        List<PersonalRecordDto> records = personalRecordService.getRecords(userDetails.getId());
+        return ConditionalGet.ok(etag, records);
+    }
+    
+    @GetMapping("/{exercise}/history")
+    public ResponseEntity<List<PersonalRecordEntryDto>> getHistory(
+            @PathVariable String exercise,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("records", userDetails.getId(), "history",
+                StrengthSet.normalizeExercise(exercise));
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        List<PersonalRecordEntryDto> history = personalRecordService.getHistory(userDetails.getId(), exercise);
+        return ConditionalGet.ok(etag, history);
+    }
+}
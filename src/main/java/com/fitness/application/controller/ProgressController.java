@@ -2,13 +2,17 @@
 package com.fitness.application.controller;
 
 import com.fitness.application.dto.ProgressDto;
+import com.fitness.application.dto.ProgressPointDto;
 import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CollectionVersionService;
 import com.fitness.application.service.ProgressService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,27 +22,59 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProgressController {
     private final ProgressService progressService;
+    private final CollectionVersionService versionService;
+    private final ResponseFormats responseFormats;
     
     @GetMapping
-    public ResponseEntity<List<ProgressDto>> getUserProgress(
+    public ResponseEntity<StreamingResponseBody> getUserProgress(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
-            @RequestParam(defaultValue = "weight") String category) {
-        List<ProgressDto> progressData = progressService.getUserProgress(userDetails, category);
-        return ResponseEntity.ok(progressData);
+            @RequestParam(defaultValue = "weight") String category,
+            ServletWebRequest request) {
+        String etag = versionService.etag("progress", userDetails.getId(), category);
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        return ConditionalGet.ok(responseFormats.negotiate(request),
+                () -> progressService.streamUserProgress(userDetails, category));
     }
     
     @GetMapping("/range")
-    public ResponseEntity<List<ProgressDto>> getProgressByDateRange(
+    public ResponseEntity<StreamingResponseBody> getProgressByDateRange(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
             @RequestParam(defaultValue = "weight") String category,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            ServletWebRequest request) {
         
         LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now().minusMonths(1);
         LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
         
-        List<ProgressDto> progressData = progressService.getProgressByDateRange(userDetails, category, start, end);
-        return ResponseEntity.ok(progressData);
+        String etag = versionService.etag("progress", userDetails.getId(), category, start, end);
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        return ConditionalGet.ok(responseFormats.negotiate(request),
+                () -> progressService.streamProgressByDateRange(userDetails, category, start, end));
+    }
+    
+    @GetMapping("/series")
+    public ResponseEntity<List<ProgressPointDto>> getDownsampledProgress(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(defaultValue = "weight") String category,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "week") String unit,
+            ServletWebRequest request) {
+        
+        LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now().minusYears(1);
+        LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
+        
+        String etag = versionService.etag("progress", userDetails.getId(), "series", category, start, end, unit);
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        List<ProgressPointDto> points = progressService.getDownsampledProgress(userDetails, category, start, end, unit);
+        return ConditionalGet.ok(etag, points);
     }
     
     @PostMapping
@@ -0,0 +1,75 @@
+package com.fitness.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.mapping.EntityJsonModule;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+/**
+ * Content negotiation for streamed bodies, which skip the message converters. Picks JSON, CBOR
+ * or Smile from the Accept header using copies of the ObjectMappers the converters use, so every
+ * encoding carries identical fields. JSON wins ties and anything unrecognised.
+ */
+@Component
+class ResponseFormats {
+    private final List<Format> formats;
+
+    ResponseFormats(ObjectMapper objectMapper,
+                    MappingJackson2CborHttpMessageConverter cborConverter,
+                    MappingJackson2SmileHttpMessageConverter smileConverter) {
+        // Copies, so EntityJsonModule applies to the streamed lists and nowhere else
+        this.formats = List.of(
+                new Format(MediaType.APPLICATION_JSON, withEntities(objectMapper)),
+                new Format(MediaType.APPLICATION_CBOR, withEntities(cborConverter.getObjectMapper())),
+                new Format(new MediaType("application", "x-jackson-smile"), withEntities(smileConverter.getObjectMapper())));
+    }
+
+    Format negotiate(ServletWebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept)) {
+            return formats.get(0);
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return formats.get(0);
+        }
+
+        // Highest quality wins; at equal quality a named type beats a wildcard, so
+        // "application/cbor, */*" still gets CBOR
+        Format best = formats.get(0);
+        double bestQuality = -1;
+        boolean bestConcrete = false;
+        for (Format format : formats) {
+            for (MediaType mediaType : accepted) {
+                double quality = mediaType.getQualityValue();
+                if (quality == 0 || !mediaType.includes(format.mediaType())) {
+                    continue;
+                }
+                boolean concrete = mediaType.isConcrete();
+                if (quality > bestQuality || (quality == bestQuality && concrete && !bestConcrete)) {
+                    best = format;
+                    bestQuality = quality;
+                    bestConcrete = concrete;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static ObjectMapper withEntities(ObjectMapper objectMapper) {
+        return objectMapper.copy().registerModule(new EntityJsonModule());
+    }
+
+    record Format(MediaType mediaType, ObjectMapper objectMapper) {
+    }
+}
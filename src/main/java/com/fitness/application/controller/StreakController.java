@@ -3,10 +3,12 @@ package com.fitness.application.controller;
 
 import com.fitness.application.dto.StreakDto;
 import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CollectionVersionService;
 import com.fitness.application.service.StreakService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,10 +18,17 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class StreakController {
     private final StreakService streakService;
+    private final CollectionVersionService versionService;
     
     @GetMapping
-    public ResponseEntity<StreakDto> getUserStreak(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResponseEntity<StreakDto> getUserStreak(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("streaks", userDetails.getId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
         StreakDto streak = streakService.getUserStreak(userDetails.getId());
-        return ResponseEntity.ok(streak);
+        return ConditionalGet.ok(etag, streak);
     }
 }
@@ -0,0 +1,28 @@
+
+package com.fitness.application.controller;
+
+import com.fitness.application.dto.SyncResponseDto;
+import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponseDto> sync(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) String since) {
+        SyncResponseDto changes = syncService.sync(userDetails, since);
+        return ResponseEntity.ok(changes);
+    }
+}
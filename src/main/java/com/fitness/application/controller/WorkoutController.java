@@ -3,41 +3,62 @@ package com.fitness.application.controller;
 
 import com.fitness.application.dto.WorkoutDto;
 import com.fitness.application.security.UserDetailsImpl;
+import com.fitness.application.service.CollectionVersionService;
 import com.fitness.application.service.WorkoutService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/workouts")
 @RequiredArgsConstructor
 public class WorkoutController {
     private final WorkoutService workoutService;
+    private final CollectionVersionService versionService;
+    private final ResponseFormats responseFormats;
     
     @GetMapping
-    public ResponseEntity<List<WorkoutDto>> getAllWorkouts(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        List<WorkoutDto> workouts = workoutService.getAllWorkouts(userDetails);
-        return ResponseEntity.ok(workouts);
+    public ResponseEntity<StreamingResponseBody> getAllWorkouts(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("workouts", userDetails.getId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        return ConditionalGet.ok(responseFormats.negotiate(request), () -> workoutService.streamAllWorkouts(userDetails));
     }
     
     @GetMapping("/range")
-    public ResponseEntity<List<WorkoutDto>> getWorkoutsByDateRange(
+    public ResponseEntity<StreamingResponseBody> getWorkoutsByDateRange(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
-            @RequestParam(defaultValue = "7") int days) {
-        List<WorkoutDto> workouts = workoutService.getWorkoutsByDateRange(userDetails, days);
-        return ResponseEntity.ok(workouts);
+            @RequestParam(defaultValue = "7") int days,
+            ServletWebRequest request) {
+        // The window slides with the calendar, so today's date is part of the representation
+        String etag = versionService.etag("workouts", userDetails.getId(), "range", days, LocalDate.now());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        return ConditionalGet.ok(responseFormats.negotiate(request),
+                () -> workoutService.streamWorkoutsByDateRange(userDetails, days));
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<WorkoutDto> getWorkoutById(
             @PathVariable String id,
-            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            ServletWebRequest request) {
+        String etag = versionService.etag("workouts", userDetails.getId(), id);
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
         WorkoutDto workout = workoutService.getWorkoutById(id, userDetails);
-        return ResponseEntity.ok(workout);
+        return ConditionalGet.ok(etag, workout);
     }
     
     @PostMapping
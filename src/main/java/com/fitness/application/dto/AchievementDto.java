@@ -0,0 +1,17 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AchievementDto {
+    private String code;
+    private String title;
+    private String description;
+    private String earnedAt;
+}
@@ -0,0 +1,21 @@
+
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+    private List<WorkoutDto> workouts;
+    private List<GoalDto> goals;
+    private StreakDto streak;
+    private Map<String, ProgressDto> latestProgress; // keyed by category
+}
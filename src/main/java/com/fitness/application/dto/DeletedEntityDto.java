@@ -0,0 +1,16 @@
+
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletedEntityDto {
+    private String type; // workout, goal, progress
+    private String id;
+}
@@ -0,0 +1,13 @@
+
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalUpdatesRequest {
+    private boolean enabled;
+}
@@ -0,0 +1,19 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardDto {
+    private String board;
+    private String period;
+    private List<LeaderboardEntryDto> entries;
+    private LeaderboardEntryDto me; // null when the caller is not ranked this period
+}
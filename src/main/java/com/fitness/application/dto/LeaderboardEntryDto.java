@@ -0,0 +1,17 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private long rank;
+    private String userId;
+    private String name;
+    private long score;
+}
@@ -0,0 +1,26 @@
+
+package com.fitness.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+    private String id;
+    private String userId;
+    private String title;
+    private String message;
+    private String type;
+    @JsonProperty("isRead")
+    private boolean read;
+    private String createdAt;
+    private Map<String, Object> data;
+}
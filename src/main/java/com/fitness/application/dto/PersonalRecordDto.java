@@ -0,0 +1,23 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecordDto {
+    private String exercise;
+    private double oneRepMax;
+    private double oneRepMaxWeight;
+    private int oneRepMaxReps;
+    private String oneRepMaxDate;
+    private double bestVolume;
+    private String bestVolumeDate;
+    private Map<String, Integer> repsAtWeight; // by weight, e.g. "102.5"
+}
@@ -0,0 +1,21 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecordEntryDto {
+    private String exercise;
+    private String kind;
+    private double value;
+    private double weight;
+    private int reps;
+    private int sets;
+    private String date;
+    private String progressId;
+}
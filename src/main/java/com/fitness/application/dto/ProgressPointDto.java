@@ -0,0 +1,18 @@
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressPointDto {
+    private String date; // start of the day, week or month
+    private double average;
+    private double min;
+    private double max;
+    private long count;
+}
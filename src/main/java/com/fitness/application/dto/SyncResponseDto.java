@@ -0,0 +1,31 @@
+
+package com.fitness.application.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fitness.application.mapping.EntityJsonModule;
+import com.fitness.application.model.Goal;
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.Workout;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDto {
+    private boolean fullResync; // true when the lists are a full snapshot and local data must be replaced
+    // Entities are written by EntityJsonModule in the same shape as WorkoutDto, GoalDto and ProgressDto
+    @JsonSerialize(contentUsing = EntityJsonModule.WorkoutSerializer.class)
+    private List<Workout> workouts;
+    @JsonSerialize(contentUsing = EntityJsonModule.GoalSerializer.class)
+    private List<Goal> goals;
+    @JsonSerialize(contentUsing = EntityJsonModule.ProgressSerializer.class)
+    private List<Progress> progress;
+    private List<DeletedEntityDto> deleted;
+    private String nextToken;
+}
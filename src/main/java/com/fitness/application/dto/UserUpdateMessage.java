@@ -0,0 +1,20 @@
+
+package com.fitness.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpdateMessage {
+    private String userId;
+    private String type;
+    private String action;
+    private String entityId;
+    private Object payload;
+    private String timestamp;
+}
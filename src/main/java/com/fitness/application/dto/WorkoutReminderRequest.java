@@ -0,0 +1,27 @@
+
+package com.fitness.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutReminderRequest {
+    private boolean enabled;
+
+    @NotBlank(message = "Frequency is required")
+    @Pattern(regexp = "daily|custom", message = "Frequency must be daily or custom")
+    private String frequency;
+
+    @Pattern(regexp = "([01]\\d|2[0-3]):[0-5]\\d", message = "Time must be in HH:mm format")
+    private String time;
+
+    private List<String> days;
+    private String timezone;
+}
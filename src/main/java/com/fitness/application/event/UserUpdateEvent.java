@@ -0,0 +1,23 @@
+
+package com.fitness.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Raised by the services whenever a user's workouts, goals, progress or streak change state.
+ */
+@Data
+@AllArgsConstructor
+public class UserUpdateEvent {
+    private String userId;
+    private String type; // workout, goal, progress, streak, notification, achievement
+    private String action; // created, updated, deleted
+    private String entityId;
+    private Object payload; // current DTO, null for deletions
+    private Object previous; // DTO before an update or deletion, where the publisher has it
+
+    public UserUpdateEvent(String userId, String type, String action, String entityId, Object payload) {
+        this(userId, type, action, entityId, payload, null);
+    }
+}
@@ -2,8 +2,13 @@
 package com.fitness.application.interceptor;
 
 import com.fitness.application.config.RateLimitConfig;
+import com.fitness.application.timing.RequestTimings;
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,12 +20,16 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class RateLimitInterceptor implements HandlerInterceptor {
 
     private final RateLimitConfig rateLimitConfig;
+    private final Counter rejections;
     
     @Value("${app.ratelimit.timeout-duration:1}")
     private int timeoutDuration;
 
-    public RateLimitInterceptor(RateLimitConfig rateLimitConfig) {
+    public RateLimitInterceptor(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
         this.rateLimitConfig = rateLimitConfig;
+        this.rejections = Counter.builder("ratelimit.rejections")
+                .description("Requests rejected with 429 by the rate limiter")
+                .register(meterRegistry);
     }
 
     @Override
@@ -29,14 +38,18 @@ public class RateLimitInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        String clientIpAddress = getClientIP(request);
-        Bucket bucket = rateLimitConfig.resolveBucket(clientIpAddress);
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        ConsumptionProbe probe;
+        try (Stopwatch ignored = RequestTimings.start(Phase.RATE_LIMIT)) {
+            String clientIpAddress = getClientIP(request);
+            Bucket bucket = rateLimitConfig.resolveBucket(clientIpAddress);
+            probe = bucket.tryConsumeAndReturnRemaining(1);
+        }
         
         if (probe.isConsumed()) {
             response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
             return true;
         } else {
+            rejections.increment();
             long waitTimeSeconds = probe.getNanosToWaitForRefill() / 1_000_000_000;
             response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitTimeSeconds));
             response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), 
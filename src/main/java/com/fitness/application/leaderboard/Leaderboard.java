@@ -0,0 +1,73 @@
+package com.fitness.application.leaderboard;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The boards users are ranked on. Every board is kept per ISO week, so a period rolls over by
+ * writes simply landing in the next week's key while old weeks expire.
+ */
+public enum Leaderboard {
+    MINUTES("minutes"), // trained in completed workouts
+    CALORIES("calories"), // burned in completed workouts
+    STREAK("streak"); // current workout streak, as last updated during the week
+
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final Pattern PERIOD = Pattern.compile("(\\d{4})-W(\\d{2})");
+
+    private final String code;
+
+    Leaderboard(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String key(LocalDate weekStart) {
+        return KEY_PREFIX + code + ":" + period(weekStart);
+    }
+
+    public static Leaderboard fromCode(String code) {
+        for (Leaderboard board : values()) {
+            if (board.code.equals(code.toLowerCase(Locale.ROOT))) {
+                return board;
+            }
+        }
+        return null;
+    }
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+
+    /**
+     * ISO week label such as {@code 2026-W42}.
+     */
+    public static String period(LocalDate weekStart) {
+        return String.format("%d-W%02d",
+                weekStart.get(IsoFields.WEEK_BASED_YEAR), weekStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    /**
+     * The Monday of an ISO week label, or null when the label is malformed.
+     */
+    public static LocalDate parsePeriod(String period) {
+        Matcher matcher = PERIOD.matcher(period);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int week = Integer.parseInt(matcher.group(2));
+        // January 4th is always in week 1 of its week-based year
+        LocalDate firstWeek = LocalDate.of(Integer.parseInt(matcher.group(1)), 1, 4);
+        if (week < 1 || week > firstWeek.range(IsoFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum()) {
+            return null;
+        }
+        return weekStart(firstWeek.with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week));
+    }
+}
@@ -0,0 +1,4 @@
+package com.fitness.application.leaderboard;
+
+public record LeaderboardEntry(String member, double score, long rank) {
+}
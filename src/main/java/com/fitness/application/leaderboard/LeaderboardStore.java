@@ -0,0 +1,43 @@
+package com.fitness.application.leaderboard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked sets of members by score, highest first. Rank and top-K lookups are O(log n) in both
+ * implementations: Redis sorted sets in production, an in-process skip list for single-node
+ * runs and load tests.
+ */
+public interface LeaderboardStore {
+
+    /**
+     * Adds delta to a member's score and returns the new score. Members whose score drops to
+     * zero or below leave the board.
+     */
+    double increment(String board, String member, double delta);
+
+    /**
+     * Sets a member's score; zero or below removes the member.
+     */
+    void set(String board, String member, double score);
+
+    List<LeaderboardEntry> top(String board, int limit);
+
+    /**
+     * The member's 1-based rank and score, or null when it is not on the board.
+     */
+    LeaderboardEntry rank(String board, String member);
+
+    /**
+     * Whether the board has been seeded. A board that was flushed, evicted or has expired reads
+     * as not seeded, even once scores set since have brought it back.
+     */
+    boolean isSeeded(String board);
+
+    /**
+     * Adds the scores of members not on the board yet, so a score set concurrently is never
+     * overwritten, then marks the board seeded and sets its time to live.
+     */
+    void seed(String board, Map<String, Double> scores, Duration ttl);
+}
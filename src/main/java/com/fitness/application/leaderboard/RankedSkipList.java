@@ -0,0 +1,163 @@
+package com.fitness.application.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * An indexable skip list, the structure behind Redis sorted sets: every forward link records
+ * how many nodes it skips, so the rank of a member is the sum of spans on the way down and
+ * costs O(log n) like insertion and removal. Ordered highest score first, ties by member in
+ * descending order, which matches ZREVRANGE. Not thread-safe.
+ */
+final class RankedSkipList {
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Double> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1;
+
+    double increment(String member, double delta) {
+        double score = scores.getOrDefault(member, 0.0) + delta;
+        put(member, score);
+        return score;
+    }
+
+    void put(String member, double score) {
+        Double previous = scores.remove(member);
+        if (previous != null) {
+            delete(member, previous);
+        }
+        if (score > 0) {
+            scores.put(member, score);
+            insert(member, score);
+        }
+    }
+
+    Double score(String member) {
+        return scores.get(member);
+    }
+
+    /**
+     * 1-based rank, or 0 when the member is absent.
+     */
+    long rank(String member) {
+        Double score = scores.get(member);
+        if (score == null) {
+            return 0;
+        }
+        long rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], score, member)) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+        }
+        return rank + 1;
+    }
+
+    List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, scores.size()));
+        Node node = head.next[0];
+        for (long rank = 1; node != null && rank <= limit; rank++, node = node.next[0]) {
+            entries.add(new LeaderboardEntry(node.member, node.score, rank));
+        }
+        return entries;
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    private void insert(String member, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], score, member)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = scores.size() - 1; // nodes already linked, excluding this one
+            }
+            level = nodeLevel;
+        }
+
+        Node inserted = new Node(member, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void delete(String member, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], score, member)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        Node deleted = node.next[0];
+        if (deleted == null || !deleted.member.equals(member)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == deleted) {
+                update[i].span[i] += deleted.span[i] - 1;
+                update[i].next[i] = deleted.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static boolean precedes(Node node, double score, String member) {
+        return node.score > score || (node.score == score && node.member.compareTo(member) > 0);
+    }
+
+    private static final class Node {
+        final String member;
+        final double score;
+        final Node[] next;
+        final long[] span;
+
+        Node(String member, double score, int level) {
+            this.member = member;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new long[level];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fitness.application.leaderboard;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leaderboards as Redis sorted sets: ZADD and ZINCRBY for updates, ZREVRANGE and ZREVRANK for
+ * reads. Updates that take more than one command run as Lua scripts, so they are atomic.
+ */
+public class RedisLeaderboardStore implements LeaderboardStore {
+    // Kept inside the sorted set at score 0, below every member, so the mark goes whenever the
+    // board does
+    static final String SEEDED = "~seeded";
+    private static final int SEED_CHUNK = 1000;
+
+    private static final RedisScript<String> INCREMENT = RedisScript.of(
+            "local score = tonumber(redis.call('ZINCRBY', KEYS[1], ARGV[1], ARGV[2]))\n"
+            + "if score <= 0 then\n"
+            + "  redis.call('ZREM', KEYS[1], ARGV[2])\n"
+            + "  return '0'\n"
+            + "end\n"
+            + "return tostring(score)", String.class);
+
+    // ARGV: seeded mark or '' while more chunks follow, ttl in ms, then member and score pairs
+    private static final RedisScript<Long> SEED = RedisScript.of(
+            "for i = 3, #ARGV, 2 do\n"
+            + "  redis.call('ZADD', KEYS[1], 'NX', ARGV[i + 1], ARGV[i])\n"
+            + "end\n"
+            + "if ARGV[1] ~= '' then\n"
+            + "  redis.call('ZADD', KEYS[1], 0, ARGV[1])\n"
+            + "  redis.call('PEXPIRE', KEYS[1], ARGV[2])\n"
+            + "end\n"
+            + "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ZSetOperations<String, String> zSet;
+
+    public RedisLeaderboardStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.zSet = redisTemplate.opsForZSet();
+    }
+
+    @Override
+    public double increment(String board, String member, double delta) {
+        String score = redisTemplate.execute(INCREMENT, List.of(board), String.valueOf(delta), member);
+        return score != null ? Double.parseDouble(score) : 0;
+    }
+
+    @Override
+    public void set(String board, String member, double score) {
+        if (score > 0) {
+            zSet.add(board, member, score);
+        } else {
+            zSet.remove(board, member);
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(String board, int limit) {
+        Set<TypedTuple<String>> tuples = zSet.reverseRangeWithScores(board, 0, limit - 1);
+        List<LeaderboardEntry> entries = new ArrayList<>(tuples != null ? tuples.size() : 0);
+        if (tuples != null) {
+            long rank = 1;
+            for (TypedTuple<String> tuple : tuples) {
+                if (SEEDED.equals(tuple.getValue())) {
+                    continue;
+                }
+                entries.add(new LeaderboardEntry(tuple.getValue(), tuple.getScore() != null ? tuple.getScore() : 0, rank++));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public LeaderboardEntry rank(String board, String member) {
+        Long rank = zSet.reverseRank(board, member);
+        Double score = rank != null ? zSet.score(board, member) : null;
+        return rank != null && score != null ? new LeaderboardEntry(member, score, rank + 1) : null;
+    }
+
+    @Override
+    public boolean isSeeded(String board) {
+        return zSet.score(board, SEEDED) != null;
+    }
+
+    @Override
+    public void seed(String board, Map<String, Double> scores, Duration ttl) {
+        // In chunks, so a large board does not hold Redis up in one script; each only adds
+        List<String> args = new ArrayList<>(2 + 2 * Math.min(scores.size(), SEED_CHUNK));
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            if (score.getValue() <= 0) {
+                continue;
+            }
+            if (args.isEmpty()) {
+                args.add("");
+                args.add(String.valueOf(ttl.toMillis()));
+            }
+            args.add(score.getKey());
+            args.add(String.valueOf(score.getValue()));
+            if (args.size() >= 2 + 2 * SEED_CHUNK) {
+                redisTemplate.execute(SEED, List.of(board), args.toArray());
+                args.clear();
+            }
+        }
+        if (args.isEmpty()) {
+            args.add("");
+            args.add(String.valueOf(ttl.toMillis()));
+        }
+        args.set(0, SEEDED);
+        redisTemplate.execute(SEED, List.of(board), args.toArray());
+    }
+}
@@ -0,0 +1,106 @@
+package com.fitness.application.leaderboard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process leaderboards for single-node runs and load tests, with the same ordering and
+ * expiry semantics as {@link RedisLeaderboardStore}. Expired boards are dropped on access.
+ */
+public class SkipListLeaderboardStore implements LeaderboardStore {
+    private final ConcurrentMap<String, Board> boards = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public SkipListLeaderboardStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public double increment(String board, String member, double delta) {
+        Board target = writable(board);
+        synchronized (target) {
+            return Math.max(0, target.entries.increment(member, delta));
+        }
+    }
+
+    @Override
+    public void set(String board, String member, double score) {
+        Board target = writable(board);
+        synchronized (target) {
+            target.entries.put(member, score);
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(String board, int limit) {
+        Board target = readable(board);
+        if (target == null) {
+            return List.of();
+        }
+        synchronized (target) {
+            return target.entries.top(limit);
+        }
+    }
+
+    @Override
+    public LeaderboardEntry rank(String board, String member) {
+        Board target = readable(board);
+        if (target == null) {
+            return null;
+        }
+        synchronized (target) {
+            long rank = target.entries.rank(member);
+            return rank > 0 ? new LeaderboardEntry(member, target.entries.score(member), rank) : null;
+        }
+    }
+
+    @Override
+    public boolean isSeeded(String board) {
+        Board target = readable(board);
+        return target != null && target.seeded;
+    }
+
+    @Override
+    public void seed(String board, Map<String, Double> scores, Duration ttl) {
+        Board target = writable(board);
+        synchronized (target) {
+            scores.forEach((member, score) -> {
+                if (target.entries.score(member) == null) {
+                    target.entries.put(member, score);
+                }
+            });
+            target.seeded = true;
+        }
+        target.expiresAt = clock.instant().plus(ttl);
+    }
+
+    private Board writable(String board) {
+        Board existing = readable(board);
+        return existing != null ? existing : boards.computeIfAbsent(board, key -> new Board());
+    }
+
+    private Board readable(String board) {
+        Board existing = boards.get(board);
+        if (existing != null && existing.expired(clock.instant())) {
+            boards.remove(board, existing);
+            return null;
+        }
+        return existing;
+    }
+
+    private static final class Board {
+        final RankedSkipList entries = new RankedSkipList();
+        volatile Instant expiresAt;
+        volatile boolean seeded;
+
+        boolean expired(Instant now) {
+            Instant deadline = expiresAt;
+            return deadline != null && !now.isBefore(deadline);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fitness.application.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fitness.application.model.Goal;
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.Workout;
+
+import java.io.IOException;
+
+/**
+ * Writes Workout, Goal and Progress entities straight to JSON in exactly the shape of their DTOs,
+ * so list responses can skip the intermediate DTO copy. Field names are pre-encoded once and dates
+ * come from {@link IsoDates}; internal fields (userId, syncSeq, updatedAt) are never written.
+ * Only the writers that send entities to clients use it, the list streams and the sync response,
+ * so the Redis cache and every other mapper still see entities with all their fields.
+ */
+public class EntityJsonModule extends SimpleModule {
+
+    public EntityJsonModule() {
+        super("EntityJsonModule");
+        addSerializer(Workout.class, new WorkoutSerializer());
+        addSerializer(Goal.class, new GoalSerializer());
+        addSerializer(Progress.class, new ProgressSerializer());
+    }
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString DURATION = new SerializedString("duration");
+    private static final SerializedString CALORIES = new SerializedString("calories");
+    private static final SerializedString EXERCISES = new SerializedString("exercises");
+    private static final SerializedString DATE = new SerializedString("date");
+    private static final SerializedString COMPLETED = new SerializedString("completed");
+    private static final SerializedString NOTES = new SerializedString("notes");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString TARGET = new SerializedString("target");
+    private static final SerializedString CURRENT = new SerializedString("current");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DEADLINE = new SerializedString("deadline");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString PROGRESS = new SerializedString("progress");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString VALUE = new SerializedString("value");
+    private static final SerializedString ADDITIONAL_DATA = new SerializedString("additionalData");
+
+    public static final class WorkoutSerializer extends StdSerializer<Workout> {
+        public WorkoutSerializer() {
+            super(Workout.class);
+        }
+
+        @Override
+        public void serialize(Workout workout, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(workout);
+            writeString(gen, ID, workout.getId());
+            writeString(gen, TITLE, workout.getTitle());
+            writeString(gen, TYPE, workout.getType());
+            gen.writeFieldName(DURATION);
+            gen.writeNumber(workout.getDuration());
+            gen.writeFieldName(CALORIES);
+            gen.writeNumber(workout.getCalories());
+            gen.writeFieldName(EXERCISES);
+            gen.writeNumber(workout.getExercises());
+            writeString(gen, DATE, IsoDates.format(workout.getDate()));
+            gen.writeFieldName(COMPLETED);
+            gen.writeBoolean(workout.isCompleted());
+            writeString(gen, NOTES, workout.getNotes());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class GoalSerializer extends StdSerializer<Goal> {
+        public GoalSerializer() {
+            super(Goal.class);
+        }
+
+        @Override
+        public void serialize(Goal goal, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(goal);
+            writeString(gen, ID, goal.getId());
+            writeString(gen, TITLE, goal.getTitle());
+            writeString(gen, DESCRIPTION, goal.getDescription());
+            gen.writeFieldName(TARGET);
+            gen.writeNumber(goal.getTarget());
+            gen.writeFieldName(CURRENT);
+            gen.writeNumber(goal.getCurrent());
+            writeString(gen, TYPE, goal.getType());
+            writeString(gen, STATUS, goal.getStatus());
+            writeString(gen, DEADLINE, IsoDates.format(goal.getDeadline()));
+            writeString(gen, CREATED_AT, IsoDates.format(goal.getCreatedAt()));
+            gen.writeFieldName(PROGRESS);
+            gen.writeNumber(goal.getProgress());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class ProgressSerializer extends StdSerializer<Progress> {
+        public ProgressSerializer() {
+            super(Progress.class);
+        }
+
+        @Override
+        public void serialize(Progress progress, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(progress);
+            writeString(gen, ID, progress.getId());
+            writeString(gen, CATEGORY, progress.getCategory());
+            writeString(gen, DATE, IsoDates.format(progress.getDate()));
+            gen.writeFieldName(VALUE);
+            gen.writeNumber(progress.getValue());
+            gen.writeFieldName(ADDITIONAL_DATA);
+            provider.defaultSerializeValue(progress.getAdditionalData(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
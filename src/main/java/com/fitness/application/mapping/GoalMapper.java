@@ -0,0 +1,41 @@
+package com.fitness.application.mapping;
+
+import com.fitness.application.dto.GoalDto;
+import com.fitness.application.model.Goal;
+
+public final class GoalMapper {
+
+    private GoalMapper() {
+    }
+
+    public static GoalDto toDto(Goal goal) {
+        return new GoalDto(
+                goal.getId(),
+                goal.getTitle(),
+                goal.getDescription(),
+                goal.getTarget(),
+                goal.getCurrent(),
+                goal.getType(),
+                goal.getStatus(),
+                IsoDates.format(goal.getDeadline()),
+                IsoDates.format(goal.getCreatedAt()),
+                goal.getProgress());
+    }
+
+    public static Goal toEntity(GoalDto dto) {
+        Goal goal = new Goal();
+        goal.setId(dto.getId());
+        goal.setTitle(dto.getTitle());
+        goal.setDescription(dto.getDescription());
+        goal.setTarget(dto.getTarget());
+        goal.setCurrent(dto.getCurrent());
+        goal.setType(dto.getType());
+        goal.setStatus(dto.getStatus());
+        goal.setDeadline(IsoDates.parse(dto.getDeadline()));
+        goal.setCreatedAt(IsoDates.parse(dto.getCreatedAt()));
+        if (dto.getProgress() != null) {
+            goal.setProgress(dto.getProgress());
+        }
+        return goal;
+    }
+}
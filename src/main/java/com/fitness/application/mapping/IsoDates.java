@@ -0,0 +1,63 @@
+package com.fitness.application.mapping;
+
+import java.time.LocalDate;
+
+/**
+ * ISO-8601 ({@code yyyy-MM-dd}) date text without per-call allocation for the dates the app
+ * actually stores: formatted strings are cached per day over a fixed window, and parsing reads
+ * the digits directly instead of going through a DateTimeFormatter.
+ */
+public final class IsoDates {
+    private static final long WINDOW_START = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final int WINDOW_DAYS = 60 * 366;
+
+    // Racy lazy fill is fine: Strings are immutable and safely published through their final fields
+    private static final String[] FORMATTED = new String[WINDOW_DAYS];
+
+    private IsoDates() {
+    }
+
+    public static String format(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        long slot = date.toEpochDay() - WINDOW_START;
+        if (slot < 0 || slot >= WINDOW_DAYS) {
+            return date.toString();
+        }
+        String formatted = FORMATTED[(int) slot];
+        if (formatted == null) {
+            formatted = date.toString();
+            FORMATTED[(int) slot] = formatted;
+        }
+        return formatted;
+    }
+
+    public static LocalDate parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        // Anything unusual takes the standard path, with its usual DateTimeParseException
+        return LocalDate.parse(text);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
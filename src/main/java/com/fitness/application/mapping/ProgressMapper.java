@@ -0,0 +1,29 @@
+package com.fitness.application.mapping;
+
+import com.fitness.application.dto.ProgressDto;
+import com.fitness.application.model.Progress;
+
+public final class ProgressMapper {
+
+    private ProgressMapper() {
+    }
+
+    public static ProgressDto toDto(Progress progress) {
+        return new ProgressDto(
+                progress.getId(),
+                progress.getCategory(),
+                IsoDates.format(progress.getDate()),
+                progress.getValue(),
+                progress.getAdditionalData());
+    }
+
+    public static Progress toEntity(ProgressDto dto) {
+        Progress progress = new Progress();
+        progress.setId(dto.getId());
+        progress.setCategory(dto.getCategory());
+        progress.setDate(IsoDates.parse(dto.getDate()));
+        progress.setValue(dto.getValue());
+        progress.setAdditionalData(dto.getAdditionalData());
+        return progress;
+    }
+}
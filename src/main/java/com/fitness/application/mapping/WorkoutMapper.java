@@ -0,0 +1,37 @@
+package com.fitness.application.mapping;
+
+import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.model.Workout;
+
+public final class WorkoutMapper {
+
+    private WorkoutMapper() {
+    }
+
+    public static WorkoutDto toDto(Workout workout) {
+        return new WorkoutDto(
+                workout.getId(),
+                workout.getTitle(),
+                workout.getType(),
+                workout.getDuration(),
+                workout.getCalories(),
+                workout.getExercises(),
+                IsoDates.format(workout.getDate()),
+                workout.isCompleted(),
+                workout.getNotes());
+    }
+
+    public static Workout toEntity(WorkoutDto dto) {
+        Workout workout = new Workout();
+        workout.setId(dto.getId());
+        workout.setTitle(dto.getTitle());
+        workout.setType(dto.getType());
+        workout.setDuration(dto.getDuration());
+        workout.setCalories(dto.getCalories());
+        workout.setExercises(dto.getExercises());
+        workout.setDate(IsoDates.parse(dto.getDate()));
+        workout.setCompleted(dto.isCompleted());
+        workout.setNotes(dto.getNotes());
+        return workout;
+    }
+}
@@ -0,0 +1,101 @@
+package com.fitness.application.model;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * The badge catalog. Each badge unlocks once a per-user counter reaches its threshold and is
+ * stored as one bit of {@link AchievementState#getBadges()}, so bits are fixed forever: add new
+ * badges with unused bits and never renumber.
+ */
+public enum Achievement {
+    FIRST_WORKOUT(0, "first-workout", "First Workout", "Complete your first workout", Counter.WORKOUTS, 1),
+    WORKOUTS_10(1, "workouts-10", "Getting Started", "Complete 10 workouts", Counter.WORKOUTS, 10),
+    WORKOUTS_50(2, "workouts-50", "Regular", "Complete 50 workouts", Counter.WORKOUTS, 50),
+    WORKOUTS_100(3, "workouts-100", "Century", "Complete 100 workouts", Counter.WORKOUTS, 100),
+    STREAK_7(4, "streak-7", "Week Warrior", "Keep a 7-day workout streak", Counter.LONGEST_STREAK, 7),
+    STREAK_30(5, "streak-30", "Monthly Momentum", "Keep a 30-day workout streak", Counter.LONGEST_STREAK, 30),
+    STREAK_100(6, "streak-100", "Unstoppable", "Keep a 100-day workout streak", Counter.LONGEST_STREAK, 100),
+    CALORIES_1K(7, "calories-1k", "Calorie Burner", "Burn 1,000 calories in completed workouts", Counter.CALORIES, 1_000),
+    CALORIES_10K(8, "calories-10k", "Furnace", "Burn 10,000 calories in completed workouts", Counter.CALORIES, 10_000),
+    CALORIES_100K(9, "calories-100k", "Inferno", "Burn 100,000 calories in completed workouts", Counter.CALORIES, 100_000),
+    MINUTES_600(10, "minutes-600", "Ten Hours In", "Train for 10 hours in completed workouts", Counter.MINUTES, 600),
+    MINUTES_6000(11, "minutes-6000", "Hundred Hours", "Train for 100 hours in completed workouts", Counter.MINUTES, 6_000),
+    FIRST_PROGRESS(12, "first-progress", "Tracking", "Log your first progress entry", Counter.PROGRESS_ENTRIES, 1),
+    PROGRESS_50(13, "progress-50", "Data Driven", "Log 50 progress entries", Counter.PROGRESS_ENTRIES, 50),
+    FIRST_RECORD(14, "first-record", "Personal Best", "Set your first strength personal record", Counter.PERSONAL_RECORDS, 1),
+    RECORDS_10(15, "records-10", "Record Breaker", "Set 10 strength personal records", Counter.PERSONAL_RECORDS, 10),
+    RECORDS_50(16, "records-50", "Relentless", "Set 50 strength personal records", Counter.PERSONAL_RECORDS, 50);
+
+    private final int bit;
+    private final String code;
+    private final String title;
+    private final String description;
+    private final Counter counter;
+    private final long threshold;
+
+    Achievement(int bit, String code, String title, String description, Counter counter, long threshold) {
+        this.bit = bit;
+        this.code = code;
+        this.title = title;
+        this.description = description;
+        this.counter = counter;
+        this.threshold = threshold;
+    }
+
+    public long mask() {
+        return 1L << bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Counter getCounter() {
+        return counter;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * The per-user counters badges are evaluated against, with their field in the
+     * achievements document. Personal records are summed from the per-exercise counts.
+     */
+    public enum Counter {
+        WORKOUTS("workouts", AchievementState::getWorkouts),
+        CALORIES("calories", AchievementState::getCalories),
+        MINUTES("minutes", AchievementState::getMinutes),
+        LONGEST_STREAK("longestStreak", AchievementState::getLongestStreak),
+        PROGRESS_ENTRIES("progressEntries", AchievementState::getProgressEntries),
+        PERSONAL_RECORDS("records", AchievementState::getPersonalRecords);
+
+        private final String field;
+        private final ToLongFunction<AchievementState> value;
+
+        Counter(String field, ToLongFunction<AchievementState> value) {
+            this.field = field;
+            this.value = value;
+        }
+
+        public String field() {
+            return field;
+        }
+
+        public long valueOf(AchievementState state) {
+            return value.applyAsLong(state);
+        }
+    }
+}
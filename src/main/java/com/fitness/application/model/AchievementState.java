@@ -0,0 +1,46 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A user's achievement counters and earned badges, one small document per user, kept current
+ * by each event that changes what it counts so reads never aggregate.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "achievements")
+public class AchievementState {
+    @Id
+    private String id; // user id
+    private long workouts; // completed workouts
+    private long calories; // burned in completed workouts
+    private long minutes; // trained in completed workouts
+    private long longestStreak;
+    private long progressEntries;
+    private Map<String, Long> records; // records broken by exercise, see PersonalRecordEntry and AchievementService.recordKey
+    private List<String> applied; // ids of the latest outbox events counted, so a redelivered one is not counted twice
+    private String seededThrough; // last outbox event id for this user when the counters were counted from history
+    private long badges; // bit per Achievement, see Achievement.mask()
+    private Map<String, Instant> earnedAt; // by Achievement code
+
+    public long getPersonalRecords() {
+        long total = 0;
+        if (records != null) {
+            for (Long count : records.values()) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
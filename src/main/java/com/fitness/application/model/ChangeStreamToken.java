@@ -0,0 +1,26 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Where a collection's change stream was last consumed, so the next owner resumes there.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_stream_tokens")
+public class ChangeStreamToken {
+    @Id
+    private String id; // watched collection
+    private String token; // resume token as extended JSON
+    private String owner; // node that saved it
+    private Instant updatedAt;
+}
@@ -6,8 +6,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
@@ -15,10 +19,12 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "goals")
+@Sharded(shardKey = "userId", shardingStrategy = ShardingStrategy.HASH, immutableKey = true)
+@CompoundIndex(name = "user_sync_seq", def = "{'userId': 1, 'syncSeq': 1}")
 public class Goal {
     @Id
     private String id;
-    private String userId;
+    private String userId; // shard key
     private String title;
     private String description;
     private double target;
@@ -28,4 +34,6 @@ public class Goal {
     private LocalDate deadline;
     private LocalDate createdAt;
     private int progress; // 0-100
+    private long syncSeq; // per-user change sequence, see SyncService
+    private Instant updatedAt;
 }
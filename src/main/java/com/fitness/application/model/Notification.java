@@ -0,0 +1,31 @@
+
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "notifications")
+@CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1}")
+public class Notification {
+    @Id
+    private String id;
+    private String userId;
+    private String title;
+    private String message;
+    private String type; // workout, goal, streak, system
+    private boolean read;
+    private Instant createdAt;
+    private Map<String, Object> data;
+}
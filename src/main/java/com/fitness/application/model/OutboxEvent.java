@@ -0,0 +1,43 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A domain change waiting to be applied to derived data, written next to the change itself.
+ * The (partition, _id) index is the consumer's queue, (partition, nextAttemptAt) finds the
+ * users held back by a failed event and (partition, userId) whether a user has anything queued;
+ * a document is deleted once every handler for its type has applied it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox")
+@CompoundIndexes({
+    @CompoundIndex(name = "partition_id", def = "{'partition': 1, '_id': 1}"),
+    @CompoundIndex(name = "partition_next_attempt", def = "{'partition': 1, 'nextAttemptAt': 1}"),
+    @CompoundIndex(name = "partition_user", def = "{'partition': 1, 'userId': 1}")
+})
+public class OutboxEvent {
+    @Id
+    private String id; // ObjectId, so ascending ids are roughly append order
+    private int partition; // by user, so one user's events are consumed in order by one node
+    private String userId;
+    private String type; // workout, progress
+    private String action; // created, updated, deleted, external (see ProjectionChangeListener)
+    private String entityId;
+    private Map<String, Object> data; // what handlers need without re-reading the entity
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private int attempts; // failed deliveries so far
+}
@@ -0,0 +1,44 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A user's bests for one exercise, maintained as strength entries are written so reading them
+ * never touches the progress history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "personal_records")
+public class PersonalRecord {
+    @Id
+    private String id; // userId:exercise
+    @Indexed
+    private String userId;
+    private String exercise; // see StrengthSet.normalizeExercise
+    private double bestOneRepMax; // Epley estimate
+    private double oneRepMaxWeight;
+    private int oneRepMaxReps;
+    private LocalDate oneRepMaxDate;
+    private String oneRepMaxProgressId;
+    private double bestVolume; // weight x reps x sets
+    private LocalDate volumeDate;
+    private String volumeProgressId;
+    private Map<String, Integer> repsAtWeight; // most reps by weight in hundredths, see StrengthSet.weightKey
+    private Instant updatedAt;
+
+    public static String id(String userId, String exercise) {
+        return userId + ":" + exercise;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * One record broken: the progress entry that beat the previous best of its kind.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "personal_record_history")
+@CompoundIndex(name = "user_exercise_date", def = "{'userId': 1, 'exercise': 1, 'date': -1}")
+public class PersonalRecordEntry {
+    public static final String ONE_REP_MAX = "one-rep-max";
+    public static final String VOLUME = "volume";
+    public static final String REPS_AT_WEIGHT = "reps-at-weight";
+
+    @Id
+    private String id;
+    private String userId;
+    private String exercise;
+    private String kind; // one-rep-max, volume, reps-at-weight
+    private double value; // estimated 1RM, volume or reps
+    private double weight;
+    private int reps;
+    private int sets;
+    private LocalDate date;
+    private String progressId;
+}
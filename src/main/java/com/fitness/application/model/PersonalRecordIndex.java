@@ -0,0 +1,25 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Marks a user's personal record index as built from their whole strength history, so entries
+ * logged before the index existed are only replayed once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "personal_record_indexes")
+public class PersonalRecordIndex {
+    @Id
+    private String id; // user id
+    private Instant builtAt;
+}
@@ -6,8 +6,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -16,12 +20,16 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "progress")
+@Sharded(shardKey = "userId", shardingStrategy = ShardingStrategy.HASH, immutableKey = true)
+@CompoundIndex(name = "user_sync_seq", def = "{'userId': 1, 'syncSeq': 1}")
 public class Progress {
     @Id
     private String id;
-    private String userId;
+    private String userId; // shard key
     private String category; // weight, strength
     private LocalDate date;
     private double value;
     private Map<String, Object> additionalData; // For strength progress: exercise, reps, weight, etc.
+    private long syncSeq; // per-user change sequence, see SyncService
+    private Instant updatedAt;
 }
@@ -0,0 +1,67 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A {@link Progress} entry as stored in the progress_series time-series collection, used when
+ * app.progress.storage=timeseries. The user and category form the meta field, so each series is
+ * stored in buckets of its own. Hour granularity groups daily entries into month-long buckets.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TimeSeries(collection = "progress_series", timeField = "date", metaField = "meta", granularity = Granularity.HOURS)
+public class ProgressMeasurement {
+    @Id
+    private String id;
+    private LocalDate date;
+    private Meta meta;
+    private double value;
+    private Map<String, Object> additionalData;
+    private long syncSeq;
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Meta {
+        private String userId;
+        private String category;
+    }
+
+    public static ProgressMeasurement from(Progress progress) {
+        return ProgressMeasurement.builder()
+                .id(progress.getId())
+                .date(progress.getDate())
+                .meta(new Meta(progress.getUserId(), progress.getCategory()))
+                .value(progress.getValue())
+                .additionalData(progress.getAdditionalData())
+                .syncSeq(progress.getSyncSeq())
+                .updatedAt(progress.getUpdatedAt())
+                .build();
+    }
+
+    public Progress toProgress() {
+        return Progress.builder()
+                .id(id)
+                .userId(meta != null ? meta.getUserId() : null)
+                .category(meta != null ? meta.getCategory() : null)
+                .date(date)
+                .value(value)
+                .additionalData(additionalData)
+                .syncSeq(syncSeq)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
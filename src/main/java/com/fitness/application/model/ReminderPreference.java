@@ -0,0 +1,39 @@
+
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Per-user notification settings. The (partition, nextDueAt) index is the reminder
+ * scheduler's due-time queue, so no per-user timers are needed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "reminder_preferences")
+@CompoundIndex(name = "partition_due", def = "{'partition': 1, 'nextDueAt': 1}")
+public class ReminderPreference {
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String userId;
+    private boolean workoutRemindersEnabled;
+    private String frequency; // daily, custom
+    private String time; // HH:mm in the user's time zone
+    private List<String> days; // monday..sunday, used when frequency is custom
+    private String timezone;
+    private boolean goalUpdatesEnabled;
+    private int partition;
+    private Instant nextDueAt; // null when reminders are disabled
+}
@@ -0,0 +1,89 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typed view of a strength progress entry, parsed from the free-form
+ * {@link Progress#getAdditionalData()} the clients send ({@code exercise}, {@code reps},
+ * {@code weight} and optionally {@code sets}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrengthSet {
+    public static final String CATEGORY = "strength";
+
+    private String exercise; // normalized: trimmed, lower case, single spaces
+    private double weight;
+    private int reps;
+    private int sets;
+
+    /**
+     * Parses a progress entry, or returns null when it is not a usable strength set. The weight
+     * falls back to the entry's value, which older clients used for the weight lifted.
+     */
+    public static StrengthSet from(Progress progress) {
+        Map<String, Object> data = progress.getAdditionalData();
+        if (!CATEGORY.equals(progress.getCategory()) || data == null) {
+            return null;
+        }
+
+        String exercise = normalizeExercise(data.get("exercise"));
+        Double weight = number(data.get("weight"));
+        Double reps = number(data.get("reps"));
+        Double sets = number(data.get("sets"));
+        double effectiveWeight = weight != null ? weight : progress.getValue();
+        if (exercise == null || reps == null || reps < 1 || effectiveWeight <= 0) {
+            return null;
+        }
+        return new StrengthSet(exercise, effectiveWeight, reps.intValue(), sets != null && sets >= 1 ? sets.intValue() : 1);
+    }
+
+    public static String normalizeExercise(Object exercise) {
+        if (exercise == null) {
+            return null;
+        }
+        String normalized = exercise.toString().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Epley estimate; a single rep is its own one-rep max.
+     */
+    public double estimatedOneRepMax() {
+        return reps == 1 ? weight : weight * (1 + reps / 30.0);
+    }
+
+    public double volume() {
+        return weight * reps * sets;
+    }
+
+    /**
+     * Weight in hundredths, the key of {@link PersonalRecord#getRepsAtWeight()}. Field names
+     * cannot hold the decimal point.
+     */
+    public String weightKey() {
+        return Long.toString(Math.round(weight * 100));
+    }
+
+    private static Double number(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "sync_counters")
+public class SyncCounter {
+    @Id
+    private String id; // user id
+    private long seq; // last sequence number handed out
+    private long compactedSeq; // highest tombstone sequence removed by compaction
+}
@@ -0,0 +1,34 @@
+
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Record of a hard-deleted document, kept until compaction so delta sync can report the deletion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "sync_tombstones")
+@CompoundIndex(name = "user_sync_seq", def = "{'userId': 1, 'syncSeq': 1}")
+public class SyncTombstone {
+    @Id
+    private String id;
+    private String userId;
+    private String type; // workout, goal, progress
+    @Indexed
+    private String entityId; // looked up by the change-stream invalidator for deletes
+    private long syncSeq;
+    @Indexed
+    private Instant deletedAt;
+}
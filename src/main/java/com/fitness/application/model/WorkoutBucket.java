@@ -0,0 +1,50 @@
+package com.fitness.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * One user's workouts for one calendar month, with that month's completed totals, used when
+ * app.workouts.storage=buckets. The id is derived from the user and month, so the first
+ * workout of a month creates its bucket with an upsert.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "workout_buckets")
+@Sharded(shardKey = "userId", shardingStrategy = ShardingStrategy.HASH, immutableKey = true)
+@CompoundIndexes({
+    @CompoundIndex(name = "user_month", def = "{'userId': 1, 'month': -1}"),
+    @CompoundIndex(name = "user_workout", def = "{'userId': 1, 'workouts._id': 1}"),
+    @CompoundIndex(name = "user_max_sync_seq", def = "{'userId': 1, 'maxSyncSeq': 1}")
+})
+public class WorkoutBucket {
+    @Id
+    private String id; // userId:yyyy-MM
+    private String userId; // shard key
+    private LocalDate month; // first day of the month
+    private List<Workout> workouts;
+    private int count;
+    private int completed;
+    private long minutes; // completed workouts only, as on the leaderboards
+    private long calories;
+    private long maxSyncSeq; // highest syncSeq of its workouts, for delta sync
+    private long version; // bumped on every write, for optimistic rewrites
+
+    public static String id(String userId, LocalDate date) {
+        return userId + ":" + YearMonth.from(date);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fitness.application.pool;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times how long operations wait for a pooled Mongo connection and tracks, per server, how many
+ * connections are checked out and how many operations are waiting for one. Pool size and wait
+ * queue gauges come from Spring Boot's own pool listener; this adds the wait itself.
+ */
+@Component
+public class MongoPoolListener implements ConnectionPoolListener {
+    private final MeterRegistry meterRegistry;
+    private final Timer checkoutWait;
+    private final Map<ServerAddress, Usage> usage = new ConcurrentHashMap<>();
+
+    public MongoPoolListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.checkoutWait = Timer.builder("fitness.mongo.pool.wait")
+                .description("Time spent waiting to check out a Mongo connection")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        usage(event.getServerId().getAddress()).waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        Usage server = usage(event.getConnectionId().getServerId().getAddress());
+        server.waiting.decrementAndGet();
+        server.checkedOut.incrementAndGet();
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        usage(event.getServerId().getAddress()).waiting.decrementAndGet();
+        checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        Counter.builder("fitness.mongo.pool.checkout.failures")
+                .description("Mongo connection checkouts that failed, by reason")
+                .tag("reason", event.getReason().name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        usage(event.getConnectionId().getServerId().getAddress()).checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        usage.remove(event.getServerId().getAddress());
+    }
+
+    /** Current usage of each server's pool. */
+    public Map<ServerAddress, Usage> usage() {
+        return Map.copyOf(usage);
+    }
+
+    private Usage usage(ServerAddress address) {
+        return usage.computeIfAbsent(address, key -> new Usage());
+    }
+
+    public static final class Usage {
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        public int checkedOut() {
+            return checkedOut.get();
+        }
+
+        public int waiting() {
+            return Math.max(0, waiting.get());
+        }
+    }
+}
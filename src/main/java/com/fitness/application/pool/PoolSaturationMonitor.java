@@ -0,0 +1,108 @@
+package com.fitness.application.pool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.DoubleStream;
+
+/**
+ * Samples how full the Mongo and Redis connection pools are and raises an alarm when a pool
+ * stays at or above the threshold for several checks in a row: a WARN log, a count on
+ * fitness.pool.saturation.alarms and fitness.pool.saturated set to 1 until it recovers. A full
+ * pool makes callers queue, which shows up in p99 latency only once the queue has grown.
+ */
+@Component
+public class PoolSaturationMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(PoolSaturationMonitor.class);
+
+    private final MongoPoolListener mongoPool;
+    private final MeterRegistry meterRegistry;
+    private final PoolState mongo = new PoolState("mongo");
+    private final PoolState redis = new PoolState("redis");
+
+    @Value("${app.mongo.pool.max-size:100}")
+    private int mongoMaxSize;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int redisMaxActive;
+
+    @Value("${app.pools.saturation.threshold:0.9}")
+    private double threshold;
+
+    @Value("${app.pools.saturation.consecutive-checks:3}")
+    private int consecutiveChecks;
+
+    public PoolSaturationMonitor(MongoPoolListener mongoPool, MeterRegistry meterRegistry) {
+        this.mongoPool = mongoPool;
+        this.meterRegistry = meterRegistry;
+        for (PoolState pool : new PoolState[]{mongo, redis}) {
+            Gauge.builder("fitness.pool.utilization", pool, state -> state.utilization)
+                    .description("Share of the pool's connections in use at the last check")
+                    .tag("pool", pool.name)
+                    .register(meterRegistry);
+            Gauge.builder("fitness.pool.saturated", pool, state -> state.saturated ? 1 : 0)
+                    .description("1 while the pool is saturated")
+                    .tag("pool", pool.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.pools.saturation.check-interval-ms:5000}")
+    public void check() {
+        int checkedOut = 0;
+        int waiting = 0;
+        for (MongoPoolListener.Usage usage : mongoPool.usage().values()) {
+            // Each server has a pool of its own, so the fullest one counts
+            checkedOut = Math.max(checkedOut, usage.checkedOut());
+            waiting += usage.waiting();
+        }
+        observe(mongo, checkedOut, mongoMaxSize, waiting);
+        // Lettuce keeps a pool per connection type, each sized by max-active
+        observe(redis, (int) gauges("commons.pool2.num.active").max().orElse(0), redisMaxActive,
+                (int) gauges("commons.pool2.num.waiters").sum());
+    }
+
+    /** Whether either pool is saturated, for background work that should give way to requests. */
+    public boolean isSaturated() {
+        return mongo.saturated || redis.saturated;
+    }
+
+    private void observe(PoolState pool, int inUse, int maxSize, int waiting) {
+        pool.utilization = maxSize > 0 ? (double) inUse / maxSize : 0;
+        if (pool.utilization < threshold) {
+            pool.consecutive = 0;
+            if (pool.saturated) {
+                pool.saturated = false;
+                logger.info("{} connection pool recovered: {}/{} in use", pool.name, inUse, maxSize);
+            }
+            return;
+        }
+        if (++pool.consecutive >= consecutiveChecks && !pool.saturated) {
+            pool.saturated = true;
+            meterRegistry.counter("fitness.pool.saturation.alarms", "pool", pool.name).increment();
+            logger.warn("{} connection pool saturated: {}/{} in use, {} waiting, for {} checks",
+                    pool.name, inUse, maxSize, waiting, pool.consecutive);
+        }
+    }
+
+    // Lettuce's pools are registered over JMX and bound by CommonsObjectPool2Metrics
+    private DoubleStream gauges(String name) {
+        return meterRegistry.find(name).gauges().stream().mapToDouble(Gauge::value).filter(Double::isFinite);
+    }
+
+    private static final class PoolState {
+        private final String name;
+        private volatile double utilization;
+        private volatile boolean saturated;
+        private int consecutive;
+
+        private PoolState(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.fitness.application.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/mongoprofile} lists query shapes by total time spent, with their latest
+ * plan; {@code POST} forces every shape to be explained again. Only users listed in
+ * {@code app.security.admin-user-ids} hold the ROLE_ADMIN it requires.
+ */
+@Component
+@Endpoint(id = "mongoprofile")
+public class MongoProfileEndpoint {
+    private final MongoQueryProfiler profiler;
+
+    public MongoProfileEndpoint(MongoQueryProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public List<MongoQueryProfiler.ShapeReport> shapes() {
+        return profiler.report();
+    }
+
+    @WriteOperation
+    public void reexplainAll() {
+        profiler.reexplainAll();
+    }
+}
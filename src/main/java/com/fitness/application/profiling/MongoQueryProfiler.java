@@ -0,0 +1,337 @@
+package com.fitness.application.profiling;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Driver-level profiler that groups every query by shape and keeps, per shape, a latency timer,
+ * the number of documents returned, and a plan summary from a background explain. Shapes are
+ * explained when first seen and again after {@code explain-interval-ms}, so a dropped or unused
+ * index shows up as a COLLSCAN plan without waiting for a slow-query report.
+ */
+@Component
+public class MongoQueryProfiler implements CommandListener {
+    private static final Logger logger = LoggerFactory.getLogger(MongoQueryProfiler.class);
+    private static final String OVERFLOW_SHAPE = "other";
+    private static final Set<String> SESSION_FIELDS = Set.of(
+            "lsid", "$db", "$clusterTime", "txnNumber", "autocommit", "startTransaction",
+            "$readPreference", "signature", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final Clock clock;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, OpenCursor> openCursors = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    @Value("${app.mongo.profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mongo.profiler.max-shapes:500}")
+    private int maxShapes;
+
+    @Value("${app.mongo.profiler.explain-enabled:true}")
+    private boolean explainEnabled;
+
+    @Value("${app.mongo.profiler.explain-interval-ms:600000}")
+    private long explainIntervalMs;
+
+    @Value("${app.mongo.profiler.slow-query-ms:200}")
+    private long slowQueryMs;
+
+    @Value("${app.mongo.profiler.max-open-cursors:10000}")
+    private int maxOpenCursors;
+
+    @Value("${app.mongo.profiler.cursor-idle-ms:600000}")
+    private long cursorIdleMs;
+
+    public MongoQueryProfiler(MeterRegistry meterRegistry, ObjectProvider<MongoClient> mongoClient, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.mongoClient = mongoClient;
+        this.clock = clock;
+        // One explain at a time, dropped rather than queued without bound when Mongo is busy
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64), runnable -> {
+                    Thread thread = new Thread(runnable, "mongo-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String commandName = event.getCommandName();
+        if (commandName.equals("getMore")) {
+            BsonValue cursorId = event.getCommand().get("getMore");
+            long id = cursorId != null && cursorId.isInt64() ? cursorId.asInt64().getValue() : 0;
+            OpenCursor cursor = openCursors.get(id);
+            if (cursor != null) {
+                inFlight.put(event.getRequestId(), new InFlight(cursor.stats(), id, null, event.getDatabaseName()));
+            }
+            return;
+        }
+        if (commandName.equals("killCursors")) {
+            BsonValue cursors = event.getCommand().get("cursors");
+            if (cursors != null && cursors.isArray()) {
+                cursors.asArray().forEach(id -> openCursors.remove(id.asNumber().longValue()));
+            }
+            return;
+        }
+        if (!QueryShapes.PROFILED_COMMANDS.contains(commandName)) {
+            return;
+        }
+
+        BsonDocument command = event.getCommand();
+        ShapeStats stats = statsFor(commandName, command);
+        // The command buffer is reused once this callback returns, so copy it if it will be explained
+        BsonDocument toExplain = stats.dueForExplain(clock.millis()) ? explainable(command) : null;
+        inFlight.put(event.getRequestId(), new InFlight(stats, 0, toExplain, event.getDatabaseName()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        InFlight call = inFlight.remove(event.getRequestId());
+        if (call == null) {
+            return;
+        }
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        BsonDocument response = event.getResponse();
+        ShapeStats stats = call.stats();
+
+        stats.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        stats.returned.add(returnedCount(response));
+        trackCursor(call, response);
+
+        if (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) >= slowQueryMs) {
+            logger.warn("Slow Mongo query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), stats.shape);
+        }
+        if (call.toExplain() != null) {
+            explainExecutor.execute(() -> explain(stats, call.database(), call.toExplain()));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        InFlight call = inFlight.remove(event.getRequestId());
+        if (call != null) {
+            call.stats().failures.increment();
+        }
+    }
+
+    public List<ShapeReport> report() {
+        return shapes.values().stream()
+                .map(ShapeStats::toReport)
+                .sorted(Comparator.comparingDouble(ShapeReport::totalMs).reversed())
+                .toList();
+    }
+
+    /**
+     * Clears the plan summaries so every shape is explained again on its next execution.
+     */
+    public void reexplainAll() {
+        shapes.values().forEach(stats -> stats.lastExplainAt.set(0));
+    }
+
+    private ShapeStats statsFor(String commandName, BsonDocument command) {
+        String shape = QueryShapes.of(commandName, command);
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= maxShapes) {
+            // Unbounded shapes (e.g. hand-built queries) must not explode metric cardinality
+            return shapes.computeIfAbsent(OVERFLOW_SHAPE, key -> new ShapeStats(key, "other", "other"));
+        }
+        return shapes.computeIfAbsent(shape,
+                key -> new ShapeStats(key, commandName, QueryShapes.collection(commandName, command)));
+    }
+
+    private BsonDocument explainable(BsonDocument command) {
+        String commandName = command.getFirstKey();
+        if (!explainEnabled || !QueryShapes.EXPLAINABLE_COMMANDS.contains(commandName)) {
+            return null;
+        }
+        // clone() detaches from the driver's buffer but stays read-only, so rebuild without session fields
+        BsonDocument copy = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.clone().entrySet()) {
+            if (!SESSION_FIELDS.contains(entry.getKey())) {
+                copy.append(entry.getKey(), entry.getValue());
+            }
+        }
+        return copy;
+    }
+
+    private void explain(ShapeStats stats, String database, BsonDocument command) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            return;
+        }
+        try {
+            BsonDocument explainCommand = new BsonDocument("explain", command)
+                    .append("verbosity", new BsonString("executionStats"));
+            BsonDocument result = client.getDatabase(database).runCommand(explainCommand, BsonDocument.class);
+            QueryPlan plan = QueryPlan.from(result, Instant.now(clock));
+            stats.plan = plan;
+            if (plan.collectionScan()) {
+                logger.warn("Mongo query runs as a collection scan ({} docs examined for {} returned): {}",
+                        plan.docsExamined(), plan.returned(), stats.shape);
+            }
+        } catch (Exception e) {
+            logger.debug("Explain failed for {}: {}", stats.shape, e.getMessage());
+        }
+    }
+
+    // Later batches of a cursor are counted against the shape that opened it
+    private void trackCursor(InFlight call, BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor == null || !cursor.isDocument() || !cursor.asDocument().isNumber("id")) {
+            return;
+        }
+        long cursorId = cursor.asDocument().getNumber("id").longValue();
+        if (cursorId != 0) {
+            trackOpen(cursorId, call.stats());
+        } else if (call.cursorId() != 0) {
+            openCursors.remove(call.cursorId());
+        }
+    }
+
+    // Cursors the server times out, or a client abandons, are never killed or exhausted here, so
+    // the map is bounded: when full, cursors idle past the server's cursor timeout are dropped
+    private void trackOpen(long cursorId, ShapeStats stats) {
+        long now = clock.millis();
+        if (openCursors.size() >= maxOpenCursors && !openCursors.containsKey(cursorId)) {
+            openCursors.values().removeIf(cursor -> now - cursor.lastUsedAt() > cursorIdleMs);
+            if (openCursors.size() >= maxOpenCursors) {
+                return; // its later batches go uncounted
+            }
+        }
+        openCursors.put(cursorId, new OpenCursor(stats, now));
+    }
+
+    private static long returnedCount(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonDocument batch = cursor.asDocument();
+            if (batch.isArray("firstBatch")) {
+                return batch.getArray("firstBatch").size();
+            }
+            if (batch.isArray("nextBatch")) {
+                return batch.getArray("nextBatch").size();
+            }
+        }
+        if (response.isArray("values")) {
+            return response.getArray("values").size();
+        }
+        return response.isNumber("n") ? response.getNumber("n").longValue() : 0;
+    }
+
+    private record OpenCursor(ShapeStats stats, long lastUsedAt) {
+    }
+
+    private record InFlight(ShapeStats stats, long cursorId, BsonDocument toExplain, String database) {
+    }
+
+    private final class ShapeStats {
+        final String shape;
+        final String command;
+        final String collection;
+        final Timer timer;
+        final LongAdder returned = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final AtomicLong lastExplainAt = new AtomicLong();
+        volatile QueryPlan plan;
+
+        ShapeStats(String shape, String command, String collection) {
+            this.shape = shape;
+            this.command = command;
+            this.collection = collection;
+            this.timer = Timer.builder("mongodb.query")
+                    .description("Latency of MongoDB commands by query shape")
+                    .tags("command", command, "collection", collection, "shape", shape)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            Gauge.builder("mongodb.query.plan.collscan", this, stats -> stats.plan != null && stats.plan.collectionScan() ? 1 : 0)
+                    .description("1 when the last explained plan for the shape was a collection scan")
+                    .tags("collection", collection, "shape", shape)
+                    .register(meterRegistry);
+            Gauge.builder("mongodb.query.plan.examined.ratio", this, stats -> stats.plan != null ? stats.plan.examinedPerReturned() : 0)
+                    .description("Documents examined per document returned in the last explained plan")
+                    .tags("collection", collection, "shape", shape)
+                    .register(meterRegistry);
+        }
+
+        boolean dueForExplain(long nowMillis) {
+            long last = lastExplainAt.get();
+            return nowMillis - last >= explainIntervalMs && lastExplainAt.compareAndSet(last, nowMillis);
+        }
+
+        ShapeReport toReport() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            long count = snapshot.count();
+            double p50 = 0;
+            double p99 = 0;
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == 0.5) {
+                    p50 = percentile.value(TimeUnit.MILLISECONDS);
+                } else if (percentile.percentile() == 0.99) {
+                    p99 = percentile.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return new ShapeReport(shape, command, collection, count, failures.sum(),
+                    snapshot.total(TimeUnit.MILLISECONDS),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    p50, p99,
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    returned.sum(),
+                    plan);
+        }
+    }
+
+    public record ShapeReport(String shape,
+                              String command,
+                              String collection,
+                              long count,
+                              long failures,
+                              double totalMs,
+                              double meanMs,
+                              double p50Ms,
+                              double p99Ms,
+                              double maxMs,
+                              long docsReturned,
+                              QueryPlan plan) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.fitness.application.profiling;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of an explain("executionStats") result: the winning plan's stages from leaf to root,
+ * whether it scans the whole collection, and how much work it did per returned document.
+ */
+public record QueryPlan(String stages,
+                 boolean collectionScan,
+                 long docsExamined,
+                 long keysExamined,
+                 long returned,
+                 Instant explainedAt) {
+
+    public double examinedPerReturned() {
+        return docsExamined / (double) Math.max(returned, 1);
+    }
+
+    static QueryPlan from(BsonDocument explain, Instant explainedAt) {
+        BsonDocument queryPlanner = find(explain, "queryPlanner");
+        BsonDocument executionStats = find(explain, "executionStats");
+
+        List<String> stages = new ArrayList<>();
+        if (queryPlanner != null && queryPlanner.isDocument("winningPlan")) {
+            BsonDocument winningPlan = queryPlanner.getDocument("winningPlan");
+            // Slot-based engine plans are wrapped one level deeper
+            if (winningPlan.isDocument("queryPlan")) {
+                winningPlan = winningPlan.getDocument("queryPlan");
+            }
+            collectStages(winningPlan, stages);
+        }
+
+        return new QueryPlan(
+                stages.isEmpty() ? "unknown" : String.join(" > ", stages),
+                stages.stream().anyMatch(stage -> stage.startsWith("COLLSCAN")),
+                longValue(executionStats, "totalDocsExamined"),
+                longValue(executionStats, "totalKeysExamined"),
+                longValue(executionStats, "nReturned"),
+                explainedAt);
+    }
+
+    private static void collectStages(BsonDocument stage, List<String> stages) {
+        if (stage.isDocument("inputStage")) {
+            collectStages(stage.getDocument("inputStage"), stages);
+        }
+        if (stage.isArray("inputStages")) {
+            for (BsonValue input : stage.getArray("inputStages")) {
+                if (input.isDocument()) {
+                    collectStages(input.asDocument(), stages);
+                }
+            }
+        }
+        String name = stage.isString("stage") ? stage.getString("stage").getValue() : "?";
+        if (stage.isString("indexName")) {
+            name += "(" + stage.getString("indexName").getValue() + ")";
+        }
+        stages.add(name);
+    }
+
+    // Aggregations nest the planner output under their first stage, so search the whole result
+    private static BsonDocument find(BsonDocument document, String key) {
+        if (document.isDocument(key)) {
+            return document.getDocument(key);
+        }
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            BsonValue value = entry.getValue();
+            BsonDocument found = null;
+            if (value.isDocument()) {
+                found = find(value.asDocument(), key);
+            } else if (value.isArray()) {
+                for (BsonValue element : value.asArray()) {
+                    if (element.isDocument() && (found = find(element.asDocument(), key)) != null) {
+                        break;
+                    }
+                }
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static long longValue(BsonDocument document, String key) {
+        if (document == null || !document.containsKey(key) || !document.get(key).isNumber()) {
+            return 0;
+        }
+        return document.get(key).asNumber().longValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.fitness.application.profiling;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reduces a Mongo command to its query shape: field names and operators kept, values replaced
+ * by {@code ?}, so every invocation of one derived repository method maps to the same key.
+ */
+final class QueryShapes {
+    static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    static final Set<String> EXPLAINABLE_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+
+    private QueryShapes() {
+    }
+
+    static String of(String commandName, BsonDocument command) {
+        StringBuilder shape = new StringBuilder(commandName).append(' ')
+                .append(collection(commandName, command));
+        switch (commandName) {
+            case "find" -> {
+                appendPart(shape, "filter", command.get("filter"));
+                appendPart(shape, "sort", command.get("sort"));
+            }
+            case "count", "distinct" -> appendPart(shape, "query", command.get("query"));
+            case "findAndModify" -> {
+                appendPart(shape, "query", command.get("query"));
+                appendPart(shape, "sort", command.get("sort"));
+            }
+            case "aggregate" -> appendPart(shape, "pipeline", command.get("pipeline"));
+            case "update" -> appendPart(shape, "q", firstStatement(command, "updates"));
+            case "delete" -> appendPart(shape, "q", firstStatement(command, "deletes"));
+            default -> {
+            }
+        }
+        return shape.toString();
+    }
+
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "";
+    }
+
+    private static BsonValue firstStatement(BsonDocument command, String key) {
+        BsonValue statements = command.get(key);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get("q") : null;
+    }
+
+    private static void appendPart(StringBuilder shape, String name, BsonValue value) {
+        if (value == null || (value.isDocument() && value.asDocument().isEmpty())) {
+            return;
+        }
+        shape.append(' ').append(name).append('=');
+        appendValue(shape, value, name.equals("sort"));
+    }
+
+    // Sort specs keep their direction since it decides which index can serve them
+    private static void appendValue(StringBuilder shape, BsonValue value, boolean keepLiterals) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    shape.append(',');
+                }
+                first = false;
+                shape.append(entry.getKey()).append(':');
+                appendValue(shape, entry.getValue(), keepLiterals || entry.getKey().equals("$sort"));
+            }
+            shape.append('}');
+        } else if (value.isArray() && containsDocuments(value.asArray())) {
+            shape.append('[');
+            for (int i = 0; i < value.asArray().size(); i++) {
+                if (i > 0) {
+                    shape.append(',');
+                }
+                appendValue(shape, value.asArray().get(i), keepLiterals);
+            }
+            shape.append(']');
+        } else if (keepLiterals && value.isNumber()) {
+            shape.append(value.asNumber().intValue());
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static boolean containsDocuments(BsonArray array) {
+        return !array.isEmpty() && array.get(0).isDocument();
+    }
+}
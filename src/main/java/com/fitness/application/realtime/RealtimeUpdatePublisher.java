@@ -0,0 +1,56 @@
+
+package com.fitness.application.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.dto.UserUpdateMessage;
+import com.fitness.application.event.UserUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Relays local service events to Redis so that every node can push them to its own sockets.
+ */
+@Component
+public class RealtimeUpdatePublisher {
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeUpdatePublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChannelTopic userUpdatesTopic;
+    private final ObjectMapper objectMapper;
+
+    public RealtimeUpdatePublisher(StringRedisTemplate redisTemplate,
+                                   ChannelTopic userUpdatesTopic,
+                                   ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.userUpdatesTopic = userUpdatesTopic;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onUserUpdate(UserUpdateEvent event) {
+        UserUpdateMessage message = UserUpdateMessage.builder()
+                .userId(event.getUserId())
+                .type(event.getType())
+                .action(event.getAction())
+                .entityId(event.getEntityId())
+                .payload(event.getPayload())
+                .timestamp(Instant.now().toString())
+                .build();
+
+        // A failed push must never fail the write that triggered it; clients still resync on reconnect
+        try {
+            redisTemplate.convertAndSend(userUpdatesTopic.getTopic(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            logger.error("Cannot serialize update for user {}: {}", event.getUserId(), e.getMessage());
+        } catch (Exception e) {
+            logger.error("Cannot publish update for user {}: {}", event.getUserId(), e.getMessage());
+        }
+    }
+}
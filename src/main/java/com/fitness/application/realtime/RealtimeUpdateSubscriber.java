@@ -0,0 +1,39 @@
+
+package com.fitness.application.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.dto.UserUpdateMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers updates received from Redis to the sockets of the addressed user on this node.
+ */
+@Component
+public class RealtimeUpdateSubscriber implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeUpdateSubscriber.class);
+
+    public static final String USER_UPDATES_DESTINATION = "/queue/updates";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RealtimeUpdateSubscriber(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            UserUpdateMessage update = objectMapper.readValue(message.getBody(), UserUpdateMessage.class);
+            messagingTemplate.convertAndSendToUser(update.getUserId(), USER_UPDATES_DESTINATION, update);
+        } catch (Exception e) {
+            logger.error("Cannot deliver realtime update: {}", e.getMessage());
+        }
+    }
+}
@@ -6,10 +6,15 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GoalRepository extends MongoRepository<Goal, String> {
     List<Goal> findByUserId(String userId);
     List<Goal> findByUserIdAndStatus(String userId, String status);
+    Stream<Goal> streamByUserId(String userId); // cursor-backed, callers must close the stream
+    List<Goal> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq);
+    Optional<Goal> findByIdAndUserId(String id, String userId);
     void deleteByIdAndUserId(String id, String userId);
 }
@@ -0,0 +1,17 @@
+
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationRepository extends MongoRepository<Notification, String> {
+    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+    Optional<Notification> findByIdAndUserId(String id, String userId);
+    void deleteByIdAndUserId(String id, String userId);
+}
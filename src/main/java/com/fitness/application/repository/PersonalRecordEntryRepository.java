@@ -0,0 +1,14 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.PersonalRecordEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PersonalRecordEntryRepository extends MongoRepository<PersonalRecordEntry, String> {
+    List<PersonalRecordEntry> findByUserIdAndExerciseOrderByDateDesc(String userId, String exercise);
+    long countByUserIdAndExercise(String userId, String exercise);
+    void deleteByUserIdAndExercise(String userId, String exercise);
+}
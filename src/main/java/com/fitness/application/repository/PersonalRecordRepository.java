@@ -0,0 +1,12 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.PersonalRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PersonalRecordRepository extends MongoRepository<PersonalRecord, String> {
+    List<PersonalRecord> findByUserIdOrderByExercise(String userId);
+}
@@ -1,16 +1,23 @@
-
 package com.fitness.application.repository;
 
 import com.fitness.application.model.Progress;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Progress entries stored in the progress collection or in the progress_series time-series
+ * collection, depending on app.progress.storage. Only the methods of {@link
+ * ProgressRepositoryCustom} follow that setting; the inherited by-id CRUD methods always read
+ * the progress collection.
+ */
 @Repository
-public interface ProgressRepository extends MongoRepository<Progress, String> {
-    List<Progress> findByUserIdAndCategory(String userId, String category);
-    List<Progress> findByUserIdAndCategoryOrderByDateDesc(String userId, String category);
-    List<Progress> findByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate start, LocalDate end);
+public interface ProgressRepository extends MongoRepository<Progress, String>, ProgressRepositoryCustom {
+    // Redeclared so callers resolve to the storage-aware versions
+    @Override
+    <S extends Progress> S save(S progress);
+
+    @Override
+    <S extends Progress> List<S> saveAll(Iterable<S> progress);
 }
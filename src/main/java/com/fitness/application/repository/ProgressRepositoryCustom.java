@@ -0,0 +1,31 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Progress;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The progress queries, implemented by hand so they can be served from either storage layout,
+ * see {@link ProgressRepositoryImpl}. Date ranges exclude both ends, like derived Between queries.
+ */
+public interface ProgressRepositoryCustom {
+    List<Progress> findByUserId(String userId);
+    List<Progress> findByUserIdAndCategory(String userId, String category);
+    List<Progress> findByUserIdAndCategoryOrderByDateDesc(String userId, String category);
+    List<Progress> findByUserIdAndCategoryOrderByDateAsc(String userId, String category);
+    List<Progress> findByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate start, LocalDate end);
+    // Cursor-backed variants for streamed responses; callers must close the stream
+    Stream<Progress> streamByUserIdAndCategoryOrderByDateDesc(String userId, String category);
+    Stream<Progress> streamByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate start, LocalDate end);
+    List<Progress> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq);
+    Optional<Progress> findByIdAndUserId(String id, String userId);
+    void deleteByIdAndUserId(String id, String userId);
+    long countByUserId(String userId);
+    <S extends Progress> S save(S progress);
+    <S extends Progress> List<S> saveAll(Iterable<S> progress);
+    // One point per day, week or month within [start, end], oldest first
+    List<ProgressSeriesPoint> downsample(String userId, String category, LocalDate start, LocalDate end, String unit);
+}
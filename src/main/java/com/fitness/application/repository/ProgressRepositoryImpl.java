@@ -0,0 +1,227 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.ProgressMeasurement;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serves the progress queries from the progress collection, or from the progress_series
+ * time-series collection ({@link ProgressMeasurement}) when app.progress.storage=timeseries.
+ * Both run the same queries and the same downsampling pipeline, against userId and category or
+ * their meta field counterparts. Updating and deleting single measurements needs MongoDB 7.0.
+ * Existing entries are copied over by {@link com.fitness.application.service.ProgressSeriesMigration};
+ * until then the time-series mode refuses to start over a non-empty progress collection.
+ */
+public class ProgressRepositoryImpl implements ProgressRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+    private final boolean timeSeries;
+    private final boolean migrating;
+
+    public ProgressRepositoryImpl(MongoTemplate mongoTemplate,
+                                  @Value("${app.progress.storage:collection}") String storage,
+                                  @Value("${app.progress.migrate-to-timeseries:false}") boolean migrating) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrating = migrating;
+        this.timeSeries = switch (storage) {
+            case "collection" -> false;
+            case "timeseries" -> true;
+            default -> throw new IllegalArgumentException("Unknown app.progress.storage: " + storage);
+        };
+    }
+
+    @PostConstruct
+    void createSeriesCollection() {
+        if (!timeSeries) {
+            return;
+        }
+        // Created up front, since a first insert would create an ordinary collection instead
+        if (!mongoTemplate.collectionExists(ProgressMeasurement.class)) {
+            mongoTemplate.createCollection(ProgressMeasurement.class);
+        }
+        // Switching storage over existing entries would serve every user an empty history
+        if (!migrating && !mongoTemplate.exists(new Query(), ProgressMeasurement.class)
+                && mongoTemplate.exists(new Query(), Progress.class)) {
+            throw new IllegalStateException("app.progress.storage=timeseries but progress_series is empty while "
+                    + "progress has entries; set app.progress.migrate-to-timeseries=true to copy them over");
+        }
+        mongoTemplate.indexOps(ProgressMeasurement.class).ensureIndex(new Index()
+                .on("meta.userId", Sort.Direction.ASC)
+                .on("meta.category", Sort.Direction.ASC)
+                .on("date", Sort.Direction.ASC));
+        mongoTemplate.indexOps(ProgressMeasurement.class).ensureIndex(new Index()
+                .on("meta.userId", Sort.Direction.ASC)
+                .on("syncSeq", Sort.Direction.ASC));
+    }
+
+    @Override
+    public List<Progress> findByUserId(String userId) {
+        return find(new Query(user(userId)));
+    }
+
+    @Override
+    public List<Progress> findByUserIdAndCategory(String userId, String category) {
+        return find(new Query(series(userId, category)));
+    }
+
+    @Override
+    public List<Progress> findByUserIdAndCategoryOrderByDateDesc(String userId, String category) {
+        return find(new Query(series(userId, category)).with(Sort.by(Sort.Direction.DESC, "date")));
+    }
+
+    @Override
+    public List<Progress> findByUserIdAndCategoryOrderByDateAsc(String userId, String category) {
+        return find(new Query(series(userId, category)).with(Sort.by(Sort.Direction.ASC, "date")));
+    }
+
+    @Override
+    public List<Progress> findByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate start, LocalDate end) {
+        return find(new Query(series(userId, category).and("date").gt(start).lt(end)));
+    }
+
+    @Override
+    public Stream<Progress> streamByUserIdAndCategoryOrderByDateDesc(String userId, String category) {
+        return stream(new Query(series(userId, category)).with(Sort.by(Sort.Direction.DESC, "date")));
+    }
+
+    @Override
+    public Stream<Progress> streamByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate start, LocalDate end) {
+        return stream(new Query(series(userId, category).and("date").gt(start).lt(end)));
+    }
+
+    @Override
+    public List<Progress> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq) {
+        return find(new Query(user(userId).and("syncSeq").gt(syncSeq)));
+    }
+
+    @Override
+    public Optional<Progress> findByIdAndUserId(String id, String userId) {
+        return find(new Query(Criteria.where("_id").is(id).andOperator(user(userId)))).stream().findFirst();
+    }
+
+    @Override
+    public void deleteByIdAndUserId(String id, String userId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id).andOperator(user(userId))), entityType());
+    }
+
+    @Override
+    public long countByUserId(String userId) {
+        return mongoTemplate.count(new Query(user(userId)), entityType());
+    }
+
+    @Override
+    public <S extends Progress> S save(S progress) {
+        if (!timeSeries) {
+            return mongoTemplate.save(progress);
+        }
+        if (progress.getId() == null) {
+            progress.setId(new ObjectId().toHexString());
+            mongoTemplate.insert(ProgressMeasurement.from(progress));
+            return progress;
+        }
+        // Time-series collections take neither replacements nor upserts, so an edit is a $set
+        ProgressMeasurement measurement = ProgressMeasurement.from(progress);
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(progress.getId()).and("meta.userId").is(progress.getUserId())),
+                new Update()
+                        .set("date", measurement.getDate())
+                        .set("meta", measurement.getMeta())
+                        .set("value", measurement.getValue())
+                        .set("additionalData", measurement.getAdditionalData())
+                        .set("syncSeq", measurement.getSyncSeq())
+                        .set("updatedAt", measurement.getUpdatedAt()),
+                ProgressMeasurement.class);
+        return progress;
+    }
+
+    @Override
+    public <S extends Progress> List<S> saveAll(Iterable<S> progress) {
+        List<S> all = new ArrayList<>();
+        progress.forEach(all::add);
+        if (!all.stream().allMatch(entry -> entry.getId() == null)) {
+            all.replaceAll(this::save);
+            return all;
+        }
+        if (!timeSeries) {
+            return new ArrayList<>(mongoTemplate.insertAll(all));
+        }
+        all.forEach(entry -> entry.setId(new ObjectId().toHexString()));
+        mongoTemplate.insertAll(all.stream().map(ProgressMeasurement::from).collect(Collectors.toList()));
+        return all;
+    }
+
+    @Override
+    public List<ProgressSeriesPoint> downsample(String userId, String category, LocalDate start, LocalDate end, String unit) {
+        // Dates are stored as midnight in the JVM zone, so they are truncated in that zone too
+        String zone = ZoneId.systemDefault().getId();
+        Document truncate = new Document("date", "$date").append("unit", unit).append("timezone", zone);
+        if ("week".equals(unit)) {
+            truncate.append("startOfWeek", "monday");
+        }
+        Aggregation pipeline = Aggregation.newAggregation(
+                Aggregation.match(series(userId, category).and("date").gte(start).lte(end)),
+                context -> new Document("$group", new Document("_id", new Document("$dateTrunc", truncate))
+                        .append("average", new Document("$avg", "$value"))
+                        .append("min", new Document("$min", "$value"))
+                        .append("max", new Document("$max", "$value"))
+                        .append("count", new Document("$sum", 1))),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+
+        List<ProgressSeriesPoint> points = new ArrayList<>();
+        for (Document point : mongoTemplate.aggregate(pipeline, entityType(), Document.class)) {
+            points.add(new ProgressSeriesPoint(
+                    point.getDate("_id").toInstant().atZone(ZoneId.of(zone)).toLocalDate(),
+                    number(point, "average"), number(point, "min"), number(point, "max"),
+                    (long) number(point, "count")));
+        }
+        return points;
+    }
+
+    private List<Progress> find(Query query) {
+        if (!timeSeries) {
+            return mongoTemplate.find(query, Progress.class);
+        }
+        return mongoTemplate.find(query, ProgressMeasurement.class).stream()
+                .map(ProgressMeasurement::toProgress)
+                .collect(Collectors.toList());
+    }
+
+    private Stream<Progress> stream(Query query) {
+        return timeSeries
+                ? mongoTemplate.stream(query, ProgressMeasurement.class).map(ProgressMeasurement::toProgress)
+                : mongoTemplate.stream(query, Progress.class);
+    }
+
+    private Class<?> entityType() {
+        return timeSeries ? ProgressMeasurement.class : Progress.class;
+    }
+
+    private Criteria user(String userId) {
+        return Criteria.where(timeSeries ? "meta.userId" : "userId").is(userId);
+    }
+
+    private Criteria series(String userId, String category) {
+        return user(userId).and(timeSeries ? "meta.category" : "category").is(category);
+    }
+
+    private static double number(Document point, String field) {
+        return point.get(field) instanceof Number number ? number.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,6 @@
+package com.fitness.application.repository;
+
+import java.time.LocalDate;
+
+public record ProgressSeriesPoint(LocalDate period, double average, double min, double max, long count) {
+}
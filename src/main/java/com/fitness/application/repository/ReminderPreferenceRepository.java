@@ -0,0 +1,13 @@
+
+package com.fitness.application.repository;
+
+import com.fitness.application.model.ReminderPreference;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReminderPreferenceRepository extends MongoRepository<ReminderPreference, String> {
+    Optional<ReminderPreference> findByUserId(String userId);
+}
@@ -0,0 +1,13 @@
+
+package com.fitness.application.repository;
+
+import com.fitness.application.model.SyncTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends MongoRepository<SyncTombstone, String> {
+    List<SyncTombstone> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq);
+}
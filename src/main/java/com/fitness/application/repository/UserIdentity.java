@@ -0,0 +1,5 @@
+package com.fitness.application.repository;
+
+// A user without credentials, for lookups that only need to know who a token belongs to
+public record UserIdentity(String id, String name, String email) {
+}
@@ -2,6 +2,7 @@
 package com.fitness.application.repository;
 
 import com.fitness.application.model.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,9 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+    
+    // Cached so the per-request JWT user lookup does not hit Mongo (users are never updated in
+    // place). Only the identity is read and cached, so password hashes never reach Redis
+    @Cacheable(value = "user_identities", key = "#p0", unless = "#result == null")
+    Optional<UserIdentity> findIdentityById(String id);
 }
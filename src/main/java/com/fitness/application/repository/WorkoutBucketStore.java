@@ -0,0 +1,300 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Workout;
+import com.fitness.application.model.WorkoutBucket;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Workouts kept in {@link WorkoutBucket}s, one document per user and month, so a year of
+ * history is about twelve document reads. New workouts are pushed into their bucket with an
+ * upsert; edits and deletes rewrite the bucket, guarded by its version.
+ */
+@Component
+public class WorkoutBucketStore {
+    private static final int MAX_REWRITE_ATTEMPTS = 5;
+    private static final Comparator<Workout> NEWEST_FIRST =
+            Comparator.comparing(Workout::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final MongoTemplate mongoTemplate;
+
+    WorkoutBucketStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    List<Workout> find(String userId) {
+        return mongoTemplate.find(byUser(userId), WorkoutBucket.class).stream()
+                .flatMap(bucket -> bucket.getWorkouts().stream())
+                .collect(Collectors.toList());
+    }
+
+    List<Workout> findNewestFirst(String userId) {
+        try (Stream<Workout> workouts = streamNewestFirst(userId)) {
+            return workouts.collect(Collectors.toList());
+        }
+    }
+
+    List<Workout> findBetween(String userId, LocalDate start, LocalDate end) {
+        try (Stream<Workout> workouts = streamBetween(userId, start, end)) {
+            return workouts.collect(Collectors.toList());
+        }
+    }
+
+    Stream<Workout> streamNewestFirst(String userId) {
+        return newestFirst(byUser(userId), workout -> true);
+    }
+
+    Stream<Workout> streamBetween(String userId, LocalDate start, LocalDate end) {
+        Query months = new Query(Criteria.where("userId").is(userId)
+                .and("month").gte(monthOf(start)).lte(monthOf(end)));
+        return newestFirst(months, workout -> workout.getDate() != null
+                && workout.getDate().isAfter(start) && workout.getDate().isBefore(end));
+    }
+
+    List<Workout> findChangedSince(String userId, long syncSeq) {
+        Query changed = new Query(Criteria.where("userId").is(userId).and("maxSyncSeq").gt(syncSeq));
+        return mongoTemplate.find(changed, WorkoutBucket.class).stream()
+                .flatMap(bucket -> bucket.getWorkouts().stream())
+                .filter(workout -> workout.getSyncSeq() > syncSeq)
+                .collect(Collectors.toList());
+    }
+
+    Optional<Workout> findById(String id, String userId) {
+        WorkoutBucket bucket = mongoTemplate.findOne(containing(id, userId), WorkoutBucket.class);
+        return bucket != null
+                ? bucket.getWorkouts().stream().filter(workout -> id.equals(workout.getId())).findFirst()
+                : Optional.empty();
+    }
+
+    void delete(String id, String userId) {
+        WorkoutBucket bucket = mongoTemplate.findOne(containing(id, userId), WorkoutBucket.class);
+        if (bucket != null) {
+            rewrite(bucket.getId(), userId, workouts -> without(workouts, id));
+        }
+    }
+
+    /**
+     * Saves workouts as {@code MongoRepository.save} would, assigning ids to new ones. A workout
+     * whose date moved to another month is added to its new bucket before it leaves the old
+     * one, so it never disappears in between.
+     */
+    void save(List<? extends Workout> workouts) {
+        Map<String, List<Workout>> added = new LinkedHashMap<>();
+        for (Workout workout : workouts) {
+            if (workout.getDate() == null) {
+                throw new IllegalArgumentException("A bucketed workout needs a date");
+            }
+            WorkoutBucket current = workout.getId() != null
+                    ? mongoTemplate.findOne(containing(workout.getId(), workout.getUserId()), WorkoutBucket.class)
+                    : null;
+            if (workout.getId() == null) {
+                workout.setId(new ObjectId().toHexString());
+            }
+            String bucketId = WorkoutBucket.id(workout.getUserId(), workout.getDate());
+            if (current == null) {
+                added.computeIfAbsent(bucketId, key -> new ArrayList<>()).add(workout);
+            } else if (current.getId().equals(bucketId)) {
+                rewrite(bucketId, workout.getUserId(), list -> replaced(list, workout));
+            } else {
+                push(bucketId, workout.getUserId(), workout.getDate(), List.of(workout));
+                rewrite(current.getId(), workout.getUserId(), list -> without(list, workout.getId()));
+            }
+        }
+        added.forEach((bucketId, bucketWorkouts) -> {
+            Workout first = bucketWorkouts.get(0);
+            push(bucketId, first.getUserId(), first.getDate(), bucketWorkouts);
+        });
+    }
+
+    /**
+     * Merges one user's workouts for one month into their bucket, creating it if needed. Of two
+     * copies of a workout the one with the higher syncSeq wins, so rerunning a migration never
+     * undoes a write made to the bucket since.
+     */
+    public void merge(String userId, LocalDate month, List<Workout> workouts) {
+        String bucketId = WorkoutBucket.id(userId, month);
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(bucketId).and("userId").is(userId)), new Update()
+                .setOnInsert("month", monthOf(month))
+                .setOnInsert("workouts", List.of())
+                .setOnInsert("version", 0L), WorkoutBucket.class);
+        rewrite(bucketId, userId, existing -> {
+            Map<String, Workout> byId = new LinkedHashMap<>();
+            existing.forEach(workout -> byId.put(workout.getId(), workout));
+            for (Workout workout : workouts) {
+                byId.merge(workout.getId(), workout,
+                        (current, incoming) -> incoming.getSyncSeq() >= current.getSyncSeq() ? incoming : current);
+            }
+            return new ArrayList<>(byId.values());
+        });
+    }
+
+    WorkoutTotals completedTotals(String userId) {
+        Query query = byUser(userId);
+        query.fields().exclude("workouts");
+        long workouts = 0;
+        long minutes = 0;
+        long calories = 0;
+        for (WorkoutBucket bucket : mongoTemplate.find(query, WorkoutBucket.class)) {
+            workouts += bucket.getCompleted();
+            minutes += bucket.getMinutes();
+            calories += bucket.getCalories();
+        }
+        return new WorkoutTotals(userId, workouts, minutes, calories);
+    }
+
+    WorkoutTotals completedTotals(String userId, LocalDate start, LocalDate end) {
+        Query months = new Query(Criteria.where("userId").is(userId)
+                .and("month").gte(monthOf(start)).lte(monthOf(end.minusDays(1))));
+        long[] totals = new long[3];
+        for (WorkoutBucket bucket : mongoTemplate.find(months, WorkoutBucket.class)) {
+            for (Workout workout : bucket.getWorkouts()) {
+                addCompleted(totals, workout, start, end);
+            }
+        }
+        return new WorkoutTotals(userId, totals[0], totals[1], totals[2]);
+    }
+
+    List<WorkoutTotals> completedTotalsByUser(LocalDate start, LocalDate end) {
+        // Spans every user, so this reads the covering months from all shards
+        Query months = new Query(Criteria.where("month").gte(monthOf(start)).lte(monthOf(end.minusDays(1))));
+        Map<String, long[]> byUser = new LinkedHashMap<>();
+        try (Stream<WorkoutBucket> stream = mongoTemplate.stream(months, WorkoutBucket.class)) {
+            stream.forEach(bucket -> {
+                for (Workout workout : bucket.getWorkouts()) {
+                    addCompleted(byUser.computeIfAbsent(bucket.getUserId(), key -> new long[3]), workout, start, end);
+                }
+            });
+        }
+        List<WorkoutTotals> totals = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, sums) -> {
+            if (sums[0] > 0) {
+                totals.add(new WorkoutTotals(userId, sums[0], sums[1], sums[2]));
+            }
+        });
+        return totals;
+    }
+
+    // Counts, minutes and calories of a workout completed within [start, end)
+    private static void addCompleted(long[] totals, Workout workout, LocalDate start, LocalDate end) {
+        LocalDate date = workout.getDate();
+        if (workout.isCompleted() && date != null && !date.isBefore(start) && date.isBefore(end)) {
+            totals[0]++;
+            totals[1] += workout.getDuration();
+            totals[2] += workout.getCalories();
+        }
+    }
+
+    private Stream<Workout> newestFirst(Query buckets, Predicate<Workout> filter) {
+        // Months arrive newest first, so sorting within each bucket orders the whole stream
+        return mongoTemplate.stream(buckets.with(Sort.by(Sort.Direction.DESC, "month")), WorkoutBucket.class)
+                .flatMap(bucket -> bucket.getWorkouts().stream().filter(filter).sorted(NEWEST_FIRST));
+    }
+
+    private void push(String bucketId, String userId, LocalDate date, List<Workout> workouts) {
+        Update update = totals(new Update(), workouts, true)
+                .setOnInsert("month", monthOf(date))
+                .inc("version", 1);
+        update.push("workouts").each(workouts.toArray());
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(bucketId).and("userId").is(userId)), update, WorkoutBucket.class);
+    }
+
+    /**
+     * Rewrites a bucket's workouts and totals if nobody wrote it since it was read, retrying
+     * otherwise. A bucket left empty is removed.
+     */
+    private void rewrite(String bucketId, String userId, UnaryOperator<List<Workout>> change) {
+        for (int attempt = 0; attempt < MAX_REWRITE_ATTEMPTS; attempt++) {
+            Query bucketQuery = new Query(Criteria.where("_id").is(bucketId).and("userId").is(userId));
+            WorkoutBucket bucket = mongoTemplate.findOne(bucketQuery, WorkoutBucket.class);
+            if (bucket == null) {
+                return;
+            }
+            List<Workout> workouts = change.apply(new ArrayList<>(bucket.getWorkouts()));
+            Query unchanged = new Query(Criteria.where("_id").is(bucketId).and("userId").is(userId)
+                    .and("version").is(bucket.getVersion()));
+            if (workouts.isEmpty()) {
+                if (mongoTemplate.remove(unchanged, WorkoutBucket.class).getDeletedCount() > 0) {
+                    return;
+                }
+                continue;
+            }
+            Update update = totals(new Update(), workouts, false)
+                    .set("workouts", workouts)
+                    .inc("version", 1);
+            if (mongoTemplate.updateFirst(unchanged, update, WorkoutBucket.class).getModifiedCount() > 0) {
+                return;
+            }
+        }
+        throw new OptimisticLockingFailureException("Workout bucket " + bucketId + " kept changing while being rewritten");
+    }
+
+    // Sets the bucket totals to those of the given workouts, or adds them when incremental
+    private static Update totals(Update update, List<Workout> workouts, boolean incremental) {
+        int completed = 0;
+        long minutes = 0;
+        long calories = 0;
+        long maxSyncSeq = 0;
+        for (Workout workout : workouts) {
+            if (workout.isCompleted()) {
+                completed++;
+                minutes += workout.getDuration();
+                calories += workout.getCalories();
+            }
+            maxSyncSeq = Math.max(maxSyncSeq, workout.getSyncSeq());
+        }
+        if (incremental) {
+            return update.inc("count", workouts.size())
+                    .inc("completed", completed)
+                    .inc("minutes", minutes)
+                    .inc("calories", calories)
+                    .max("maxSyncSeq", maxSyncSeq);
+        }
+        return update.set("count", workouts.size())
+                .set("completed", completed)
+                .set("minutes", minutes)
+                .set("calories", calories)
+                .set("maxSyncSeq", maxSyncSeq);
+    }
+
+    private static List<Workout> without(List<Workout> workouts, String id) {
+        workouts.removeIf(workout -> id.equals(workout.getId()));
+        return workouts;
+    }
+
+    private static List<Workout> replaced(List<Workout> workouts, Workout replacement) {
+        workouts.replaceAll(workout -> Objects.equals(workout.getId(), replacement.getId()) ? replacement : workout);
+        return workouts;
+    }
+
+    private static Query byUser(String userId) {
+        return new Query(Criteria.where("userId").is(userId));
+    }
+
+    private static Query containing(String id, String userId) {
+        return new Query(Criteria.where("userId").is(userId).and("workouts._id").is(id));
+    }
+
+    private static LocalDate monthOf(LocalDate date) {
+        return YearMonth.from(date).atDay(1);
+    }
+}
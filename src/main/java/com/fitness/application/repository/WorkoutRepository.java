@@ -1,17 +1,22 @@
-
 package com.fitness.application.repository;
 
 import com.fitness.application.model.Workout;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Workouts stored either one per document or bucketed per user and month, depending on
+ * app.workouts.storage. Only the methods of {@link WorkoutRepositoryCustom} follow that
+ * setting; the inherited by-id CRUD methods always read the workouts collection.
+ */
 @Repository
-public interface WorkoutRepository extends MongoRepository<Workout, String> {
-    List<Workout> findByUserId(String userId);
-    List<Workout> findByUserIdOrderByDateDesc(String userId);
-    List<Workout> findByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end);
-    void deleteByIdAndUserId(String id, String userId);
+public interface WorkoutRepository extends MongoRepository<Workout, String>, WorkoutRepositoryCustom {
+    // Redeclared so callers resolve to the storage-aware versions
+    @Override
+    <S extends Workout> S save(S workout);
+
+    @Override
+    <S extends Workout> List<S> saveAll(Iterable<S> workouts);
 }
@@ -0,0 +1,30 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Workout;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The workout queries, implemented by hand so they can be served from either storage layout,
+ * see {@link WorkoutRepositoryImpl}. Date ranges exclude both ends, like derived Between queries.
+ */
+public interface WorkoutRepositoryCustom {
+    List<Workout> findByUserId(String userId);
+    List<Workout> findByUserIdOrderByDateDesc(String userId);
+    List<Workout> findByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end);
+    // Cursor-backed variants for streamed responses; callers must close the stream
+    Stream<Workout> streamByUserIdOrderByDateDesc(String userId);
+    Stream<Workout> streamByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end);
+    List<Workout> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq);
+    Optional<Workout> findByIdAndUserId(String id, String userId);
+    void deleteByIdAndUserId(String id, String userId);
+    <S extends Workout> S save(S workout);
+    <S extends Workout> List<S> saveAll(Iterable<S> workouts);
+    // Totals of completed workouts, for one user, and for one or every user within [start, end)
+    WorkoutTotals completedTotals(String userId);
+    WorkoutTotals completedTotals(String userId, LocalDate start, LocalDate end);
+    List<WorkoutTotals> completedTotalsByUser(LocalDate start, LocalDate end);
+}
@@ -0,0 +1,188 @@
+package com.fitness.application.repository;
+
+import com.fitness.application.model.Workout;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves the workout queries from one document per workout, or from {@link WorkoutBucketStore}
+ * when app.workouts.storage=buckets.
+ */
+public class WorkoutRepositoryImpl implements WorkoutRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+    private final WorkoutBucketStore buckets;
+    private final boolean bucketed;
+
+    public WorkoutRepositoryImpl(MongoTemplate mongoTemplate,
+                                 WorkoutBucketStore buckets,
+                                 @Value("${app.workouts.storage:documents}") String storage) {
+        this.mongoTemplate = mongoTemplate;
+        this.buckets = buckets;
+        this.bucketed = switch (storage) {
+            case "documents" -> false;
+            case "buckets" -> true;
+            default -> throw new IllegalArgumentException("Unknown app.workouts.storage: " + storage);
+        };
+    }
+
+    @Override
+    public List<Workout> findByUserId(String userId) {
+        return bucketed ? buckets.find(userId) : mongoTemplate.find(byUser(userId), Workout.class);
+    }
+
+    @Override
+    public List<Workout> findByUserIdOrderByDateDesc(String userId) {
+        return bucketed ? buckets.findNewestFirst(userId) : mongoTemplate.find(newestFirst(byUser(userId)), Workout.class);
+    }
+
+    @Override
+    public List<Workout> findByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end) {
+        return bucketed
+                ? buckets.findBetween(userId, start, end)
+                : mongoTemplate.find(between(userId, start, end), Workout.class);
+    }
+
+    @Override
+    public Stream<Workout> streamByUserIdOrderByDateDesc(String userId) {
+        return bucketed ? buckets.streamNewestFirst(userId) : mongoTemplate.stream(newestFirst(byUser(userId)), Workout.class);
+    }
+
+    @Override
+    public Stream<Workout> streamByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end) {
+        return bucketed
+                ? buckets.streamBetween(userId, start, end)
+                : mongoTemplate.stream(between(userId, start, end), Workout.class);
+    }
+
+    @Override
+    public List<Workout> findByUserIdAndSyncSeqGreaterThan(String userId, long syncSeq) {
+        return bucketed
+                ? buckets.findChangedSince(userId, syncSeq)
+                : mongoTemplate.find(new Query(Criteria.where("userId").is(userId).and("syncSeq").gt(syncSeq)), Workout.class);
+    }
+
+    @Override
+    public Optional<Workout> findByIdAndUserId(String id, String userId) {
+        return bucketed
+                ? buckets.findById(id, userId)
+                : Optional.ofNullable(mongoTemplate.findOne(byIdAndUser(id, userId), Workout.class));
+    }
+
+    @Override
+    public void deleteByIdAndUserId(String id, String userId) {
+        if (bucketed) {
+            buckets.delete(id, userId);
+        } else {
+            mongoTemplate.remove(byIdAndUser(id, userId), Workout.class);
+        }
+    }
+
+    @Override
+    public <S extends Workout> S save(S workout) {
+        if (bucketed) {
+            buckets.save(List.of(workout));
+            return workout;
+        }
+        return mongoTemplate.save(workout);
+    }
+
+    @Override
+    public <S extends Workout> List<S> saveAll(Iterable<S> workouts) {
+        List<S> all = new ArrayList<>();
+        workouts.forEach(all::add);
+        if (bucketed) {
+            buckets.save(all);
+            return all;
+        }
+        if (all.stream().allMatch(workout -> workout.getId() == null)) {
+            return new ArrayList<>(mongoTemplate.insertAll(all));
+        }
+        all.replaceAll(mongoTemplate::save);
+        return all;
+    }
+
+    @Override
+    public WorkoutTotals completedTotals(String userId) {
+        if (bucketed) {
+            return buckets.completedTotals(userId);
+        }
+        Aggregation totals = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("completed").is(true)),
+                Aggregation.group("userId")
+                        .count().as("workouts")
+                        .sum("duration").as("minutes")
+                        .sum("calories").as("calories"));
+        Document result = mongoTemplate.aggregate(totals, Workout.class, Document.class).getUniqueMappedResult();
+        return result != null ? toTotals(result) : new WorkoutTotals(userId, 0, 0, 0);
+    }
+
+    @Override
+    public WorkoutTotals completedTotals(String userId, LocalDate start, LocalDate end) {
+        if (bucketed) {
+            return buckets.completedTotals(userId, start, end);
+        }
+        Aggregation totals = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("completed").is(true)
+                        .and("date").gte(start).lt(end)),
+                Aggregation.group("userId")
+                        .count().as("workouts")
+                        .sum("duration").as("minutes")
+                        .sum("calories").as("calories"));
+        Document result = mongoTemplate.aggregate(totals, Workout.class, Document.class).getUniqueMappedResult();
+        return result != null ? toTotals(result) : new WorkoutTotals(userId, 0, 0, 0);
+    }
+
+    @Override
+    public List<WorkoutTotals> completedTotalsByUser(LocalDate start, LocalDate end) {
+        if (bucketed) {
+            return buckets.completedTotalsByUser(start, end);
+        }
+        Aggregation totals = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("completed").is(true).and("date").gte(start).lt(end)),
+                Aggregation.group("userId")
+                        .count().as("workouts")
+                        .sum("duration").as("minutes")
+                        .sum("calories").as("calories"));
+        List<WorkoutTotals> byUser = new ArrayList<>();
+        for (Document result : mongoTemplate.aggregate(totals, Workout.class, Document.class)) {
+            byUser.add(toTotals(result));
+        }
+        return byUser;
+    }
+
+    private static Query byUser(String userId) {
+        return new Query(Criteria.where("userId").is(userId));
+    }
+
+    private static Query byIdAndUser(String id, String userId) {
+        return new Query(Criteria.where("_id").is(id).and("userId").is(userId));
+    }
+
+    private static Query between(String userId, LocalDate start, LocalDate end) {
+        return new Query(Criteria.where("userId").is(userId).and("date").gt(start).lt(end));
+    }
+
+    private static Query newestFirst(Query query) {
+        return query.with(Sort.by(Sort.Direction.DESC, "date"));
+    }
+
+    private static WorkoutTotals toTotals(Document totals) {
+        return new WorkoutTotals(totals.getString("_id"),
+                total(totals, "workouts"), total(totals, "minutes"), total(totals, "calories"));
+    }
+
+    private static long total(Document totals, String field) {
+        return totals.get(field) instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,4 @@
+package com.fitness.application.repository;
+
+public record WorkoutTotals(String userId, long workouts, long minutes, long calories) {
+}
@@ -0,0 +1,12 @@
+package com.fitness.application.routing;
+
+/**
+ * Kinds of read, each sent to Mongo with its own configured read preference. Reads outside a
+ * {@link RoutedRead} method, such as those inside a write or a sync, always go to the primary.
+ */
+public enum ReadRoute {
+    /** A user's own entries: lists, ranges and single entries. */
+    HISTORY,
+    /** Aggregations over a user's entries. */
+    ANALYTICS
+}
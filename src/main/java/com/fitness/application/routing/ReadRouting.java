@@ -0,0 +1,291 @@
+package com.fitness.application.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ServerDescription;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides where the reads of a {@link RoutedRead} method go. A route's reads use its configured
+ * read preference, unless the user wrote within the causal window: their reads then run in a
+ * causally consistent session that starts at their last write, so a secondary waits until it
+ * has that write before answering. Streamed reads outlive any session, so those go to the
+ * primary instead. Last writes are kept in Redis, so this holds whichever node served the write;
+ * {@link ReadRoutingFilter} stores them once per request rather than once per write command.
+ */
+@Component
+public class ReadRouting {
+    private static final Logger logger = LoggerFactory.getLogger(ReadRouting.class);
+    private static final String KEY_PREFIX = "read-routing:last-write:";
+    private static final JsonWriterSettings EXTENDED_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+    private static final ThreadLocal<Routed> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<PendingWrite> PENDING = new ThreadLocal<>();
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<ReadRoute, ReadPreference> preferences = new EnumMap<>(ReadRoute.class);
+    private final boolean enabled;
+    private final Duration causalWindow;
+
+    public ReadRouting(ObjectProvider<MongoClient> mongoClient,
+                       StringRedisTemplate redisTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.mongo.read-routing.enabled:true}") boolean enabled,
+                       @Value("${app.mongo.read-routing.history:secondaryPreferred}") String history,
+                       @Value("${app.mongo.read-routing.analytics:secondaryPreferred}") String analytics,
+                       @Value("${app.mongo.read-routing.max-staleness-seconds:0}") long maxStalenessSeconds,
+                       @Value("${app.mongo.read-routing.causal-window-ms:60000}") long causalWindowMs) {
+        this.mongoClient = mongoClient;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.causalWindow = Duration.ofMillis(causalWindowMs);
+        preferences.put(ReadRoute.HISTORY, preference(history, maxStalenessSeconds));
+        preferences.put(ReadRoute.ANALYTICS, preference(analytics, maxStalenessSeconds));
+    }
+
+    /**
+     * Routes the reads made on this thread until the returned scope is closed. Nothing is looked
+     * up until the first read, so a cached method that never reaches Mongo costs nothing.
+     */
+    public Scope open(ReadRoute route, String userId, boolean streamed) {
+        Routed previous = CURRENT.get();
+        Routed routed = new Routed(route, userId, streamed);
+        CURRENT.set(routed);
+        return new Scope(routed, previous);
+    }
+
+    /**
+     * Carries the caller's route onto the thread that runs the task, for cache loads that finish
+     * in the background. The task resolves it afresh, as the caller's session closes with its scope.
+     */
+    public static Runnable propagate(Runnable task) {
+        Routed routed = CURRENT.get();
+        if (routed == null) {
+            return task;
+        }
+        return () -> {
+            Routed previous = CURRENT.get();
+            CURRENT.set(new Routed(routed.route, routed.userId, routed.streamed));
+            try (Scope scope = new Scope(CURRENT.get(), previous)) {
+                task.run();
+            }
+        };
+    }
+
+    /** The read preference for the current thread, or null outside a routed read. */
+    ReadPreference preference() {
+        Routed routed = current();
+        return routed != null ? routed.preference : null;
+    }
+
+    /** The causally consistent session for the current thread, if its user wrote recently. */
+    ClientSession session() {
+        Routed routed = current();
+        return routed != null ? routed.session : null;
+    }
+
+    /**
+     * Remembers the operation and cluster time of a user's write, taken from its reply. Within a
+     * request opened with {@link #deferWrites()} only the last one is kept, for
+     * {@link #flushWrites()} to store once.
+     */
+    void recordWrite(String userId, BsonDocument reply) {
+        if (!enabled || !reply.isTimestamp("operationTime") || !reply.isDocument("$clusterTime")) {
+            return; // a standalone server has no cluster time to wait for
+        }
+        BsonDocument times = new BsonDocument("operationTime", reply.get("operationTime"))
+                .append("$clusterTime", reply.get("$clusterTime"));
+        PendingWrite pending = PENDING.get();
+        if (pending != null) {
+            pending.userId = userId;
+            pending.times = times;
+            return;
+        }
+        store(userId, times);
+    }
+
+    /** Holds back the last-write records of this thread's request until {@link #flushWrites()}. */
+    public void deferWrites() {
+        PENDING.set(new PendingWrite());
+    }
+
+    /**
+     * Stores the last write held back so far, if any. Called before the response commits, so a
+     * client's next request finds it, and again as the request ends for writes made after that.
+     */
+    public void flushWrites() {
+        PendingWrite pending = PENDING.get();
+        if (pending != null && pending.times != null) {
+            store(pending.userId, pending.times);
+            pending.times = null;
+        }
+    }
+
+    /** Flushes and stops holding back this thread's writes. */
+    public void endDeferral() {
+        try {
+            flushWrites();
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    private void store(String userId, BsonDocument times) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, times.toJson(EXTENDED_JSON), causalWindow);
+        } catch (Exception e) {
+            logger.warn("Could not record the last write of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /** Counts a read by the route that made it and the kind of server that answered it. */
+    void recordRead(ServerAddress address) {
+        Routed routed = CURRENT.get();
+        meterRegistry.counter("fitness.mongo.reads",
+                "route", routed != null ? routed.route.name().toLowerCase() : "none",
+                "server", serverType(address),
+                "causal", String.valueOf(routed != null && routed.session != null)).increment();
+    }
+
+    private Routed current() {
+        Routed routed = CURRENT.get();
+        if (routed != null && !routed.resolved) {
+            resolve(routed);
+        }
+        return routed;
+    }
+
+    private void resolve(Routed routed) {
+        routed.resolved = true;
+        ReadPreference preference = preferences.get(routed.route);
+        if (!enabled || preference.equals(ReadPreference.primary())) {
+            routed.preference = ReadPreference.primary();
+            return;
+        }
+        BsonDocument lastWrite;
+        try {
+            lastWrite = lastWrite(routed.userId);
+        } catch (Exception e) {
+            // Without the last write its visibility cannot be guaranteed elsewhere
+            logger.debug("Last write lookup failed, reading from the primary: {}", e.getMessage());
+            routed.preference = ReadPreference.primary();
+            return;
+        }
+        if (lastWrite == null) {
+            routed.preference = preference;
+        } else if (routed.streamed) {
+            routed.preference = ReadPreference.primary();
+        } else {
+            ClientSession session = mongoClient.getObject().startSession(
+                    ClientSessionOptions.builder().causallyConsistent(true).build());
+            session.advanceClusterTime(lastWrite.getDocument("$clusterTime"));
+            session.advanceOperationTime(lastWrite.getTimestamp("operationTime"));
+            routed.session = session;
+            routed.preference = preference;
+        }
+    }
+
+    private BsonDocument lastWrite(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        // A write earlier in this request may not be stored yet
+        PendingWrite pending = PENDING.get();
+        if (pending != null && pending.times != null && userId.equals(pending.userId)) {
+            return pending.times;
+        }
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        return json != null ? BsonDocument.parse(json) : null;
+    }
+
+    private String serverType(ServerAddress address) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            return "unknown";
+        }
+        for (ServerDescription server : client.getClusterDescription().getServerDescriptions()) {
+            if (server.getAddress().equals(address)) {
+                if (server.isPrimary()) {
+                    return "primary";
+                }
+                if (server.isSecondary()) {
+                    return "secondary";
+                }
+                if (server.isShardRouter()) {
+                    return "mongos";
+                }
+                return server.isStandAlone() ? "standalone" : "other";
+            }
+        }
+        return "unknown";
+    }
+
+    private static ReadPreference preference(String name, long maxStalenessSeconds) {
+        ReadPreference preference = ReadPreference.valueOf(name);
+        return maxStalenessSeconds > 0 && !preference.equals(ReadPreference.primary())
+                ? ReadPreference.valueOf(name, List.of(), maxStalenessSeconds, TimeUnit.SECONDS)
+                : preference;
+    }
+
+    private static final class Routed {
+        private final ReadRoute route;
+        private final String userId;
+        private final boolean streamed;
+        private boolean resolved;
+        private ReadPreference preference;
+        private ClientSession session;
+
+        private Routed(ReadRoute route, String userId, boolean streamed) {
+            this.route = route;
+            this.userId = userId;
+            this.streamed = streamed;
+        }
+    }
+
+    private static final class PendingWrite {
+        private String userId;
+        private BsonDocument times;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Routed routed;
+        private final Routed previous;
+
+        private Scope(Routed routed, Routed previous) {
+            this.routed = routed;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+            if (routed.session != null) {
+                routed.session.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fitness.application.routing;
+
+import com.fitness.application.security.UserDetailsImpl;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Ordered outside the cache advisor: a {@code @Cacheable(sync = true)} refresh resumes the advice
+ * chain on another thread, where advice that binds arguments cannot be matched. The refresh keeps
+ * its route through {@link ReadRouting#propagate}.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class ReadRoutingAspect {
+    private final ReadRouting readRouting;
+
+    public ReadRoutingAspect(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Around("@annotation(routedRead)")
+    public Object route(ProceedingJoinPoint joinPoint, RoutedRead routedRead) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        boolean streamed = Stream.class.isAssignableFrom(signature.getReturnType());
+        try (ReadRouting.Scope scope = readRouting.open(routedRead.value(), userId(signature, joinPoint.getArgs()), streamed)) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private static String userId(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof UserDetailsImpl user) {
+                return user.getId();
+            }
+            if (names != null && "userId".equals(names[i]) && args[i] instanceof String userId) {
+                return userId;
+            }
+        }
+        return null;
+    }
+}
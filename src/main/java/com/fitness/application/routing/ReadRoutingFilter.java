@@ -0,0 +1,91 @@
+package com.fitness.application.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Stores a request's last write for {@link ReadRouting} once, instead of a Redis round trip per
+ * write command. The store happens just before the response commits, so the client cannot send
+ * its next request before its write is visible to the routing of that request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ReadRoutingFilter extends OncePerRequestFilter {
+    private final ReadRouting readRouting;
+
+    public ReadRoutingFilter(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket upgrades are long-lived and must see the container's own response
+        return request.getRequestURI().startsWith("/ws");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        readRouting.deferWrites();
+        try {
+            filterChain.doFilter(request, new FlushingResponse(response));
+        } finally {
+            readRouting.endDeferral();
+        }
+    }
+
+    private final class FlushingResponse extends HttpServletResponseWrapper {
+
+        FlushingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            readRouting.flushWrites();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            readRouting.flushWrites();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            readRouting.flushWrites();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            readRouting.flushWrites();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            readRouting.flushWrites();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            readRouting.flushWrites();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fitness.application.routing;
+
+import com.fitness.application.security.UserDetailsImpl;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Feeds {@link ReadRouting} from the driver: the cluster time of each write made on a signed-in
+ * user's request, held back until the request's response by {@link ReadRoutingFilter}, and the
+ * server each read landed on.
+ */
+@Component
+public class ReadRoutingListener implements CommandListener {
+    private static final Set<String> READS = Set.of("find", "aggregate", "count", "distinct");
+    private static final Set<String> WRITES = Set.of("insert", "update", "delete", "findAndModify");
+
+    private final ReadRouting readRouting;
+
+    public ReadRoutingListener(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String commandName = event.getCommandName();
+        if (READS.contains(commandName)) {
+            readRouting.recordRead(event.getConnectionDescription().getServerAddress());
+        } else if (WRITES.contains(commandName)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+                readRouting.recordWrite(user.getId(), event.getResponse());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.fitness.application.routing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the Mongo reads made by a service method with the read preference of its route. The
+ * user is taken from a {@code UserDetailsImpl} argument or a {@code userId} parameter.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RoutedRead {
+    ReadRoute value();
+}
@@ -0,0 +1,40 @@
+package com.fitness.application.routing;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * A {@link MongoTemplate} that applies the read preference and causal session chosen by
+ * {@link ReadRouting} for the current thread. Repositories use it too, so their reads are
+ * routed along with the template's.
+ */
+public class RoutingMongoTemplate extends MongoTemplate {
+    private final ReadRouting readRouting;
+
+    public RoutingMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter, ReadRouting readRouting) {
+        super(factory, converter);
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    protected MongoDatabase doGetDatabase() {
+        // Also called from the super constructor, which creates indexes before readRouting is set
+        ClientSession session = readRouting != null ? readRouting.session() : null;
+        return session != null
+                ? getMongoDatabaseFactory().withSession(session).getMongoDatabase()
+                : super.doGetDatabase();
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        ReadPreference preference = readRouting != null ? readRouting.preference() : null;
+        return preference != null ? prepared.withReadPreference(preference) : prepared;
+    }
+}
@@ -1,6 +1,9 @@
 
 package com.fitness.application.security;
 
+import com.fitness.application.timing.RequestTimings;
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,7 +15,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -28,7 +30,7 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserDetailsServiceImpl userDetailsService;
 
     @Value("${app.jwt.header}")
     private String headerName;
@@ -42,11 +44,18 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String userId = jwtUtils.getUserIdFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            String userId = null;
+            try (Stopwatch ignored = RequestTimings.start(Phase.JWT)) {
+                String jwt = parseJwt(request);
+                if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+                    userId = jwtUtils.getUserIdFromJwtToken(jwt);
+                }
+            }
+            if (userId != null) {
+                UserDetails userDetails;
+                try (Stopwatch ignored = RequestTimings.start(Phase.USER)) {
+                    userDetails = userDetailsService.loadUserById(userId);
+                }
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
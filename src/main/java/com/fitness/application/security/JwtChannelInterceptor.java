@@ -0,0 +1,85 @@
+
+package com.fitness.application.security;
+
+import com.fitness.application.realtime.RealtimeUpdateSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP sessions with the same JWT used by the REST API, and limits what an
+ * authenticated session may do: subscribe to its own update queue and nothing else. Clients never
+ * send, since updates only flow from the server; a SEND could otherwise reach the broker or another
+ * user's queue directly.
+ */
+@Component
+public class JwtChannelInterceptor implements ChannelInterceptor {
+    private static final String OWN_UPDATES = "/user" + RealtimeUpdateSubscriber.USER_UPDATES_DESTINATION;
+
+    private final JwtUtils jwtUtils;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Value("${app.jwt.header}")
+    private String headerName;
+
+    @Value("${app.jwt.prefix}")
+    private String headerPrefix;
+
+    public JwtChannelInterceptor(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String jwt = parseJwt(accessor);
+            if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
+                throw new MessageDeliveryException("Invalid or missing authentication token");
+            }
+
+            String userId = jwtUtils.getUserIdFromJwtToken(jwt);
+            UserDetails userDetails = userDetailsService.loadUserById(userId);
+
+            // The principal name is the user id so per-user destinations can be addressed by id
+            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                    userId, null, userDetails.getAuthorities()));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            if (accessor.getUser() == null) {
+                throw new MessageDeliveryException("Not authenticated");
+            }
+            // Resolved per session by the user destination handler, so only ever the caller's own queue
+            if (!OWN_UPDATES.equals(accessor.getDestination())) {
+                throw new MessageDeliveryException("Cannot subscribe to " + accessor.getDestination());
+            }
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            throw new MessageDeliveryException("Cannot send to " + accessor.getDestination());
+        }
+
+        return message;
+    }
+
+    private String parseJwt(StompHeaderAccessor accessor) {
+        String headerAuth = accessor.getFirstNativeHeader(headerName);
+
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith(headerPrefix)) {
+            return headerAuth.substring(headerPrefix.length()).trim();
+        }
+
+        return null;
+    }
+}
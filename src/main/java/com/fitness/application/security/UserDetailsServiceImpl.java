@@ -2,18 +2,26 @@
 package com.fitness.application.security;
 
 import com.fitness.application.model.User;
+import com.fitness.application.repository.UserIdentity;
 import com.fitness.application.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    // Users granted ROLE_ADMIN, for the operational actuator endpoints
+    @Value("${app.security.admin-user-ids:}")
+    private Set<String> adminUserIds = Set.of();
+
     @Override
     public UserDetails loadUserByUsername(String id) throws UsernameNotFoundException {
         // In this implementation, 'username' is actually the user ID
@@ -25,7 +33,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 user.getEmail(),
                 user.getEmail(),
                 user.getPassword(),
-                user.getName()
+                user.getName(),
+                adminUserIds.contains(user.getId())
         );
     }
+
+    /**
+     * The principal of a request authenticated by token. It carries no password, so it comes
+     * from the cached identity instead of the user document.
+     */
+    public UserDetailsImpl loadUserById(String id) throws UsernameNotFoundException {
+        UserIdentity user = userRepository.findIdentityById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+
+        return UserDetailsImpl.build(user.id(), user.email(), user.email(), null, user.name(), adminUserIds.contains(user.id()));
+    }
 }
@@ -1,6 +1,7 @@
 
 package com.fitness.application.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,10 +35,14 @@ public class WebSecurityConfig {
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and()
             .authorizeHttpRequests()
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // streamed bodies; the original dispatch was authorized
             .requestMatchers("/api/auth/**").permitAll()
             .requestMatchers("/api/health/**").permitAll()
             .requestMatchers("/api/v*/auth/**").permitAll()
             .requestMatchers("/api/v*/health/**").permitAll()
+            .requestMatchers("/ws/**").permitAll() // STOMP CONNECT frames are authenticated by JwtChannelInterceptor
+            .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll() // scraped without a user token
+            .requestMatchers("/actuator/mongoprofile", "/actuator/mongoprofile/**").hasRole("ADMIN") // query shapes and forced re-explains
             .anyRequest().authenticated();
         
         http.addFilterBefore(jwtAuthorizationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -60,8 +65,8 @@ public class WebSecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token"));
-        configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
+        configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token", "if-none-match"));
+        configuration.setExposedHeaders(Arrays.asList("x-auth-token", "etag"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -0,0 +1,38 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps achievements current from workout and progress outbox events, off the request path.
+ * Runs after the other handlers of those types, since the counters include the streak and the
+ * personal records they maintain, and unlocks each user's badges once per batch.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class AchievementProjector implements OutboxHandler {
+    private final AchievementService achievementService;
+
+    @Override
+    public Set<String> types() {
+        return Set.of("workout", "progress");
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Map<String, List<OutboxEvent>> byUser = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(event);
+        }
+        byUser.forEach(achievementService::apply);
+    }
+}
@@ -0,0 +1,82 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Achievement;
+import com.fitness.application.model.Achievement.Counter;
+import com.fitness.application.model.AchievementState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The badge catalog compiled into per-counter lookup tables: ascending thresholds, each paired
+ * with the mask of every badge that counter has unlocked at that value. Evaluating a counter is
+ * a binary search over a handful of longs, with nothing allocated.
+ */
+final class AchievementRules {
+    private static final long[] EMPTY = new long[0];
+
+    private final long[][] thresholds = new long[Counter.values().length][];
+    private final long[][] masks = new long[Counter.values().length][];
+    private final Achievement[] byBit = new Achievement[Long.SIZE];
+
+    AchievementRules(Achievement... catalog) {
+        Map<Counter, List<Achievement>> byCounter = new EnumMap<>(Counter.class);
+        for (Achievement achievement : catalog) {
+            int bit = achievement.getBit();
+            if (bit < 0 || bit >= Long.SIZE || byBit[bit] != null) {
+                throw new IllegalStateException("Achievement " + achievement + " needs an unused bit below 64");
+            }
+            byBit[bit] = achievement;
+            byCounter.computeIfAbsent(achievement.getCounter(), counter -> new ArrayList<>()).add(achievement);
+        }
+
+        for (Counter counter : Counter.values()) {
+            List<Achievement> rules = byCounter.getOrDefault(counter, List.of());
+            rules.sort(Comparator.comparingLong(Achievement::getThreshold));
+
+            long[] counterThresholds = new long[rules.size()];
+            long[] cumulativeMasks = new long[rules.size()];
+            long mask = 0;
+            for (int i = 0; i < rules.size(); i++) {
+                mask |= rules.get(i).mask();
+                counterThresholds[i] = rules.get(i).getThreshold();
+                cumulativeMasks[i] = mask;
+            }
+            thresholds[counter.ordinal()] = rules.isEmpty() ? EMPTY : counterThresholds;
+            masks[counter.ordinal()] = rules.isEmpty() ? EMPTY : cumulativeMasks;
+        }
+    }
+
+    /**
+     * Mask of the badges a counter value has unlocked.
+     */
+    long earned(Counter counter, long value) {
+        long[] counterThresholds = thresholds[counter.ordinal()];
+        int index = Arrays.binarySearch(counterThresholds, value);
+        // Equal thresholds are adjacent; step to the last so its cumulative mask covers them all
+        if (index >= 0) {
+            while (index + 1 < counterThresholds.length && counterThresholds[index + 1] == value) {
+                index++;
+            }
+        } else {
+            index = -index - 2;
+        }
+        return index < 0 ? 0 : masks[counter.ordinal()][index];
+    }
+
+    long earned(AchievementState state) {
+        long mask = 0;
+        for (Counter counter : Counter.values()) {
+            mask |= earned(counter, counter.valueOf(state));
+        }
+        return mask;
+    }
+
+    Achievement forBit(int bit) {
+        return byBit[bit];
+    }
+}
@@ -0,0 +1,298 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.AchievementDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.model.Achievement;
+import com.fitness.application.model.Achievement.Counter;
+import com.fitness.application.model.AchievementState;
+import com.fitness.application.model.OutboxEvent;
+import com.fitness.application.model.PersonalRecordEntry;
+import com.fitness.application.repository.ProgressRepository;
+import com.fitness.application.repository.StreakRepository;
+import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.repository.WorkoutTotals;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps per-user achievement counters current and unlocks badges as thresholds are crossed,
+ * applied by {@link AchievementProjector} from workout and progress outbox events once the
+ * streak and personal records they touch are up to date. Each event adds its difference to the
+ * counters in one conditional update that also records the event's id, so a redelivered event
+ * is not counted twice; {@link PersonalRecordService} sets the record count of each exercise it
+ * re-derives. History is only counted to seed a user who had data before their achievements
+ * document, and for a change made outside the API whose previous values are unknown.
+ */
+@Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
+@RequiredArgsConstructor
+public class AchievementService {
+    private static final AchievementRules RULES = new AchievementRules(Achievement.values());
+    private static final int UNLOCK_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final StreakRepository streakRepository;
+    private final WorkoutRepository workoutRepository;
+    private final ProgressRepository progressRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.outbox.partitions:8}")
+    private int partitions;
+
+    // A failed batch is redelivered before any later event of its users, so a batch's worth of ids is enough
+    @Value("${app.outbox.batch-size:200}")
+    private int appliedWindow;
+
+    public List<AchievementDto> getAchievements(String userId) {
+        AchievementState state = mongoTemplate.findById(userId, AchievementState.class);
+        if (state == null) {
+            state = initialize(userId);
+        }
+
+        List<AchievementDto> badges = new ArrayList<>(Long.bitCount(state.getBadges()));
+        for (long remaining = state.getBadges(); remaining != 0; remaining &= remaining - 1) {
+            Achievement achievement = RULES.forBit(Long.numberOfTrailingZeros(remaining));
+            if (achievement != null) {
+                badges.add(convertToDto(achievement,
+                        state.getEarnedAt() != null ? state.getEarnedAt().get(achievement.getCode()) : null));
+            }
+        }
+        return badges;
+    }
+
+    /**
+     * Counts one user's events, in append order, then unlocks the badges they now earn.
+     */
+    public void apply(String userId, List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            if (previousUnknown(event)) {
+                recount(userId);
+                continue;
+            }
+            Update update = counterUpdate(event);
+            if (update == null) {
+                continue;
+            }
+            update.push("applied").slice(-appliedWindow).each(event.getId());
+            Query uncounted = new Query(Criteria.where("_id").is(userId).and("applied").ne(event.getId())
+                    .orOperator(Criteria.where("seededThrough").exists(false),
+                            Criteria.where("seededThrough").lt(event.getId())));
+            if (mongoTemplate.updateFirst(uncounted, update, AchievementState.class).getMatchedCount() == 0
+                    && !mongoTemplate.exists(byUser(userId), AchievementState.class)) {
+                // Seeded from history, which already includes this change and those of the events queued behind it
+                initialize(userId);
+            }
+        }
+        unlockEarned(userId);
+    }
+
+    /**
+     * Sets how many records broken an exercise holds. A user without an achievements document
+     * yet is left alone; their records are counted when it is seeded.
+     */
+    public void recordsChanged(String userId, String exercise, long count) {
+        String field = Counter.PERSONAL_RECORDS.field() + "." + recordKey(exercise);
+        Update update = count > 0 ? new Update().set(field, count) : new Update().unset(field);
+        mongoTemplate.updateFirst(byUser(userId), update, AchievementState.class);
+    }
+
+    /**
+     * Brings the longest streak up to the stored streak and unlocks the badges the counters now earn.
+     */
+    public void unlockEarned(String userId) {
+        long longestStreak = streakRepository.findByUserId(userId).map(streak -> (long) streak.getLongestStreak()).orElse(0L);
+        AchievementState state = mongoTemplate.findAndModify(byUser(userId),
+                new Update().max(Counter.LONGEST_STREAK.field(), longestStreak),
+                FindAndModifyOptions.options().returnNew(true), AchievementState.class);
+
+        // Badges are set with a compare-and-set on the previous mask, so when unlocks race
+        // only the writer that lands announces each badge
+        for (int attempt = 0; attempt < UNLOCK_ATTEMPTS && state != null; attempt++) {
+            long unlocked = RULES.earned(state) & ~state.getBadges();
+            if (unlocked == 0 || unlock(userId, state.getBadges(), unlocked)) {
+                return;
+            }
+            state = mongoTemplate.findById(userId, AchievementState.class);
+        }
+    }
+
+    private boolean unlock(String userId, long badges, long unlocked) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Update update = new Update().set("badges", badges | unlocked);
+        for (long remaining = unlocked; remaining != 0; remaining &= remaining - 1) {
+            update.set("earnedAt." + RULES.forBit(Long.numberOfTrailingZeros(remaining)).getCode(), now);
+        }
+
+        Query unchanged = new Query(Criteria.where("_id").is(userId).and("badges").is(badges));
+        if (mongoTemplate.updateFirst(unchanged, update, AchievementState.class).getModifiedCount() == 0) {
+            return false;
+        }
+
+        for (long remaining = unlocked; remaining != 0; remaining &= remaining - 1) {
+            Achievement achievement = RULES.forBit(Long.numberOfTrailingZeros(remaining));
+            eventPublisher.publishEvent(new UserUpdateEvent(
+                    userId, "achievement", "created", achievement.getCode(), convertToDto(achievement, now)));
+        }
+        return true;
+    }
+
+    /**
+     * Seeds the document of a user who had data before it existed, recording what their history
+     * earns without announcing it. An insert, so it never overwrites counters events have moved.
+     */
+    private AchievementState initialize(String userId) {
+        AchievementState state = fromHistory(userId);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, Instant> earnedAt = new HashMap<>();
+        long badges = RULES.earned(state);
+        for (long remaining = badges; remaining != 0; remaining &= remaining - 1) {
+            earnedAt.put(RULES.forBit(Long.numberOfTrailingZeros(remaining)).getCode(), now);
+        }
+        state.setBadges(badges);
+        state.setEarnedAt(earnedAt);
+
+        try {
+            return mongoTemplate.insert(state);
+        } catch (DuplicateKeyException e) {
+            return mongoTemplate.findById(userId, AchievementState.class);
+        }
+    }
+
+    /**
+     * Sets the counters from history, for a change whose difference cannot be worked out.
+     */
+    private void recount(String userId) {
+        AchievementState counters = fromHistory(userId);
+        Update update = new Update()
+                .set(Counter.WORKOUTS.field(), counters.getWorkouts())
+                .set(Counter.CALORIES.field(), counters.getCalories())
+                .set(Counter.MINUTES.field(), counters.getMinutes())
+                .set(Counter.PROGRESS_ENTRIES.field(), counters.getProgressEntries())
+                .set(Counter.PERSONAL_RECORDS.field(), counters.getRecords());
+        if (counters.getSeededThrough() != null) {
+            update.set("seededThrough", counters.getSeededThrough());
+        }
+        if (mongoTemplate.updateFirst(byUser(userId), update, AchievementState.class).getMatchedCount() == 0) {
+            initialize(userId);
+        }
+    }
+
+    private AchievementState fromHistory(String userId) {
+        // Read first: every event up to it was appended after its change was saved, so the history includes it
+        String seededThrough = lastEventId(userId);
+        WorkoutTotals workouts = workoutRepository.completedTotals(userId);
+        return AchievementState.builder()
+                .id(userId)
+                .workouts(workouts.workouts())
+                .calories(workouts.calories())
+                .minutes(workouts.minutes())
+                .progressEntries(progressRepository.countByUserId(userId))
+                .records(recordsByExercise(userId))
+                .applied(new ArrayList<>())
+                .seededThrough(seededThrough)
+                .build();
+    }
+
+    private String lastEventId(String userId) {
+        Query query = new Query(Criteria.where("partition").is(OutboxService.partitionOf(userId, partitions))
+                .and("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(1);
+        query.fields().include("_id");
+        OutboxEvent last = mongoTemplate.findOne(query, OutboxEvent.class);
+        return last != null ? last.getId() : null;
+    }
+
+    private Map<String, Long> recordsByExercise(String userId) {
+        Aggregation byExercise = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId)),
+                Aggregation.group("exercise").count().as("count"));
+        Map<String, Long> records = new HashMap<>();
+        for (Document exercise : mongoTemplate.aggregate(byExercise, PersonalRecordEntry.class, Document.class)) {
+            records.put(recordKey(exercise.getString("_id")), ((Number) exercise.get("count")).longValue());
+        }
+        return records;
+    }
+
+    private static Update counterUpdate(OutboxEvent event) {
+        Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+        Update update = new Update();
+        if ("workout".equals(event.getType())) {
+            // Only completed workouts count, so a change contributes what the workout counts for
+            // now less what it counted for before
+            inc(update, Counter.WORKOUTS, counted(data, "completed", null) - counted(data, "previousCompleted", null));
+            inc(update, Counter.CALORIES, counted(data, "completed", "calories")
+                    - counted(data, "previousCompleted", "previousCalories"));
+            inc(update, Counter.MINUTES, counted(data, "completed", "duration")
+                    - counted(data, "previousCompleted", "previousDuration"));
+        } else if ("progress".equals(event.getType())) {
+            String action = "external".equals(event.getAction()) ? String.valueOf(data.get("operation")) : event.getAction();
+            inc(update, Counter.PROGRESS_ENTRIES, switch (action) {
+                case "created", "insert" -> 1;
+                case "deleted", "delete" -> -1;
+                default -> 0;
+            });
+        }
+        return update.getUpdateObject().isEmpty() ? null : update;
+    }
+
+    // A workout changed outside the API without a pre-image: what it counted for before is lost
+    private static boolean previousUnknown(OutboxEvent event) {
+        Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+        return "workout".equals(event.getType()) && "external".equals(event.getAction())
+                && !"insert".equals(data.get("operation")) && !data.containsKey("previousCompleted");
+    }
+
+    private static long counted(Map<String, Object> data, String completed, String field) {
+        if (!Boolean.TRUE.equals(data.get(completed))) {
+            return 0;
+        }
+        if (field == null) {
+            return 1;
+        }
+        return data.get(field) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static void inc(Update update, Counter counter, long delta) {
+        if (delta != 0) {
+            update.inc(counter.field(), delta);
+        }
+    }
+
+    // Exercise names become field names, which cannot hold dots or start with $
+    private static String recordKey(String exercise) {
+        return exercise.replace("%", "%25").replace(".", "%2E").replace("$", "%24");
+    }
+
+    private static Query byUser(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+
+    private AchievementDto convertToDto(Achievement achievement, Instant earnedAt) {
+        return AchievementDto.builder()
+                .code(achievement.getCode())
+                .title(achievement.getTitle())
+                .description(achievement.getDescription())
+                .earnedAt(earnedAt != null ? earnedAt.toString() : null)
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.User;
+import com.fitness.application.pool.PoolSaturationMonitor;
+import com.fitness.application.repository.UserRepository;
+import com.fitness.application.security.UserDetailsImpl;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pre-populates a user's dashboard caches (workouts, goals, streak and the latest progress per
+ * category) in the background: after each login, and on startup for the users most active over
+ * the last two days, as counted in a Redis sorted set per day. Warming goes through the cached
+ * service methods, so it shares loads with live requests. It is paced by a node-wide token
+ * bucket and skipped entirely while a connection pool is saturated.
+ */
+@Service
+public class CacheWarmupService {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
+    private static final String ACTIVITY_PREFIX = "cache-warmup:active:";
+
+    private final WorkoutService workoutService;
+    private final GoalService goalService;
+    private final StreakService streakService;
+    private final ProgressService progressService;
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final LeaseService leaseService;
+    private final PoolSaturationMonitor poolSaturationMonitor;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Bucket bucket;
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.startup-users:200}")
+    private int startupUsers;
+
+    @Value("${app.cache.warmup.progress-categories:weight,strength}")
+    private List<String> progressCategories;
+
+    @Value("${app.cache.warmup.lease-ttl-ms:600000}")
+    private long leaseTtlMs;
+
+    public CacheWarmupService(WorkoutService workoutService,
+                              GoalService goalService,
+                              StreakService streakService,
+                              ProgressService progressService,
+                              UserRepository userRepository,
+                              StringRedisTemplate redisTemplate,
+                              LeaseService leaseService,
+                              PoolSaturationMonitor poolSaturationMonitor,
+                              @Qualifier("cacheWarmupExecutor") ThreadPoolTaskExecutor executor,
+                              MeterRegistry meterRegistry,
+                              Clock clock,
+                              @Value("${app.cache.warmup.users-per-second:5}") int usersPerSecond) {
+        this.workoutService = workoutService;
+        this.goalService = goalService;
+        this.streakService = streakService;
+        this.progressService = progressService;
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.leaseService = leaseService;
+        this.poolSaturationMonitor = poolSaturationMonitor;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.bucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(usersPerSecond, Refill.greedy(usersPerSecond, Duration.ofSeconds(1))))
+                .build();
+    }
+
+    /** Counts a visit towards the user's activity, which picks the users warmed on startup. */
+    public void recordAccess(String userId) {
+        String key = ACTIVITY_PREFIX + LocalDate.now(clock);
+        try {
+            Double visits = redisTemplate.opsForZSet().incrementScore(key, userId, 1);
+            if (visits != null && visits == 1) {
+                redisTemplate.expire(key, Duration.ofDays(2));
+            }
+        } catch (Exception e) {
+            logger.debug("Cannot record access of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /** Warms a user who just logged in, unless the warm-up budget for this second is spent. */
+    public void warmAfterLogin(UserDetailsImpl user) {
+        if (!enabled) {
+            return;
+        }
+        recordAccess(user.getId());
+        try {
+            executor.execute(() -> {
+                if (bucket.tryConsume(1)) {
+                    warm(user, "login");
+                } else {
+                    count("login", "throttled");
+                }
+            });
+        } catch (TaskRejectedException e) {
+            count("login", "rejected");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmActiveUsers() {
+        if (!enabled || startupUsers <= 0) {
+            return;
+        }
+        try {
+            executor.execute(this::warmActiveUsersUnderLease);
+        } catch (TaskRejectedException e) {
+            logger.warn("Startup cache warm-up could not be scheduled");
+        }
+    }
+
+    // Nodes starting together after a deploy share one cache, so one of them warms it
+    private void warmActiveUsersUnderLease() {
+        if (!leaseService.tryAcquire("cache-warmup", Duration.ofMillis(leaseTtlMs))) {
+            return;
+        }
+        long started = System.nanoTime();
+        int warmed = 0;
+        try {
+            for (User user : userRepository.findAllById(mostActiveUserIds())) {
+                bucket.asBlocking().consume(1);
+                if (warm(UserDetailsImpl.build(user.getId(), user.getEmail(), user.getEmail(), user.getPassword(), user.getName()), "startup")) {
+                    warmed++;
+                }
+            }
+            logger.info("Warmed the caches of {} active users in {} ms",
+                    warmed, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Startup cache warm-up stopped after {} users: {}", warmed, e.getMessage());
+        }
+        // The lease is left to expire, so nodes starting shortly after do not warm again
+    }
+
+    private Set<String> mostActiveUserIds() {
+        LocalDate today = LocalDate.now(clock);
+        Set<String> userIds = new LinkedHashSet<>();
+        for (LocalDate day : List.of(today, today.minusDays(1))) {
+            Set<String> top = redisTemplate.opsForZSet().reverseRange(ACTIVITY_PREFIX + day, 0, startupUsers - 1);
+            if (top != null) {
+                top.stream().limit(startupUsers - userIds.size()).forEach(userIds::add);
+            }
+        }
+        return userIds;
+    }
+
+    private boolean warm(UserDetailsImpl user, String trigger) {
+        if (poolSaturationMonitor.isSaturated()) {
+            count(trigger, "saturated");
+            return false;
+        }
+        try {
+            workoutService.getAllWorkouts(user);
+            goalService.getAllGoals(user);
+            streakService.getUserStreak(user.getId());
+            for (String category : progressCategories) {
+                progressService.getUserProgress(user, category);
+            }
+            count(trigger, "warmed");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Cache warm-up of user {} failed: {}", user.getId(), e.getMessage());
+            count(trigger, "failed");
+            return false;
+        }
+    }
+
+    private void count(String trigger, String outcome) {
+        meterRegistry.counter("fitness.cache.warmups", "trigger", trigger, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,37 @@
+package com.fitness.application.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ordered outside the cache advisor, so the version bumps a cache-evicting method's events ask
+ * for are made after its evictions: a conditional GET that sees the new version also misses the
+ * cache. The bumps are made even when the method fails, since its write may have landed.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class CollectionVersionAspect {
+    private final CollectionVersionService versionService;
+
+    public CollectionVersionAspect(CollectionVersionService versionService) {
+        this.versionService = versionService;
+    }
+
+    @Around("@annotation(org.springframework.cache.annotation.CacheEvict) "
+            + "|| @annotation(org.springframework.cache.annotation.Caching)")
+    public Object bumpAfterEviction(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!versionService.defer()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            versionService.flushDeferred();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fitness.application.service;
+
+import com.fitness.application.event.UserUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user, per-collection version stamps kept in Redis and bumped on every service write.
+ * Conditional GETs compare against these stamps only, so a 304 never reaches Mongo or the cache.
+ * Bumps from a cache-evicting service method wait until its eviction has run (see
+ * {@link CollectionVersionAspect}); bumped first, a read in between would pair the new version
+ * with the old cached body, and clients would revalidate stale data until the next write.
+ */
+@Service
+public class CollectionVersionService {
+    private static final Logger logger = LoggerFactory.getLogger(CollectionVersionService.class);
+
+    private static final ThreadLocal<Set<String>> DEFERRED = new ThreadLocal<>();
+
+    private static final Map<String, String> COLLECTIONS_BY_TYPE = Map.of(
+            "workout", "workouts",
+            "goal", "goals",
+            "progress", "progress",
+            "streak", "streaks",
+            "achievement", "achievements",
+            "record", "records");
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+
+    public CollectionVersionService(StringRedisTemplate redisTemplate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    public String currentVersion(String collection, String userId) {
+        String key = key(collection, userId);
+        String version = redisTemplate.opsForValue().get(key);
+        if (version != null) {
+            return version;
+        }
+
+        initialize(key);
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    public void bump(String collection, String userId) {
+        String key = key(collection, userId);
+        initialize(key);
+        redisTemplate.opsForValue().increment(key);
+    }
+
+    /**
+     * Holds this thread's event-driven bumps until {@link #flushDeferred()}. Returns false when
+     * an outer call already holds them, which then flushes them all.
+     */
+    boolean defer() {
+        if (DEFERRED.get() != null) {
+            return false;
+        }
+        DEFERRED.set(new LinkedHashSet<>());
+        return true;
+    }
+
+    void flushDeferred() {
+        Set<String> keys = DEFERRED.get();
+        DEFERRED.remove();
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            try {
+                initialize(key);
+                redisTemplate.opsForValue().increment(key);
+            } catch (Exception e) {
+                logger.error("Cannot bump version {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Builds an ETag from the collection version plus any request parameters that select
+     * different data from the same collection. It is weak because one version is served as
+     * JSON, CBOR or Smile, gzipped or not, and Tomcat refuses to compress strong-tagged bodies.
+     */
+    public String etag(String collection, String userId, Object... qualifiers) {
+        StringBuilder etag = new StringBuilder("W/\"")
+                .append(collection).append('-').append(currentVersion(collection, userId));
+        for (Object qualifier : qualifiers) {
+            etag.append('-').append(sanitize(String.valueOf(qualifier)));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Drops every user's version of a collection. Versions restart from the current time, so
+     * every ETag for it changes.
+     */
+    public void resetAll(String collection) {
+        ScanOptions options = ScanOptions.scanOptions().match(key(collection, "*")).count(1000).build();
+        List<String> batch = new ArrayList<>(1000);
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == 1000) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.delete(batch);
+        }
+    }
+
+    @EventListener
+    public void onUserUpdate(UserUpdateEvent event) {
+        String collection = COLLECTIONS_BY_TYPE.get(event.getType());
+        if (collection == null) {
+            return;
+        }
+
+        Set<String> deferred = DEFERRED.get();
+        if (deferred != null) {
+            deferred.add(key(collection, event.getUserId()));
+            return;
+        }
+        try {
+            bump(collection, event.getUserId());
+        } catch (Exception e) {
+            logger.error("Cannot bump {} version for user {}: {}", collection, event.getUserId(), e.getMessage());
+        }
+    }
+
+    // A lost key restarts from the current time rather than from zero, so versions never repeat
+    private void initialize(String key) {
+        redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(clock.millis()));
+    }
+
+    private static String key(String collection, String userId) {
+        return "version:" + collection + ":" + userId;
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._]", "_");
+    }
+}
@@ -0,0 +1,123 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.DashboardDto;
+import com.fitness.application.dto.GoalDto;
+import com.fitness.application.dto.ProgressDto;
+import com.fitness.application.dto.StreakDto;
+import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class DashboardService {
+    private final WorkoutService workoutService;
+    private final GoalService goalService;
+    private final StreakService streakService;
+    private final ProgressService progressService;
+    private final Executor executor;
+
+    @Value("${app.dashboard.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.dashboard.max-categories:10}")
+    private int maxCategories;
+
+    public DashboardService(WorkoutService workoutService,
+                            GoalService goalService,
+                            StreakService streakService,
+                            ProgressService progressService,
+                            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor) {
+        this.workoutService = workoutService;
+        this.goalService = goalService;
+        this.streakService = streakService;
+        this.progressService = progressService;
+        this.executor = executor;
+    }
+
+    public DashboardDto getDashboard(UserDetailsImpl user, List<String> requestedCategories) {
+        // Each category is a read on the shared pool, so a request cannot ask for any number of them
+        Set<String> progressCategories = new LinkedHashSet<>();
+        for (String category : requestedCategories) {
+            if (StringUtils.hasText(category)) {
+                progressCategories.add(category.trim());
+            }
+        }
+        if (progressCategories.size() > maxCategories) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxCategories + " progress categories can be requested");
+        }
+
+        // Fan out all reads at once so latency tracks the slowest dependency, not the sum
+        CompletableFuture<List<WorkoutDto>> workouts = supply(() -> workoutService.getAllWorkouts(user));
+        CompletableFuture<List<GoalDto>> goals = supply(() -> goalService.getAllGoals(user));
+        CompletableFuture<StreakDto> streak = supply(() -> streakService.getUserStreak(user.getId()));
+
+        Map<String, CompletableFuture<List<ProgressDto>>> progress = new LinkedHashMap<>();
+        for (String category : progressCategories) {
+            progress.put(category, supply(() -> progressService.getUserProgress(user, category)));
+        }
+
+        CompletableFuture<?>[] all = new CompletableFuture<?>[3 + progress.size()];
+        all[0] = workouts;
+        all[1] = goals;
+        all[2] = streak;
+        int i = 3;
+        for (CompletableFuture<List<ProgressDto>> future : progress.values()) {
+            all[i++] = future;
+        }
+
+        try {
+            CompletableFuture.allOf(all).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            for (CompletableFuture<?> future : all) {
+                future.cancel(true);
+            }
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Dashboard data took too long to load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load dashboard", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading dashboard", e);
+        }
+
+        // Progress lists are ordered newest first, so the head is the latest entry
+        Map<String, ProgressDto> latestProgress = new LinkedHashMap<>();
+        progress.forEach((category, future) -> {
+            List<ProgressDto> entries = future.join();
+            latestProgress.put(category, entries.isEmpty() ? null : entries.get(0));
+        });
+
+        return DashboardDto.builder()
+                .workouts(workouts.join())
+                .goals(goals.join())
+                .streak(streak.join())
+                .latestProgress(latestProgress)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+}
@@ -2,39 +2,62 @@
 package com.fitness.application.service;
 
 import com.fitness.application.dto.GoalDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.mapping.GoalMapper;
 import com.fitness.application.model.Goal;
 import com.fitness.application.repository.GoalRepository;
+import com.fitness.application.routing.ReadRoute;
+import com.fitness.application.routing.RoutedRead;
 import com.fitness.application.security.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
 @RequiredArgsConstructor
 public class GoalService {
     private final GoalRepository goalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncSequenceService syncSequenceService;
+    private final Clock clock;
     
+    @Cacheable(value = "goals", key = "#user.getId()", sync = true)
+    @RoutedRead(ReadRoute.HISTORY)
     public List<GoalDto> getAllGoals(UserDetailsImpl user) {
         return goalRepository.findByUserId(user.getId())
                 .stream()
-                .map(this::convertToDto)
+                .map(GoalMapper::toDto)
                 .collect(Collectors.toList());
     }
     
+    // Uncached cursor-backed read for the streamed list endpoint; the caller closes the stream
+    @RoutedRead(ReadRoute.HISTORY)
+    public Stream<Goal> streamAllGoals(UserDetailsImpl user) {
+        return goalRepository.streamByUserId(user.getId());
+    }
+    
+    @RoutedRead(ReadRoute.HISTORY)
     public GoalDto getGoalById(String id, UserDetailsImpl user) {
-        return goalRepository.findById(id)
-                .filter(goal -> goal.getUserId().equals(user.getId()))
-                .map(this::convertToDto)
+        return goalRepository.findByIdAndUserId(id, user.getId())
+                .map(GoalMapper::toDto)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
     }
     
     @Transactional
+    @CacheEvict(value = "goals", key = "#user.getId()")
     public GoalDto createGoal(GoalDto goalDto, UserDetailsImpl user) {
-        Goal goal = convertToEntity(goalDto);
+        Goal goal = GoalMapper.toEntity(goalDto);
         goal.setUserId(user.getId());
         
         if (goal.getCreatedAt() == null) {
@@ -54,18 +77,19 @@ public class GoalService {
             goal.setStatus("not-started");
         }
         
+        stamp(goal);
         Goal savedGoal = goalRepository.save(goal);
-        return convertToDto(savedGoal);
+        return publish(savedGoal, "created");
     }
     
     @Transactional
+    @CacheEvict(value = "goals", key = "#user.getId()")
     public GoalDto updateGoal(String id, GoalDto goalDto, UserDetailsImpl user) {
         // Verify goal exists and belongs to user
-        Goal existingGoal = goalRepository.findById(id)
-                .filter(g -> g.getUserId().equals(user.getId()))
+        Goal existingGoal = goalRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new RuntimeException("Goal not found or unauthorized"));
         
-        Goal goal = convertToEntity(goalDto);
+        Goal goal = GoalMapper.toEntity(goalDto);
         goal.setId(id);
         goal.setUserId(user.getId());
         goal.setCreatedAt(existingGoal.getCreatedAt());
@@ -83,51 +107,40 @@ public class GoalService {
             goal.setStatus("not-started");
         }
         
+        stamp(goal);
         Goal savedGoal = goalRepository.save(goal);
-        return convertToDto(savedGoal);
+        return publish(savedGoal, "updated");
     }
     
     @Transactional
+    @CacheEvict(value = "goals", key = "#user.getId()")
     public void deleteGoal(String id, UserDetailsImpl user) {
-        goalRepository.findById(id)
-                .filter(g -> g.getUserId().equals(user.getId()))
+        goalRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new RuntimeException("Goal not found or unauthorized"));
         
-        goalRepository.deleteById(id);
+        goalRepository.deleteByIdAndUserId(id, user.getId());
+        syncSequenceService.recordDeletion(user.getId(), "goal", id);
+        eventPublisher.publishEvent(new UserUpdateEvent(user.getId(), "goal", "deleted", id, null));
+    }
+    
+    public List<Goal> findChangedSince(String userId, Long since) {
+        return since == null
+                ? goalRepository.findByUserId(userId)
+                : goalRepository.findByUserIdAndSyncSeqGreaterThan(userId, since);
     }
     
-    // Helper methods for DTO conversion and calculations
-    private GoalDto convertToDto(Goal goal) {
-        return GoalDto.builder()
-                .id(goal.getId())
-                .title(goal.getTitle())
-                .description(goal.getDescription())
-                .target(goal.getTarget())
-                .current(goal.getCurrent())
-                .type(goal.getType())
-                .status(goal.getStatus())
-                .deadline(goal.getDeadline() != null ? goal.getDeadline().toString() : null)
-                .createdAt(goal.getCreatedAt() != null ? goal.getCreatedAt().toString() : null)
-                .progress(goal.getProgress())
-                .build();
+    private void stamp(Goal goal) {
+        goal.setSyncSeq(syncSequenceService.nextSeq(goal.getUserId()));
+        goal.setUpdatedAt(clock.instant());
     }
     
-    private Goal convertToEntity(GoalDto dto) {
-        return Goal.builder()
-                .id(dto.getId())
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .target(dto.getTarget())
-                .current(dto.getCurrent())
-                .type(dto.getType())
-                .status(dto.getStatus())
-                .deadline(dto.getDeadline() != null ? LocalDate.parse(dto.getDeadline()) : null)
-                .createdAt(dto.getCreatedAt() != null ? LocalDate.parse(dto.getCreatedAt()) : null)
-                .progress(dto.getProgress())
-                .build();
+    private GoalDto publish(Goal goal, String action) {
+        GoalDto dto = GoalMapper.toDto(goal);
+        eventPublisher.publishEvent(new UserUpdateEvent(goal.getUserId(), "goal", action, goal.getId(), dto));
+        return dto;
     }
     
-    private int calculateProgress(Goal goal) {
+    int calculateProgress(Goal goal) {
         if (goal.getTarget() <= 0) {
             return 0;
         }
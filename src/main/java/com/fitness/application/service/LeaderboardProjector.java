@@ -0,0 +1,54 @@
+package com.fitness.application.service;
+
+import com.fitness.application.mapping.IsoDates;
+import com.fitness.application.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the weekly leaderboards current from workout outbox events, off the workout request
+ * path. A batch is folded per user: the weeks of every completed workout it adds, moves or
+ * removes are re-totalled once, and the streak board takes the streak {@link StreakProjector}
+ * has just updated.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class LeaderboardProjector implements OutboxHandler {
+    private final LeaderboardService leaderboardService;
+
+    @Override
+    public Set<String> types() {
+        return Set.of("workout");
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Map<String, Set<LocalDate>> datesByUser = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            Set<LocalDate> dates = datesByUser.computeIfAbsent(event.getUserId(), userId -> new LinkedHashSet<>());
+            Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+            // A change made outside the API may have come without its previous state
+            boolean external = "external".equals(event.getAction());
+            if ((external || Boolean.TRUE.equals(data.get("completed"))) && data.get("date") != null) {
+                dates.add(IsoDates.parse(data.get("date").toString()));
+            }
+            if ((external || Boolean.TRUE.equals(data.get("previousCompleted"))) && data.get("previousDate") != null) {
+                dates.add(IsoDates.parse(data.get("previousDate").toString()));
+            }
+        }
+
+        datesByUser.forEach((userId, dates) -> {
+            leaderboardService.refreshWorkouts(userId, dates);
+            leaderboardService.refreshStreak(userId);
+        });
+    }
+}
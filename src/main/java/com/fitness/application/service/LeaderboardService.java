@@ -0,0 +1,195 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.LeaderboardDto;
+import com.fitness.application.dto.LeaderboardEntryDto;
+import com.fitness.application.leaderboard.Leaderboard;
+import com.fitness.application.leaderboard.LeaderboardEntry;
+import com.fitness.application.leaderboard.LeaderboardStore;
+import com.fitness.application.model.Streak;
+import com.fitness.application.model.User;
+import com.fitness.application.repository.StreakRepository;
+import com.fitness.application.repository.UserRepository;
+import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.repository.WorkoutTotals;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly leaderboards kept current by {@link LeaderboardProjector} from workout outbox events:
+ * a workout write re-totals the user's weeks it touches and sets their scores, so reads never
+ * aggregate workouts and applying an event twice changes nothing. A week's board is seeded from Mongo under a lease the
+ * first time it is touched; the seed only adds users not on the board yet, and it marks the
+ * board inside the board itself, so one lost with Redis or expired is seeded again on its next
+ * touch.
+ */
+@Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private final LeaderboardStore store;
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final WorkoutRepository workoutRepository;
+    private final StreakRepository streakRepository;
+    private final Clock clock;
+    private final LeaseService leaseService;
+
+    @Value("${app.leaderboard.retention-weeks:4}")
+    private int retentionWeeks;
+
+    @Value("${app.leaderboard.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${app.leaderboard.seed-lease-ttl-ms:60000}")
+    private long seedLeaseTtlMs;
+
+    public LeaderboardDto getLeaderboard(String userId, String boardCode, String period, int limit) {
+        Leaderboard board = Leaderboard.fromCode(boardCode);
+        if (board == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown leaderboard: " + boardCode);
+        }
+        LocalDate week = period != null ? Leaderboard.parsePeriod(period) : currentWeek();
+        if (week == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Period must be an ISO week such as 2026-W01");
+        }
+
+        List<LeaderboardEntry> top = List.of();
+        LeaderboardEntry me = null;
+        if (retained(week)) {
+            String key = board.key(week);
+            ensureSeeded(board, week);
+            top = store.top(key, Math.max(1, Math.min(limit, maxLimit)));
+            me = store.rank(key, userId);
+        }
+
+        List<String> userIds = new ArrayList<>(top.size() + 1);
+        top.forEach(entry -> userIds.add(entry.member()));
+        userIds.add(userId);
+        Map<String, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            names.put(user.getId(), user.getName());
+        }
+
+        return LeaderboardDto.builder()
+                .board(board.getCode())
+                .period(Leaderboard.period(week))
+                .entries(top.stream().map(entry -> convertToDto(entry, names)).collect(Collectors.toList()))
+                .me(me != null ? convertToDto(me, names) : null)
+                .build();
+    }
+
+    /**
+     * Re-totals a user's completed workouts in the weeks of the given dates and sets their
+     * scores on those weeks' boards.
+     */
+    public void refreshWorkouts(String userId, Collection<LocalDate> dates) {
+        Set<LocalDate> weeks = new LinkedHashSet<>();
+        for (LocalDate date : dates) {
+            LocalDate week = Leaderboard.weekStart(date);
+            if (retained(week)) {
+                weeks.add(week);
+            }
+        }
+
+        for (LocalDate week : weeks) {
+            ensureSeeded(Leaderboard.MINUTES, week);
+            ensureSeeded(Leaderboard.CALORIES, week);
+            WorkoutTotals totals = workoutRepository.completedTotals(userId, week, week.plusWeeks(1));
+            store.set(Leaderboard.MINUTES.key(week), userId, totals.minutes());
+            store.set(Leaderboard.CALORIES.key(week), userId, totals.calories());
+        }
+    }
+
+    /** Sets a user's current streak on this week's board. */
+    public void refreshStreak(String userId) {
+        LocalDate week = currentWeek();
+        ensureSeeded(Leaderboard.STREAK, week);
+        int streak = streakRepository.findByUserId(userId).map(Streak::getCurrentStreak).orElse(0);
+        store.set(Leaderboard.STREAK.key(week), userId, streak);
+    }
+
+    /**
+     * Seeds a week's board from Mongo unless it is seeded already. One node seeds a board at a
+     * time; the others go on setting their own users' scores meanwhile, which the seed keeps.
+     */
+    private void ensureSeeded(Leaderboard board, LocalDate week) {
+        String key = board.key(week);
+        if (store.isSeeded(key)) {
+            return;
+        }
+        String lease = "leaderboard-seed:" + key;
+        if (!leaseService.tryAcquire(lease, Duration.ofMillis(seedLeaseTtlMs))) {
+            return;
+        }
+
+        try {
+            Duration ttl = Duration.between(LocalDate.now(clock).atStartOfDay(),
+                    week.plusWeeks(retentionWeeks + 1L).atStartOfDay());
+            if (board == Leaderboard.STREAK) {
+                store.seed(key, streakScores(week), ttl);
+            } else {
+                // Both workout boards come from the same totals, so they are seeded together
+                Map<String, Double> minutes = new HashMap<>();
+                Map<String, Double> calories = new HashMap<>();
+                for (WorkoutTotals user : workoutRepository.completedTotalsByUser(week, week.plusWeeks(1))) {
+                    minutes.put(user.userId(), (double) user.minutes());
+                    calories.put(user.userId(), (double) user.calories());
+                }
+                store.seed(Leaderboard.MINUTES.key(week), minutes, ttl);
+                store.seed(Leaderboard.CALORIES.key(week), calories, ttl);
+            }
+        } finally {
+            leaseService.release(lease);
+        }
+    }
+
+    private Map<String, Double> streakScores(LocalDate week) {
+        Query trainedThatWeek = new Query(Criteria.where("lastWorkoutDate").gte(week).lt(week.plusWeeks(1))
+                .and("currentStreak").gt(0));
+        Map<String, Double> scores = new HashMap<>();
+        for (Streak streak : mongoTemplate.find(trainedThatWeek, Streak.class)) {
+            scores.put(streak.getUserId(), (double) streak.getCurrentStreak());
+        }
+        return scores;
+    }
+
+    private boolean retained(LocalDate week) {
+        return !week.isBefore(oldestRetainedWeek()) && !week.isAfter(currentWeek());
+    }
+
+    private LocalDate currentWeek() {
+        return Leaderboard.weekStart(LocalDate.now(clock));
+    }
+
+    private LocalDate oldestRetainedWeek() {
+        return currentWeek().minusWeeks(retentionWeeks);
+    }
+
+    private LeaderboardEntryDto convertToDto(LeaderboardEntry entry, Map<String, String> names) {
+        return LeaderboardEntryDto.builder()
+                .rank(entry.rank())
+                .userId(entry.member())
+                .name(names.get(entry.member()))
+                .score(Math.round(entry.score()))
+                .build();
+    }
+}
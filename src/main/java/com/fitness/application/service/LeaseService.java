@@ -0,0 +1,79 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.SchedulerLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Time-bounded ownership of named work partitions, shared by all nodes through Mongo.
+ * A lease is held until it expires or its owner releases it; holders renew by re-acquiring.
+ */
+@Service
+public class LeaseService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaseService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final String nodeId;
+
+    public LeaseService(MongoTemplate mongoTemplate, Clock clock,
+                        @Value("${app.node-id:}") String configuredNodeId) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.nodeId = configuredNodeId.isBlank() ? generateNodeId() : configuredNodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = clock.instant();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(
+                        Criteria.where("owner").is(nodeId),
+                        Criteria.where("expiresAt").lt(now)));
+        Update update = new Update()
+                .set("owner", nodeId)
+                .set("expiresAt", now.plus(ttl));
+
+        try {
+            SchedulerLease lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLease.class);
+            return lease != null && nodeId.equals(lease.getOwner());
+        } catch (DuplicateKeyException e) {
+            // Another node holds a live lease, so the upsert collided with its document
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        Query query = new Query(Criteria.where("_id").is(name).and("owner").is(nodeId));
+        mongoTemplate.updateFirst(query, new Update().set("expiresAt", Instant.EPOCH), SchedulerLease.class);
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            logger.warn("Cannot resolve host name for node id: {}", e.getMessage());
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,185 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.GoalDto;
+import com.fitness.application.dto.NotificationDto;
+import com.fitness.application.dto.WorkoutReminderRequest;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.model.Notification;
+import com.fitness.application.model.ReminderPreference;
+import com.fitness.application.repository.NotificationRepository;
+import com.fitness.application.repository.ReminderPreferenceRepository;
+import com.fitness.application.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class NotificationService {
+    private final NotificationRepository notificationRepository;
+    private final ReminderPreferenceRepository preferenceRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @Value("${app.notifications.inbox-limit:100}")
+    private int inboxLimit;
+
+    @Value("${app.notifications.scheduler.partitions:16}")
+    private int partitions;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               ReminderPreferenceRepository preferenceRepository,
+                               MongoTemplate mongoTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    public List<NotificationDto> getNotifications(UserDetailsImpl user) {
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), PageRequest.of(0, inboxLimit))
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public void markAsRead(String id, UserDetailsImpl user) {
+        Notification notification = notificationRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+
+        notification.setRead(true);
+        notificationRepository.save(notification);
+    }
+
+    public void markAllAsRead(UserDetailsImpl user) {
+        Query query = new Query(Criteria.where("userId").is(user.getId()).and("read").is(false));
+        mongoTemplate.updateMulti(query, new Update().set("read", true), Notification.class);
+    }
+
+    public void deleteNotification(String id, UserDetailsImpl user) {
+        notificationRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+
+        notificationRepository.deleteByIdAndUserId(id, user.getId());
+    }
+
+    public void updateWorkoutReminders(WorkoutReminderRequest request, UserDetailsImpl user) {
+        ReminderPreference preference = findOrCreatePreference(user.getId());
+        preference.setWorkoutRemindersEnabled(request.isEnabled());
+        preference.setFrequency(request.getFrequency());
+        preference.setTime(request.getTime() != null ? request.getTime() : ReminderSchedule.DEFAULT_TIME);
+        preference.setDays(request.getDays());
+        preference.setTimezone(request.getTimezone());
+
+        try {
+            preference.setNextDueAt(ReminderSchedule.nextDueAt(preference, clock.instant()));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid reminder schedule: " + e.getMessage());
+        }
+
+        preferenceRepository.save(preference);
+    }
+
+    public void updateGoalUpdates(boolean enabled, UserDetailsImpl user) {
+        ReminderPreference preference = findOrCreatePreference(user.getId());
+        preference.setGoalUpdatesEnabled(enabled);
+        preferenceRepository.save(preference);
+    }
+
+    public void deliver(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        Collection<Notification> saved = mongoTemplate.insertAll(notifications);
+        for (Notification notification : saved) {
+            eventPublisher.publishEvent(new UserUpdateEvent(
+                    notification.getUserId(), "notification", "created", notification.getId(), convertToDto(notification)));
+        }
+    }
+
+    public Notification workoutReminder(String userId) {
+        return Notification.builder()
+                .userId(userId)
+                .title("Workout Reminder")
+                .message("It's time for your scheduled workout. Keep your streak going!")
+                .type("workout")
+                .read(false)
+                .createdAt(clock.instant())
+                .build();
+    }
+
+    @EventListener
+    public void onUserUpdate(UserUpdateEvent event) {
+        if (!"goal".equals(event.getType()) || !(event.getPayload() instanceof GoalDto goal)
+                || !"completed".equals(goal.getStatus())) {
+            return;
+        }
+
+        boolean enabled = preferenceRepository.findByUserId(event.getUserId())
+                .map(ReminderPreference::isGoalUpdatesEnabled)
+                .orElse(false);
+        if (!enabled) {
+            return;
+        }
+
+        // Editing an already completed goal must not notify again
+        Query alreadyNotified = new Query(Criteria.where("userId").is(event.getUserId())
+                .and("type").is("goal")
+                .and("data.goalId").is(goal.getId()));
+        if (mongoTemplate.exists(alreadyNotified, Notification.class)) {
+            return;
+        }
+
+        deliver(List.of(Notification.builder()
+                .userId(event.getUserId())
+                .title("Goal Completed")
+                .message("Congratulations! You completed your goal: " + goal.getTitle())
+                .type("goal")
+                .read(false)
+                .createdAt(clock.instant())
+                .data(Map.of("goalId", goal.getId()))
+                .build()));
+    }
+
+    private ReminderPreference findOrCreatePreference(String userId) {
+        return preferenceRepository.findByUserId(userId)
+                .orElse(ReminderPreference.builder()
+                        .userId(userId)
+                        .frequency("daily")
+                        .time(ReminderSchedule.DEFAULT_TIME)
+                        .partition(ReminderSchedule.partitionOf(userId, partitions))
+                        .build());
+    }
+
+    private NotificationDto convertToDto(Notification notification) {
+        return NotificationDto.builder()
+                .id(notification.getId())
+                .userId(notification.getUserId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt() != null ? notification.getCreatedAt().toString() : null)
+                .data(notification.getData())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies outbox events of some types to a derived projection. Delivery is at least once and a
+ * failed batch is retried, whole and then user by user, so applying the same events again must
+ * leave the projection as it was. Handlers of a type run in {@code @Order}, so one can build on
+ * projections an earlier one has just updated.
+ */
+public interface OutboxHandler {
+
+    Set<String> types();
+
+    /**
+     * Applies a batch of events, in append order, from one partition.
+     */
+    void handle(List<OutboxEvent> events);
+}
@@ -0,0 +1,325 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Applies outbox events to the derived projections in the background, in batches of up to
+ * batch-size events per partition. Partitions are owned through leases as in
+ * {@link ReminderScheduler}, so each user's events are consumed in order by one node. A user
+ * whose event failed is held back until it has been applied, so none of their later events
+ * overtake it. Appends wake the local drain; the poll picks up whatever other nodes appended
+ * and retries failures.
+ */
+@Component
+public class OutboxProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxProcessor.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<OutboxHandler>> handlers;
+    private final Set<Integer> woken = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Instant> leaseRenewals = new ConcurrentHashMap<>();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private final Timer delivery;
+
+    @Value("${app.outbox.partitions:8}")
+    private int partitions;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-partition:10}")
+    private int maxBatchesPerPartition;
+
+    @Value("${app.outbox.lease-ttl-ms:30000}")
+    private long leaseTtlMs;
+
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.outbox.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    public OutboxProcessor(MongoTemplate mongoTemplate,
+                           LeaseService leaseService,
+                           List<OutboxHandler> handlers,
+                           @Qualifier("outboxExecutor") ThreadPoolTaskExecutor executor,
+                           Clock clock,
+                           MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.executor = executor;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.handlers = new HashMap<>();
+        for (OutboxHandler handler : handlers) {
+            handler.types().forEach(type -> this.handlers.computeIfAbsent(type, key -> new ArrayList<>()).add(handler));
+        }
+        this.delivery = Timer.builder("fitness.outbox.delivery")
+                .description("Time from appending an outbox event to applying it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("fitness.outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events waiting to be applied")
+                .register(meterRegistry);
+        Gauge.builder("fitness.outbox.lag.seconds", oldestAgeMillis, age -> age.get() / 1000.0)
+                .description("Age of the oldest outbox event waiting to be applied")
+                .register(meterRegistry);
+    }
+
+    public long backlog() {
+        return backlog.get();
+    }
+
+    void wake(int partition) {
+        backlog.incrementAndGet();
+        woken.add(partition);
+        executor.execute(this::drainWoken);
+    }
+
+    /**
+     * Applies an event on the calling thread, for when it could not go through the outbox.
+     * Returns false when a handler failed.
+     */
+    boolean apply(OutboxEvent event) {
+        return deliver(event.getType(), List.of(event));
+    }
+
+    /** Whether the event's user has events queued that it must not overtake. */
+    boolean hasQueued(OutboxEvent event) {
+        return mongoTemplate.exists(new Query(Criteria.where("partition").is(event.getPartition())
+                .and("userId").is(event.getUserId())), OutboxEvent.class);
+    }
+
+    // Exponential backoff, so a poison event does not hold its partition's drain hostage
+    Instant retryAt(int attempts, Instant now) {
+        return now.plusMillis(Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(attempts, 20)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            refreshLag();
+        } catch (Exception e) {
+            logger.warn("Cannot read outbox backlog: {}", e.getMessage());
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            woken.add(partition);
+        }
+        executor.execute(this::drainWoken);
+    }
+
+    private void drainWoken() {
+        for (int partition = 0; partition < partitions; partition++) {
+            if (!woken.remove(partition)) {
+                continue;
+            }
+            try {
+                drainPartition(partition);
+            } catch (Exception e) {
+                logger.error("Outbox partition {} failed: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void drainPartition(int partition) {
+        for (int batch = 0; batch < maxBatchesPerPartition; batch++) {
+            if (!holdLease(partition)) {
+                return;
+            }
+            if (processBatch(partition) < batchSize) {
+                return;
+            }
+        }
+        // Yield to the other partitions and come back on the next drain
+        woken.add(partition);
+        executor.execute(this::drainWoken);
+    }
+
+    private boolean holdLease(int partition) {
+        // Renewed at half its lifetime rather than on every batch
+        Instant now = clock.instant();
+        Instant renewal = leaseRenewals.get(partition);
+        if (renewal != null && now.isBefore(renewal)) {
+            return true;
+        }
+        Duration ttl = Duration.ofMillis(leaseTtlMs);
+        if (leaseService.tryAcquire("outbox-" + partition, ttl)) {
+            leaseRenewals.put(partition, now.plus(ttl.dividedBy(2)));
+            return true;
+        }
+        leaseRenewals.remove(partition);
+        return false;
+    }
+
+    private int processBatch(int partition) {
+        Instant now = clock.instant();
+        Criteria due = Criteria.where("partition").is(partition).and("nextAttemptAt").lte(now);
+        List<String> held = heldUsers(partition, now);
+        if (!held.isEmpty()) {
+            due.and("userId").nin(held);
+        }
+        Query pending = new Query(due)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        List<OutboxEvent> batch = mongoTemplate.find(pending, OutboxEvent.class);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxEvent>> byType = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byType.computeIfAbsent(event.getType(), type -> new ArrayList<>()).add(event);
+        }
+        List<String> applied = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        Set<String> blocked = new HashSet<>();
+        byType.forEach((type, events) -> {
+            // Events of a user who failed earlier in the batch stay queued, untouched, and are
+            // held back with the failed one from the next batch on
+            List<OutboxEvent> open = events.stream()
+                    .filter(event -> !blocked.contains(event.getUserId()))
+                    .collect(Collectors.toList());
+            if (open.isEmpty()) {
+                return;
+            }
+            List<OutboxEvent> undelivered = deliverIsolated(type, open);
+            undelivered.forEach(event -> blocked.add(event.getUserId()));
+            failed.addAll(undelivered);
+
+            Instant done = clock.instant();
+            for (OutboxEvent event : open) {
+                if (blocked.contains(event.getUserId())) {
+                    continue;
+                }
+                applied.add(event.getId());
+                if (event.getCreatedAt() != null) {
+                    delivery.record(Duration.between(event.getCreatedAt(), done));
+                }
+            }
+        });
+
+        if (!applied.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(applied)), OutboxEvent.class);
+            backlog.updateAndGet(count -> Math.max(0, count - applied.size()));
+        }
+        if (!failed.isEmpty()) {
+            scheduleRetries(failed, now);
+        }
+        return batch.size();
+    }
+
+    // Users with an event waiting out a retry backoff
+    private List<String> heldUsers(int partition, Instant now) {
+        Query backingOff = new Query(Criteria.where("partition").is(partition).and("nextAttemptAt").gt(now));
+        return mongoTemplate.findDistinct(backingOff, "userId", OutboxEvent.class, String.class);
+    }
+
+    /**
+     * Delivers a batch and returns the events that could not be applied. A failed batch is
+     * retried user by user, so a poison event only holds back its own user.
+     */
+    private List<OutboxEvent> deliverIsolated(String type, List<OutboxEvent> events) {
+        if (deliver(type, events)) {
+            return List.of();
+        }
+        Map<String, List<OutboxEvent>> byUser = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(event);
+        }
+        if (byUser.size() == 1) {
+            return events;
+        }
+        List<OutboxEvent> failed = new ArrayList<>();
+        byUser.values().forEach(userEvents -> {
+            if (!deliver(type, userEvents)) {
+                failed.addAll(userEvents);
+            }
+        });
+        return failed;
+    }
+
+    private boolean deliver(String type, List<OutboxEvent> events) {
+        List<OutboxHandler> typeHandlers = handlers.getOrDefault(type, List.of());
+        if (typeHandlers.isEmpty()) {
+            logger.warn("No outbox handler for {} events, dropping {}", type, events.size());
+            return true;
+        }
+        for (OutboxHandler handler : typeHandlers) {
+            try {
+                handler.handle(events);
+            } catch (Exception e) {
+                // The whole batch is retried, including handlers that already applied it
+                Counter.builder("fitness.outbox.failures")
+                        .description("Outbox batches a handler failed to apply")
+                        .tag("type", type)
+                        .register(meterRegistry)
+                        .increment();
+                logger.error("Outbox handler {} failed on {} {} events: {}",
+                        handler.getClass().getSimpleName(), events.size(), type, e.getMessage());
+                return false;
+            }
+        }
+        Counter.builder("fitness.outbox.processed")
+                .description("Outbox events applied to derived projections")
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(events.size());
+        return true;
+    }
+
+    private void scheduleRetries(List<OutboxEvent> failed, Instant now) {
+        BulkOperations retries = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEvent.class);
+        for (OutboxEvent event : failed) {
+            retries.updateOne(new Query(Criteria.where("_id").is(event.getId())), new Update()
+                    .inc("attempts", 1)
+                    .set("nextAttemptAt", retryAt(event.getAttempts(), now)));
+        }
+        retries.execute();
+    }
+
+    private void refreshLag() {
+        backlog.set(mongoTemplate.estimatedCount(OutboxEvent.class));
+        Query oldest = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(1);
+        oldest.fields().include("createdAt");
+        OutboxEvent event = mongoTemplate.findOne(oldest, OutboxEvent.class);
+        oldestAgeMillis.set(event != null && event.getCreatedAt() != null
+                ? Math.max(0, Duration.between(event.getCreatedAt(), clock.instant()).toMillis())
+                : 0);
+    }
+}
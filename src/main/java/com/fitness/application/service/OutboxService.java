@@ -0,0 +1,117 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Write side of the derived-data pipeline: services append an event after saving a change and
+ * return, and {@link OutboxProcessor} applies it to the projections in the background. The change
+ * and its event are not written in one transaction, so an event that can neither be applied nor
+ * queued is logged and counted as lost instead of failing a write that has already been saved.
+ */
+@Service
+public class OutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxProcessor processor;
+    private final Clock clock;
+    private final Counter inline;
+    private final Counter lost;
+
+    @Value("${app.outbox.partitions:8}")
+    private int partitions;
+
+    @Value("${app.outbox.max-backlog:10000}")
+    private long maxBacklog;
+
+    public OutboxService(MongoTemplate mongoTemplate, OutboxProcessor processor, Clock clock, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.processor = processor;
+        this.clock = clock;
+        this.inline = Counter.builder("fitness.outbox.inline")
+                .description("Outbox events applied on the writing thread because the backlog was full or the append failed")
+                .register(meterRegistry);
+        this.lost = Counter.builder("fitness.outbox.lost")
+                .description("Outbox events that could neither be applied nor queued; their projections are stale")
+                .register(meterRegistry);
+    }
+
+    public void append(String userId, String type, String action, String entityId, Map<String, Object> data) {
+        // The id is set here so an event applied inline is told apart from its redelivery too
+        append(new ObjectId().toHexString(), userId, type, action, entityId, data);
+    }
+
+    /**
+     * Appends an event under an id derived from its source, so appending it again is a no-op
+     * while it is queued and is counted once by the handlers that remember ids.
+     */
+    public void append(String id, String userId, String type, String action, String entityId, Map<String, Object> data) {
+        Instant now = clock.instant();
+        OutboxEvent event = OutboxEvent.builder()
+                .id(id)
+                .partition(partitionOf(userId, partitions))
+                .userId(userId)
+                .type(type)
+                .action(action)
+                .entityId(entityId)
+                .data(data)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+
+        // Past the backlog limit writers apply their own events, like the dashboard pool's
+        // caller-runs policy: load shows up as write latency instead of unbounded staleness.
+        // A user with events still queued gets this one queued behind them all the same.
+        if (processor.backlog() >= maxBacklog && !processor.hasQueued(event)) {
+            applyInline(event);
+            return;
+        }
+        try {
+            mongoTemplate.insert(event);
+        } catch (DuplicateKeyException e) {
+            return;
+        } catch (Exception e) {
+            logger.warn("Cannot append {} event for user {}, applying inline: {}", type, userId, e.getMessage());
+            applyInline(event);
+            return;
+        }
+        processor.wake(event.getPartition());
+    }
+
+    static int partitionOf(String userId, int partitions) {
+        return Math.floorMod(userId.hashCode(), partitions);
+    }
+
+    private void applyInline(OutboxEvent event) {
+        inline.increment();
+        if (processor.apply(event)) {
+            return;
+        }
+        // Queued for the drain to retry like any failed event, which also holds back the
+        // user's later events until it has been applied
+        event.setAttempts(1);
+        event.setNextAttemptAt(processor.retryAt(0, clock.instant()));
+        try {
+            mongoTemplate.insert(event);
+        } catch (Exception e) {
+            lost.increment();
+            logger.error("Lost {} {} event for {} {} of user {}: cannot apply or queue it: {}", event.getType(),
+                    event.getAction(), event.getType(), event.getEntityId(), event.getUserId(), e.getMessage());
+            return;
+        }
+        processor.wake(event.getPartition());
+    }
+}
@@ -0,0 +1,53 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+import com.fitness.application.repository.ProgressRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the personal record index current from progress outbox events, off the progress request
+ * path. A new entry is read back and checked against its exercise's bests, skipped if it has
+ * been deleted since, whose own event re-derives the exercise; edits, deletions and changes made
+ * outside the API re-derive the exercises they touched. Both are safe to repeat.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class PersonalRecordProjector implements OutboxHandler {
+    private final PersonalRecordService personalRecordService;
+    private final ProgressRepository progressRepository;
+
+    @Override
+    public Set<String> types() {
+        return Set.of("progress");
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            if ("created".equals(event.getAction())) {
+                progressRepository.findByIdAndUserId(event.getEntityId(), event.getUserId())
+                        .ifPresent(personalRecordService::recordCreated);
+                continue;
+            }
+
+            Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+            Set<String> exercises = new LinkedHashSet<>();
+            for (String field : List.of("previousExercise", "exercise")) {
+                if (data.get(field) != null) {
+                    exercises.add(data.get(field).toString());
+                }
+            }
+            if (!exercises.isEmpty()) {
+                personalRecordService.recordChanged(event.getUserId(), exercises);
+            }
+        }
+    }
+}
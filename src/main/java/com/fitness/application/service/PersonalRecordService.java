@@ -0,0 +1,299 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.PersonalRecordDto;
+import com.fitness.application.dto.PersonalRecordEntryDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.mapping.IsoDates;
+import com.fitness.application.model.PersonalRecord;
+import com.fitness.application.model.PersonalRecordEntry;
+import com.fitness.application.model.PersonalRecordIndex;
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.StrengthSet;
+import com.fitness.application.repository.PersonalRecordEntryRepository;
+import com.fitness.application.repository.PersonalRecordRepository;
+import com.fitness.application.repository.ProgressRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user, per-exercise personal record index from strength progress writes,
+ * applied by {@link PersonalRecordProjector} from the progress outbox events.
+ * A new entry is checked against its exercise's bests with conditional updates on one document;
+ * edits and deletions, which can take a record away, re-derive that exercise from its entries.
+ */
+@Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
+@RequiredArgsConstructor
+public class PersonalRecordService {
+    private final PersonalRecordRepository recordRepository;
+    private final PersonalRecordEntryRepository entryRepository;
+    private final ProgressRepository progressRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AchievementService achievementService;
+
+    public List<PersonalRecordDto> getRecords(String userId) {
+        ensureBuilt(userId);
+        return recordRepository.findByUserIdOrderByExercise(userId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<PersonalRecordEntryDto> getHistory(String userId, String exercise) {
+        String key = StrengthSet.normalizeExercise(exercise);
+        if (key == null) {
+            return List.of();
+        }
+        ensureBuilt(userId);
+        return entryRepository.findByUserIdAndExerciseOrderByDateDesc(userId, key)
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks a newly saved progress entry against its exercise's records.
+     */
+    public void recordCreated(Progress progress) {
+        StrengthSet set = StrengthSet.from(progress);
+        if (set == null) {
+            return;
+        }
+
+        String userId = progress.getUserId();
+        String id = PersonalRecord.id(userId, set.getExercise());
+        // $max keeps reps-at-weight current in the same round trip that fetches the old bests
+        Update repsAtWeight = new Update()
+                .max("repsAtWeight." + set.weightKey(), set.getReps())
+                .set("updatedAt", Instant.now());
+        PersonalRecord before = mongoTemplate.findAndModify(
+                byId(id), repsAtWeight, FindAndModifyOptions.options().returnNew(false), PersonalRecord.class);
+        if (before == null) {
+            // First entry for this exercise since the index existed; the rebuild includes it
+            List<PersonalRecordEntry> broken = rebuild(userId, set.getExercise()).stream()
+                    .filter(entry -> progress.getId().equals(entry.getProgressId()))
+                    .collect(Collectors.toList());
+            publish(userId, broken);
+            return;
+        }
+
+        List<PersonalRecordEntry> broken = new ArrayList<>(3);
+        double oneRepMax = set.estimatedOneRepMax();
+        if (oneRepMax > before.getBestOneRepMax() && raise(id, "bestOneRepMax", oneRepMax, new Update()
+                .set("bestOneRepMax", oneRepMax)
+                .set("oneRepMaxWeight", set.getWeight())
+                .set("oneRepMaxReps", set.getReps())
+                .set("oneRepMaxDate", progress.getDate())
+                .set("oneRepMaxProgressId", progress.getId()))) {
+            broken.add(entry(progress, set, PersonalRecordEntry.ONE_REP_MAX, oneRepMax));
+        }
+
+        double volume = set.volume();
+        if (volume > before.getBestVolume() && raise(id, "bestVolume", volume, new Update()
+                .set("bestVolume", volume)
+                .set("volumeDate", progress.getDate())
+                .set("volumeProgressId", progress.getId()))) {
+            broken.add(entry(progress, set, PersonalRecordEntry.VOLUME, volume));
+        }
+
+        Integer previousReps = before.getRepsAtWeight() != null ? before.getRepsAtWeight().get(set.weightKey()) : null;
+        if (previousReps != null && set.getReps() > previousReps) {
+            broken.add(entry(progress, set, PersonalRecordEntry.REPS_AT_WEIGHT, set.getReps()));
+        }
+
+        if (!broken.isEmpty()) {
+            entryRepository.saveAll(broken);
+            achievementService.recordsChanged(userId, set.getExercise(),
+                    entryRepository.countByUserIdAndExercise(userId, set.getExercise()));
+            publish(userId, broken);
+        }
+    }
+
+    /**
+     * Re-derives the exercises an edited or deleted entry belonged to, before and after the
+     * change, since it may have held their records.
+     */
+    public void recordChanged(String userId, Set<String> exercises) {
+        for (String exercise : exercises) {
+            rebuild(userId, exercise);
+            String id = PersonalRecord.id(userId, exercise);
+            PersonalRecordDto record = recordRepository.findById(id).map(this::convertToDto).orElse(null);
+            eventPublisher.publishEvent(new UserUpdateEvent(
+                    userId, "record", record != null ? "updated" : "deleted", id, record));
+        }
+    }
+
+    private boolean raise(String id, String field, double value, Update update) {
+        // Only applies while the stored best is still lower, so concurrent writers cannot regress it
+        Query lower = new Query(Criteria.where("_id").is(id).and(field).lt(value));
+        return mongoTemplate.updateFirst(lower, update, PersonalRecord.class).getModifiedCount() == 1;
+    }
+
+    private List<PersonalRecordEntry> rebuild(String userId, String exercise) {
+        List<Progress> entries = progressRepository.findByUserIdAndCategoryOrderByDateAsc(userId, StrengthSet.CATEGORY);
+        return replace(userId, exercise, entries);
+    }
+
+    /**
+     * Replays the strength entries a user logged before the index existed, once. From then on
+     * the outbox keeps the index current, so an exercise without a record has none. Rebuilds
+     * done there are followed by {@link AchievementProjector}; this one unlocks achievements
+     * itself, before the marker, so a failure is retried on the next read.
+     */
+    private void ensureBuilt(String userId) {
+        if (mongoTemplate.exists(byId(userId), PersonalRecordIndex.class)) {
+            return;
+        }
+        rebuildAll(userId);
+        achievementService.unlockEarned(userId);
+        mongoTemplate.save(PersonalRecordIndex.builder().id(userId).builtAt(Instant.now()).build());
+    }
+
+    private void rebuildAll(String userId) {
+        Map<String, List<Progress>> byExercise = new LinkedHashMap<>();
+        for (Progress progress : progressRepository.findByUserIdAndCategoryOrderByDateAsc(userId, StrengthSet.CATEGORY)) {
+            StrengthSet set = StrengthSet.from(progress);
+            if (set != null) {
+                byExercise.computeIfAbsent(set.getExercise(), exercise -> new ArrayList<>()).add(progress);
+            }
+        }
+        byExercise.forEach((exercise, entries) -> replace(userId, exercise, entries));
+    }
+
+    /**
+     * Replays an exercise's entries oldest first, replacing its record and history with the
+     * result. Returns the new history.
+     */
+    private List<PersonalRecordEntry> replace(String userId, String exercise, List<Progress> entriesByDate) {
+        PersonalRecord record = null;
+        List<PersonalRecordEntry> history = new ArrayList<>();
+        for (Progress progress : entriesByDate) {
+            StrengthSet set = StrengthSet.from(progress);
+            if (set == null || !set.getExercise().equals(exercise)) {
+                continue;
+            }
+            if (record == null) {
+                record = PersonalRecord.builder()
+                        .id(PersonalRecord.id(userId, exercise))
+                        .userId(userId)
+                        .exercise(exercise)
+                        .repsAtWeight(new HashMap<>())
+                        .build();
+            }
+
+            double oneRepMax = set.estimatedOneRepMax();
+            if (oneRepMax > record.getBestOneRepMax()) {
+                record.setBestOneRepMax(oneRepMax);
+                record.setOneRepMaxWeight(set.getWeight());
+                record.setOneRepMaxReps(set.getReps());
+                record.setOneRepMaxDate(progress.getDate());
+                record.setOneRepMaxProgressId(progress.getId());
+                history.add(entry(progress, set, PersonalRecordEntry.ONE_REP_MAX, oneRepMax));
+            }
+            double volume = set.volume();
+            if (volume > record.getBestVolume()) {
+                record.setBestVolume(volume);
+                record.setVolumeDate(progress.getDate());
+                record.setVolumeProgressId(progress.getId());
+                history.add(entry(progress, set, PersonalRecordEntry.VOLUME, volume));
+            }
+            Integer previousReps = record.getRepsAtWeight().get(set.weightKey());
+            if (previousReps == null || set.getReps() > previousReps) {
+                record.getRepsAtWeight().put(set.weightKey(), set.getReps());
+                // A first set at a weight sets the mark without counting as beating it
+                if (previousReps != null) {
+                    history.add(entry(progress, set, PersonalRecordEntry.REPS_AT_WEIGHT, set.getReps()));
+                }
+            }
+        }
+
+        entryRepository.deleteByUserIdAndExercise(userId, exercise);
+        if (record == null) {
+            recordRepository.deleteById(PersonalRecord.id(userId, exercise));
+            achievementService.recordsChanged(userId, exercise, 0);
+            return List.of();
+        }
+        record.setUpdatedAt(Instant.now());
+        recordRepository.save(record);
+        List<PersonalRecordEntry> saved = entryRepository.saveAll(history);
+        achievementService.recordsChanged(userId, exercise, saved.size());
+        return saved;
+    }
+
+    private void publish(String userId, List<PersonalRecordEntry> broken) {
+        for (PersonalRecordEntry entry : broken) {
+            eventPublisher.publishEvent(new UserUpdateEvent(userId, "record", "created", entry.getId(), convertToDto(entry)));
+        }
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static PersonalRecordEntry entry(Progress progress, StrengthSet set, String kind, double value) {
+        return PersonalRecordEntry.builder()
+                .userId(progress.getUserId())
+                .exercise(set.getExercise())
+                .kind(kind)
+                .value(value)
+                .weight(set.getWeight())
+                .reps(set.getReps())
+                .sets(set.getSets())
+                .date(progress.getDate())
+                .progressId(progress.getId())
+                .build();
+    }
+
+    private PersonalRecordDto convertToDto(PersonalRecord record) {
+        // Keyed by plain weight and sorted numerically rather than by key text
+        Map<Long, Integer> byHundredths = new TreeMap<>();
+        if (record.getRepsAtWeight() != null) {
+            record.getRepsAtWeight().forEach((key, reps) -> byHundredths.put(Long.parseLong(key), reps));
+        }
+        Map<String, Integer> repsAtWeight = new LinkedHashMap<>();
+        byHundredths.forEach((hundredths, reps) -> repsAtWeight.put(
+                BigDecimal.valueOf(hundredths, 2).stripTrailingZeros().toPlainString(), reps));
+
+        return PersonalRecordDto.builder()
+                .exercise(record.getExercise())
+                .oneRepMax(record.getBestOneRepMax())
+                .oneRepMaxWeight(record.getOneRepMaxWeight())
+                .oneRepMaxReps(record.getOneRepMaxReps())
+                .oneRepMaxDate(IsoDates.format(record.getOneRepMaxDate()))
+                .bestVolume(record.getBestVolume())
+                .bestVolumeDate(IsoDates.format(record.getVolumeDate()))
+                .repsAtWeight(repsAtWeight)
+                .build();
+    }
+
+    private PersonalRecordEntryDto convertToDto(PersonalRecordEntry entry) {
+        return PersonalRecordEntryDto.builder()
+                .exercise(entry.getExercise())
+                .kind(entry.getKind())
+                .value(entry.getValue())
+                .weight(entry.getWeight())
+                .reps(entry.getReps())
+                .sets(entry.getSets())
+                .date(IsoDates.format(entry.getDate()))
+                .progressId(entry.getProgressId())
+                .build();
+    }
+}
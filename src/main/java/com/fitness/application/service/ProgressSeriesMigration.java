@@ -0,0 +1,102 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.ProgressMeasurement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copies the progress collection into the progress_series time-series collection, one user at
+ * a time, when app.progress.migrate-to-timeseries=true. Time-series collections have no unique
+ * _id index, so entries already in a user's series are skipped by id and the migration can be
+ * rerun to pick up writes that landed before the switch. The progress collection is left as it
+ * was. Entries without a date have no time field and are counted and skipped.
+ */
+@Component
+public class ProgressSeriesMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ProgressSeriesMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+
+    @Value("${app.progress.migrate-to-timeseries:false}")
+    private boolean enabled;
+
+    @Value("${app.progress.migration-lease-ttl-ms:600000}")
+    private long leaseTtlMs;
+
+    public ProgressSeriesMigration(MongoTemplate mongoTemplate, LeaseService leaseService) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled || !leaseService.tryAcquire("progress-series-migration", Duration.ofMillis(leaseTtlMs))) {
+            return;
+        }
+        long started = System.nanoTime();
+        long[] counts = new long[4]; // users, copied, already present, skipped
+        try (Stream<Progress> entries = mongoTemplate.stream(
+                new Query().with(Sort.by("userId")), Progress.class)) {
+            String userId = null;
+            List<Progress> userEntries = new ArrayList<>();
+            for (Progress progress : (Iterable<Progress>) entries::iterator) {
+                if (!progress.getUserId().equals(userId)) {
+                    flush(userId, userEntries, counts);
+                    userId = progress.getUserId();
+                }
+                if (progress.getDate() == null) {
+                    counts[3]++;
+                    continue;
+                }
+                userEntries.add(progress);
+            }
+            flush(userId, userEntries, counts);
+            logger.info("Copied {} progress entries of {} users to progress_series in {} ms, {} already there, skipped {} without a date",
+                    counts[1], counts[0], Duration.ofNanos(System.nanoTime() - started).toMillis(), counts[2], counts[3]);
+        } catch (Exception e) {
+            logger.error("Progress series migration stopped after {} users: {}", counts[0], e.getMessage());
+        } finally {
+            leaseService.release("progress-series-migration");
+        }
+    }
+
+    private void flush(String userId, List<Progress> userEntries, long[] counts) {
+        if (userId == null) {
+            return;
+        }
+        Query existing = new Query(Criteria.where("meta.userId").is(userId));
+        existing.fields().include("_id");
+        Set<String> present = new HashSet<>();
+        mongoTemplate.find(existing, ProgressMeasurement.class).forEach(measurement -> present.add(measurement.getId()));
+
+        List<ProgressMeasurement> missing = userEntries.stream()
+                .filter(progress -> !present.contains(progress.getId()))
+                .map(ProgressMeasurement::from)
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            mongoTemplate.insertAll(missing);
+        }
+        counts[1] += missing.size();
+        counts[2] += userEntries.size() - missing.size();
+        userEntries.clear();
+        counts[0]++;
+    }
+}
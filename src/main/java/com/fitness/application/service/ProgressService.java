@@ -2,41 +2,82 @@
 package com.fitness.application.service;
 
 import com.fitness.application.dto.ProgressDto;
+import com.fitness.application.dto.ProgressPointDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.mapping.IsoDates;
+import com.fitness.application.mapping.ProgressMapper;
 import com.fitness.application.model.Progress;
+import com.fitness.application.model.StrengthSet;
 import com.fitness.application.repository.ProgressRepository;
+import com.fitness.application.routing.ReadRoute;
+import com.fitness.application.routing.RoutedRead;
 import com.fitness.application.security.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
 @RequiredArgsConstructor
 public class ProgressService {
+    private static final List<String> DOWNSAMPLE_UNITS = List.of("day", "week", "month");
+    
     private final ProgressRepository progressRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncSequenceService syncSequenceService;
+    private final Clock clock;
+    private final OutboxService outboxService;
     
-    @Cacheable(value = "progress", key = "#user.id + '_' + #category")
+    @Cacheable(value = "progress", key = "#user.id + '_' + #category", sync = true)
+    @RoutedRead(ReadRoute.HISTORY)
     public List<ProgressDto> getUserProgress(UserDetailsImpl user, String category) {
         return progressRepository.findByUserIdAndCategoryOrderByDateDesc(user.getId(), category)
                 .stream()
-                .map(this::convertToDto)
+                .map(ProgressMapper::toDto)
                 .collect(Collectors.toList());
     }
     
-    @Cacheable(value = "progress", key = "#user.id + '_' + #category + '_range_' + #start + '_' + #end")
-    public List<ProgressDto> getProgressByDateRange(UserDetailsImpl user, String category, LocalDate start, LocalDate end) {
-        return progressRepository.findByUserIdAndCategoryAndDateBetween(user.getId(), category, start, end)
-                .stream()
-                .map(this::convertToDto)
+    // Uncached cursor-backed reads for the streamed list endpoints; the caller closes the stream
+    @RoutedRead(ReadRoute.HISTORY)
+    public Stream<Progress> streamUserProgress(UserDetailsImpl user, String category) {
+        return progressRepository.streamByUserIdAndCategoryOrderByDateDesc(user.getId(), category);
+    }
+    
+    @RoutedRead(ReadRoute.HISTORY)
+    public Stream<Progress> streamProgressByDateRange(UserDetailsImpl user, String category, LocalDate start, LocalDate end) {
+        return progressRepository.streamByUserIdAndCategoryAndDateBetween(user.getId(), category, start, end);
+    }
+    
+    @RoutedRead(ReadRoute.ANALYTICS)
+    public List<ProgressPointDto> getDownsampledProgress(UserDetailsImpl user, String category,
+                                                         LocalDate start, LocalDate end, String unit) {
+        if (!DOWNSAMPLE_UNITS.contains(unit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unit must be one of " + DOWNSAMPLE_UNITS);
+        }
+        return progressRepository.downsample(user.getId(), category, start, end, unit).stream()
+                .map(point -> ProgressPointDto.builder()
+                        .date(IsoDates.format(point.period()))
+                        .average(point.average())
+                        .min(point.min())
+                        .max(point.max())
+                        .count(point.count())
+                        .build())
                 .collect(Collectors.toList());
     }
     
@@ -48,33 +89,33 @@ public class ProgressService {
         }
     )
     public ProgressDto addProgressData(ProgressDto progressDto, UserDetailsImpl user) {
-        Progress progress = convertToEntity(progressDto);
+        Progress progress = ProgressMapper.toEntity(progressDto);
         progress.setUserId(user.getId());
         
+        stamp(progress);
         Progress savedProgress = progressRepository.save(progress);
-        return convertToDto(savedProgress);
+        return publish(savedProgress, "created", null);
     }
     
     @Transactional
     @CachePut(value = "progress", key = "#result.id")
     @CacheEvict(value = "progress", allEntries = true)
     public ProgressDto updateProgressData(ProgressDto progressDto, UserDetailsImpl user) {
-        Progress existingProgress = progressRepository.findById(progressDto.getId())
+        // Scoped to the owner, so another user's data reads as not found
+        Progress existingProgress = progressRepository.findByIdAndUserId(progressDto.getId(), user.getId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Progress data not found"));
         
-        // Verify user owns this data
-        if (!existingProgress.getUserId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to update this progress data");
-        }
+        StrengthSet previousSet = StrengthSet.from(existingProgress);
         
         // Update fields
         existingProgress.setCategory(progressDto.getCategory());
-        existingProgress.setDate(LocalDate.parse(progressDto.getDate()));
+        existingProgress.setDate(IsoDates.parse(progressDto.getDate()));
         existingProgress.setValue(progressDto.getValue());
         existingProgress.setAdditionalData(progressDto.getAdditionalData());
         
+        stamp(existingProgress);
         Progress updatedProgress = progressRepository.save(existingProgress);
-        return convertToDto(updatedProgress);
+        return publish(updatedProgress, "updated", previousSet);
     }
     
     @Transactional
@@ -85,35 +126,43 @@ public class ProgressService {
         }
     )
     public void deleteProgressData(String id, UserDetailsImpl user) {
-        Progress existingProgress = progressRepository.findById(id)
+        Progress existingProgress = progressRepository.findByIdAndUserId(id, user.getId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Progress data not found"));
         
-        // Verify user owns this data
-        if (!existingProgress.getUserId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to delete this progress data");
-        }
-        
-        progressRepository.deleteById(id);
+        progressRepository.deleteByIdAndUserId(id, user.getId());
+        syncSequenceService.recordDeletion(user.getId(), "progress", id);
+        eventPublisher.publishEvent(new UserUpdateEvent(user.getId(), "progress", "deleted", id, null));
+        appendToOutbox(user.getId(), "deleted", id, null, StrengthSet.from(existingProgress));
+    }
+    
+    public List<Progress> findChangedSince(String userId, Long since) {
+        return since == null
+                ? progressRepository.findByUserId(userId)
+                : progressRepository.findByUserIdAndSyncSeqGreaterThan(userId, since);
+    }
+    
+    private void stamp(Progress progress) {
+        progress.setSyncSeq(syncSequenceService.nextSeq(progress.getUserId()));
+        progress.setUpdatedAt(clock.instant());
     }
     
-    // Helper methods for DTO conversion
-    private ProgressDto convertToDto(Progress progress) {
-        return ProgressDto.builder()
-                .id(progress.getId())
-                .category(progress.getCategory())
-                .date(progress.getDate().toString())
-                .value(progress.getValue())
-                .additionalData(progress.getAdditionalData())
-                .build();
+    private ProgressDto publish(Progress progress, String action, StrengthSet previous) {
+        ProgressDto dto = ProgressMapper.toDto(progress);
+        eventPublisher.publishEvent(new UserUpdateEvent(progress.getUserId(), "progress", action, progress.getId(), dto));
+        appendToOutbox(progress.getUserId(), action, progress.getId(), StrengthSet.from(progress), previous);
+        return dto;
     }
     
-    private Progress convertToEntity(ProgressDto dto) {
-        return Progress.builder()
-                .id(dto.getId())
-                .category(dto.getCategory())
-                .date(LocalDate.parse(dto.getDate()))
-                .value(dto.getValue())
-                .additionalData(dto.getAdditionalData())
-                .build();
+    // Personal records and achievements are brought up to date by the outbox handlers, after the response
+    private void appendToOutbox(String userId, String action, String id, StrengthSet current, StrengthSet previous) {
+        Map<String, Object> data = new HashMap<>();
+        if (current != null) {
+            data.put("exercise", current.getExercise());
+        }
+        if (previous != null) {
+            data.put("previousExercise", previous.getExercise());
+        }
+        outboxService.append(userId, "progress", action, id, data);
     }
+    
 }
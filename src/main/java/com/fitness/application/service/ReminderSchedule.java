@@ -0,0 +1,81 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.ReminderPreference;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Computes when a user's next workout reminder is due.
+ */
+final class ReminderSchedule {
+    static final String DEFAULT_TIME = "08:00";
+
+    private ReminderSchedule() {
+    }
+
+    static int partitionOf(String userId, int partitions) {
+        return Math.floorMod(userId.hashCode(), partitions);
+    }
+
+    /**
+     * Returns the first reminder instant strictly after {@code after}, or null when
+     * reminders are disabled or no day is selected.
+     */
+    static Instant nextDueAt(ReminderPreference preference, Instant after) {
+        if (!preference.isWorkoutRemindersEnabled()) {
+            return null;
+        }
+
+        Set<DayOfWeek> days = activeDays(preference);
+        if (days.isEmpty()) {
+            return null;
+        }
+
+        ZoneId zone = zoneOf(preference);
+        LocalTime time = LocalTime.parse(preference.getTime() != null ? preference.getTime() : DEFAULT_TIME);
+        LocalDate date = after.atZone(zone).toLocalDate();
+
+        // At most one week ahead holds the next selected day
+        for (int i = 0; i <= 7; i++) {
+            LocalDate candidateDate = date.plusDays(i);
+            if (!days.contains(candidateDate.getDayOfWeek())) {
+                continue;
+            }
+            Instant candidate = ZonedDateTime.of(candidateDate, time, zone).toInstant();
+            if (candidate.isAfter(after)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Set<DayOfWeek> activeDays(ReminderPreference preference) {
+        if (!"custom".equals(preference.getFrequency())) {
+            return EnumSet.allOf(DayOfWeek.class);
+        }
+
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        List<String> selected = preference.getDays();
+        if (selected != null) {
+            for (String day : selected) {
+                days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return days;
+    }
+
+    private static ZoneId zoneOf(ReminderPreference preference) {
+        String timezone = preference.getTimezone();
+        return timezone != null && !timezone.isBlank() ? ZoneId.of(timezone) : ZoneOffset.UTC;
+    }
+}
@@ -0,0 +1,125 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Notification;
+import com.fitness.application.model.ReminderPreference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires due workout reminders from the (partition, nextDueAt) index. Partitions are owned
+ * through leases, so each one is drained by exactly one node at a time, batch by batch.
+ * Reminders are fired at least once: a batch whose rescheduling fails after delivery is fired
+ * again on the next poll.
+ */
+@Component
+public class ReminderScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final NotificationService notificationService;
+    private final Clock clock;
+
+    @Value("${app.notifications.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.scheduler.partitions:16}")
+    private int partitions;
+
+    @Value("${app.notifications.scheduler.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notifications.scheduler.max-batches-per-partition:20}")
+    private int maxBatchesPerPartition;
+
+    @Value("${app.notifications.scheduler.lease-ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    public ReminderScheduler(MongoTemplate mongoTemplate,
+                             LeaseService leaseService,
+                             NotificationService notificationService,
+                             Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.notificationService = notificationService;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.scheduler.poll-interval-ms:15000}")
+    public void fireDueReminders() {
+        if (!enabled) {
+            return;
+        }
+
+        Duration leaseTtl = Duration.ofMillis(leaseTtlMs);
+        for (int partition = 0; partition < partitions; partition++) {
+            String leaseName = "reminders-" + partition;
+            if (!leaseService.tryAcquire(leaseName, leaseTtl)) {
+                continue;
+            }
+            try {
+                drainPartition(partition, leaseName, leaseTtl);
+            } catch (Exception e) {
+                logger.error("Reminder partition {} failed: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    int drainPartition(int partition, String leaseName, Duration leaseTtl) {
+        int fired = 0;
+        for (int batch = 0; batch < maxBatchesPerPartition; batch++) {
+            int processed = processBatch(partition, clock.instant());
+            fired += processed;
+
+            // Stop when drained, or if the lease was lost to another node mid-way
+            if (processed < batchSize || !leaseService.tryAcquire(leaseName, leaseTtl)) {
+                break;
+            }
+        }
+        return fired;
+    }
+
+    int processBatch(int partition, Instant now) {
+        Query dueQuery = new Query(Criteria.where("partition").is(partition)
+                .and("nextDueAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "nextDueAt"))
+                .limit(batchSize);
+        List<ReminderPreference> due = mongoTemplate.find(dueQuery, ReminderPreference.class);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> notifications = new ArrayList<>(due.size());
+        for (ReminderPreference preference : due) {
+            notifications.add(notificationService.workoutReminder(preference.getUserId()));
+        }
+        // Delivered before rescheduling, so a failed delivery leaves the batch due for the next
+        // poll instead of skipping those reminders to their next occurrence
+        notificationService.deliver(notifications);
+
+        BulkOperations reschedule = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReminderPreference.class);
+        for (ReminderPreference preference : due) {
+            // Guarding on the old due time keeps a concurrent preference change from being overwritten
+            Query current = new Query(Criteria.where("_id").is(preference.getId())
+                    .and("nextDueAt").is(preference.getNextDueAt()));
+            reschedule.updateOne(current, new Update().set("nextDueAt", ReminderSchedule.nextDueAt(preference, now)));
+        }
+        reschedule.execute();
+        return due.size();
+    }
+}
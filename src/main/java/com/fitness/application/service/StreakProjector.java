@@ -0,0 +1,66 @@
+package com.fitness.application.service;
+
+import com.fitness.application.mapping.IsoDates;
+import com.fitness.application.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps streaks current from workout outbox events, off the workout request path. A batch is
+ * folded per user: workouts that were only just completed extend the streak incrementally,
+ * and anything that can shorten it (un-completing, deleting, moving a completed workout)
+ * recalculates the streak once for the whole batch, as does a change made outside the API.
+ * Both are safe to repeat.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class StreakProjector implements OutboxHandler {
+    private final StreakService streakService;
+
+    @Override
+    public Set<String> types() {
+        return Set.of("workout");
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        Map<String, List<OutboxEvent>> byUser = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(event);
+        }
+
+        byUser.forEach((userId, userEvents) -> {
+            boolean recalculate = false;
+            List<LocalDate> completedDates = new ArrayList<>();
+            for (OutboxEvent event : userEvents) {
+                Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+                boolean wasCompleted = Boolean.TRUE.equals(data.get("previousCompleted"));
+                boolean completed = Boolean.TRUE.equals(data.get("completed"));
+                Object date = data.get("date");
+                if ("external".equals(event.getAction())) {
+                    recalculate = true;
+                } else if (wasCompleted && !(completed && Objects.equals(date, data.get("previousDate")))) {
+                    recalculate = true;
+                } else if (completed && !wasCompleted && date != null) {
+                    completedDates.add(IsoDates.parse(date.toString()));
+                }
+            }
+
+            if (recalculate) {
+                streakService.recalculateStreak(userId);
+            } else {
+                completedDates.stream().sorted().forEach(date -> streakService.updateStreak(userId, date));
+            }
+        });
+    }
+}
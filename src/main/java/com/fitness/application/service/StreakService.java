@@ -1,11 +1,19 @@
 package com.fitness.application.service;
 
 import com.fitness.application.dto.StreakDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.mapping.IsoDates;
 import com.fitness.application.model.Streak;
 import com.fitness.application.model.Workout;
 import com.fitness.application.repository.StreakRepository;
 import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.routing.ReadRoute;
+import com.fitness.application.routing.RoutedRead;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,11 +25,15 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
 @RequiredArgsConstructor
 public class StreakService {
     private final StreakRepository streakRepository;
     private final WorkoutRepository workoutRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
+    @Cacheable(value = "streaks", key = "#userId", sync = true)
+    @RoutedRead(ReadRoute.HISTORY)
     public StreakDto getUserStreak(String userId) {
         Streak streak = streakRepository.findByUserId(userId)
                 .orElse(Streak.builder()
@@ -34,6 +46,7 @@ public class StreakService {
     }
     
     @Transactional
+    @CacheEvict(value = "streaks", key = "#userId")
     public void updateStreak(String userId, LocalDate workoutDate) {
         Streak streak = streakRepository.findByUserId(userId)
                 .orElse(Streak.builder()
@@ -80,13 +93,14 @@ public class StreakService {
             streak.setLongestStreak(streak.getCurrentStreak());
         }
         
-        streakRepository.save(streak);
+        saveAndPublish(streak);
         
         // Check if streak should be broken due to missed days
         checkAndUpdateMissedDays(streak.getUserId());
     }
     
     @Transactional
+    @CacheEvict(value = "streaks", key = "#userId")
     public void recalculateStreak(String userId) {
         // Get all completed workouts for user, sorted by date
         List<Workout> completedWorkouts = workoutRepository.findByUserId(userId).stream()
@@ -101,7 +115,7 @@ public class StreakService {
             streak.setCurrentStreak(0);
             streak.setLastWorkoutDate(null);
             // Keep longest streak as is
-            streakRepository.save(streak);
+            saveAndPublish(streak);
             return;
         }
         
@@ -146,7 +160,7 @@ public class StreakService {
             streak.setLongestStreak(maxStreak);
         }
         
-        streakRepository.save(streak);
+        saveAndPublish(streak);
         
         // Check if streak should be broken due to missed days
         checkAndUpdateMissedDays(userId);
@@ -166,16 +180,22 @@ public class StreakService {
         long daysSinceLastWorkout = ChronoUnit.DAYS.between(lastWorkoutDate, today);
         if (daysSinceLastWorkout > 1) {
             streak.setCurrentStreak(0);
-            streakRepository.save(streak);
+            saveAndPublish(streak);
         }
     }
     
+    private void saveAndPublish(Streak streak) {
+        Streak savedStreak = streakRepository.save(streak);
+        eventPublisher.publishEvent(new UserUpdateEvent(
+                savedStreak.getUserId(), "streak", "updated", savedStreak.getId(), convertToDto(savedStreak)));
+    }
+    
     // Helper method for DTO conversion
     private StreakDto convertToDto(Streak streak) {
         return StreakDto.builder()
                 .currentStreak(streak.getCurrentStreak())
                 .longestStreak(streak.getLongestStreak())
-                .lastWorkoutDate(streak.getLastWorkoutDate() != null ? streak.getLastWorkoutDate().toString() : null)
+                .lastWorkoutDate(IsoDates.format(streak.getLastWorkoutDate()))
                 .build();
     }
 }
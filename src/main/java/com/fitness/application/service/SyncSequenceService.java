@@ -0,0 +1,49 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.SyncCounter;
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.repository.SyncTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+
+/**
+ * Hands out per-user update sequence numbers and records deletions for delta sync.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncSequenceService {
+    private final MongoTemplate mongoTemplate;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final Clock clock;
+
+    public long nextSeq(String userId) {
+        SyncCounter counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(userId)),
+                new Update().inc("seq", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                SyncCounter.class);
+        return counter.getSeq();
+    }
+
+    public void recordDeletion(String userId, String type, String entityId) {
+        tombstoneRepository.save(SyncTombstone.builder()
+                .userId(userId)
+                .type(type)
+                .entityId(entityId)
+                .syncSeq(nextSeq(userId))
+                .deletedAt(clock.instant())
+                .build());
+    }
+
+    public SyncCounter getCounter(String userId) {
+        SyncCounter counter = mongoTemplate.findById(userId, SyncCounter.class);
+        return counter != null ? counter : SyncCounter.builder().id(userId).build();
+    }
+}
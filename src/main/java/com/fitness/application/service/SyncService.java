@@ -0,0 +1,109 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.DeletedEntityDto;
+import com.fitness.application.dto.SyncResponseDto;
+import com.fitness.application.model.Goal;
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.SyncCounter;
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.SyncTombstoneRepository;
+import com.fitness.application.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for offline clients. A token is a per-user sequence number at or below which the
+ * client has every change; a missing or compacted-away token gets a full snapshot instead of a
+ * delta. Numbers are handed out before their write is saved, so a lower number can still be
+ * unsaved when a higher one is returned. The token therefore only moves past changes stamped
+ * more than the commit margin ago, by when every write that took a lower number has been saved
+ * or has failed. Newer changes are sent again on the next sync, which clients apply by id.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private final WorkoutService workoutService;
+    private final GoalService goalService;
+    private final ProgressService progressService;
+    private final SyncSequenceService syncSequenceService;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final Clock clock;
+
+    @Value("${app.sync.commit-margin-ms:60000}")
+    private long commitMarginMs;
+
+    public SyncResponseDto sync(UserDetailsImpl user, String sinceToken) {
+        String userId = user.getId();
+        Long since = parseToken(sinceToken);
+        // Taken before the reads, so every write settled by then is in their results
+        Instant settled = clock.instant().minusMillis(commitMarginMs);
+
+        SyncCounter counter = syncSequenceService.getCounter(userId);
+        boolean fullResync = since == null || since < counter.getCompactedSeq() || since > counter.getSeq();
+        Long query = fullResync ? null : since;
+
+        long token = fullResync ? 0 : since;
+
+        // Entities go out as-is; EntityJsonModule writes them in their DTO shape without a copy
+        List<Workout> workouts = workoutService.findChangedSince(userId, query);
+        for (Workout workout : workouts) {
+            token = advance(token, workout.getSyncSeq(), workout.getUpdatedAt(), settled);
+        }
+
+        List<Goal> goals = goalService.findChangedSince(userId, query);
+        for (Goal goal : goals) {
+            token = advance(token, goal.getSyncSeq(), goal.getUpdatedAt(), settled);
+        }
+
+        List<Progress> progress = progressService.findChangedSince(userId, query);
+        for (Progress entry : progress) {
+            token = advance(token, entry.getSyncSeq(), entry.getUpdatedAt(), settled);
+        }
+
+        // A snapshot already reflects every deletion, so tombstones only matter for deltas
+        List<DeletedEntityDto> deleted = new ArrayList<>();
+        if (!fullResync) {
+            for (SyncTombstone tombstone : tombstoneRepository.findByUserIdAndSyncSeqGreaterThan(userId, since)) {
+                deleted.add(DeletedEntityDto.builder()
+                        .type(tombstone.getType())
+                        .id(tombstone.getEntityId())
+                        .build());
+                token = advance(token, tombstone.getSyncSeq(), tombstone.getDeletedAt(), settled);
+            }
+        }
+
+        return SyncResponseDto.builder()
+                .fullResync(fullResync)
+                .workouts(workouts)
+                .goals(goals)
+                .progress(progress)
+                .deleted(deleted)
+                .nextToken(String.valueOf(token))
+                .build();
+    }
+
+    private static long advance(long token, long seq, Instant stampedAt, Instant settled) {
+        // Entities from before sync sequencing have no stamp, and are long settled
+        return stampedAt == null || stampedAt.isBefore(settled) ? Math.max(token, seq) : token;
+    }
+
+    private Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.SyncCounter;
+import com.fitness.application.model.SyncTombstone;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drops tombstones past their retention. Each user's counter remembers the highest sequence
+ * removed, so clients holding an older token are sent a full snapshot instead of a lossy delta.
+ */
+@Component
+public class SyncTombstoneCompactor {
+    private static final Logger logger = LoggerFactory.getLogger(SyncTombstoneCompactor.class);
+    private static final String LEASE_NAME = "sync-tombstone-compaction";
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final Clock clock;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    public SyncTombstoneCompactor(MongoTemplate mongoTemplate, LeaseService leaseService, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.sync.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            int users = compactBefore(clock.instant().minus(Duration.ofDays(retentionDays)));
+            logger.info("Compacted sync tombstones for {} users", users);
+        } catch (Exception e) {
+            logger.error("Sync tombstone compaction failed: {}", e.getMessage());
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    int compactBefore(Instant cutoff) {
+        Criteria expired = Criteria.where("deletedAt").lt(cutoff);
+        Aggregation highestPerUser = Aggregation.newAggregation(
+                Aggregation.match(expired),
+                Aggregation.group("userId").max("syncSeq").as("maxSeq"));
+        List<Document> results = mongoTemplate.aggregate(highestPerUser, SyncTombstone.class, Document.class)
+                .getMappedResults();
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        // Raise the watermark before deleting, so a crash in between never loses a deletion
+        BulkOperations watermarks = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SyncCounter.class);
+        for (Document result : results) {
+            watermarks.updateOne(new Query(Criteria.where("_id").is(result.getString("_id"))),
+                    new Update().max("compactedSeq", result.get("maxSeq", Number.class).longValue()));
+        }
+        watermarks.execute();
+
+        mongoTemplate.remove(new Query(expired), SyncTombstone.class);
+        return results.size();
+    }
+}
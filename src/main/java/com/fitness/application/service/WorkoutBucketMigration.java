@@ -0,0 +1,95 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.WorkoutBucketStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Copies the workouts collection into per-user monthly buckets, one user at a time, when
+ * app.workouts.migrate-to-buckets=true. The workouts collection is left as it was, so storage
+ * can be switched back; rerun the migration after switching to buckets to pick up writes that
+ * landed in between. Workouts without a date cannot be bucketed and are counted and skipped.
+ */
+@Component
+public class WorkoutBucketMigration {
+    private static final Logger logger = LoggerFactory.getLogger(WorkoutBucketMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final WorkoutBucketStore bucketStore;
+    private final LeaseService leaseService;
+
+    @Value("${app.workouts.migrate-to-buckets:false}")
+    private boolean enabled;
+
+    @Value("${app.workouts.migration-lease-ttl-ms:600000}")
+    private long leaseTtlMs;
+
+    public WorkoutBucketMigration(MongoTemplate mongoTemplate,
+                                  WorkoutBucketStore bucketStore,
+                                  LeaseService leaseService) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketStore = bucketStore;
+        this.leaseService = leaseService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled || !leaseService.tryAcquire("workout-bucket-migration", Duration.ofMillis(leaseTtlMs))) {
+            return;
+        }
+        long started = System.nanoTime();
+        long[] counts = new long[3]; // users, workouts, skipped
+        try (Stream<Workout> workouts = mongoTemplate.stream(
+                new Query().with(Sort.by("userId")), Workout.class)) {
+            String userId = null;
+            Map<LocalDate, List<Workout>> months = new TreeMap<>();
+            for (Workout workout : (Iterable<Workout>) workouts::iterator) {
+                if (!workout.getUserId().equals(userId)) {
+                    flush(userId, months, counts);
+                    userId = workout.getUserId();
+                }
+                if (workout.getDate() == null) {
+                    counts[2]++;
+                    continue;
+                }
+                months.computeIfAbsent(YearMonth.from(workout.getDate()).atDay(1), month -> new ArrayList<>()).add(workout);
+            }
+            flush(userId, months, counts);
+            logger.info("Bucketed {} workouts of {} users in {} ms, skipped {} without a date",
+                    counts[1], counts[0], Duration.ofNanos(System.nanoTime() - started).toMillis(), counts[2]);
+        } catch (Exception e) {
+            logger.error("Workout bucket migration stopped after {} users: {}", counts[0], e.getMessage());
+        } finally {
+            leaseService.release("workout-bucket-migration");
+        }
+    }
+
+    private void flush(String userId, Map<LocalDate, List<Workout>> months, long[] counts) {
+        if (userId == null) {
+            return;
+        }
+        months.forEach((month, workouts) -> {
+            bucketStore.merge(userId, month, workouts);
+            counts[1] += workouts.size();
+        });
+        months.clear();
+        counts[0]++;
+    }
+}
@@ -1,66 +1,78 @@
 package com.fitness.application.service;
 
 import com.fitness.application.dto.WorkoutDto;
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.mapping.WorkoutMapper;
 import com.fitness.application.model.Workout;
 import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.routing.ReadRoute;
+import com.fitness.application.routing.RoutedRead;
 import com.fitness.application.security.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "fitness.service", description = "Domain service method latency")
 @RequiredArgsConstructor
 public class WorkoutService {
     private final WorkoutRepository workoutRepository;
-    private final StreakService streakService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncSequenceService syncSequenceService;
+    private final Clock clock;
+    private final OutboxService outboxService;
     
-    @Cacheable(value = "workouts", key = "#user.getId()")
+    @Cacheable(value = "workouts", key = "#user.getId()", sync = true)
+    @RoutedRead(ReadRoute.HISTORY)
     public List<WorkoutDto> getAllWorkouts(UserDetailsImpl user) {
         return workoutRepository.findByUserIdOrderByDateDesc(user.getId())
                 .stream()
-                .map(this::convertToDto)
+                .map(WorkoutMapper::toDto)
                 .collect(Collectors.toList());
     }
     
-    @Cacheable(value = "workouts", key = "#user.getId() + '_range_' + #days")
-    public List<WorkoutDto> getWorkoutsByDateRange(UserDetailsImpl user, int days) {
+    // Uncached cursor-backed reads for the streamed list endpoints; the caller closes the stream
+    @RoutedRead(ReadRoute.HISTORY)
+    public Stream<Workout> streamAllWorkouts(UserDetailsImpl user) {
+        return workoutRepository.streamByUserIdOrderByDateDesc(user.getId());
+    }
+    
+    @RoutedRead(ReadRoute.HISTORY)
+    public Stream<Workout> streamWorkoutsByDateRange(UserDetailsImpl user, int days) {
         LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(days);
-        
-        return workoutRepository.findByUserIdAndDateBetween(user.getId(), startDate, endDate)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return workoutRepository.streamByUserIdAndDateBetween(user.getId(), endDate.minusDays(days), endDate);
     }
     
-    @Cacheable(value = "workouts", key = "#id + '_' + #user.getId()")
+    @Cacheable(value = "workouts", key = "#id + '_' + #user.getId()", sync = true)
+    @RoutedRead(ReadRoute.HISTORY)
     public WorkoutDto getWorkoutById(String id, UserDetailsImpl user) {
-        return workoutRepository.findById(id)
-                .filter(workout -> workout.getUserId().equals(user.getId()))
-                .map(this::convertToDto)
+        return workoutRepository.findByIdAndUserId(id, user.getId())
+                .map(WorkoutMapper::toDto)
                 .orElseThrow(() -> new RuntimeException("Workout not found"));
     }
     
     @Transactional
     @CacheEvict(value = "workouts", key = "#user.getId()")
     public WorkoutDto createWorkout(WorkoutDto workoutDto, UserDetailsImpl user) {
-        Workout workout = convertToEntity(workoutDto);
+        Workout workout = WorkoutMapper.toEntity(workoutDto);
         workout.setUserId(user.getId());
         
-        // If the workout is completed and it's today or in the past, update streak
-        if (workout.isCompleted() && !workout.getDate().isAfter(LocalDate.now())) {
-            streakService.updateStreak(user.getId(), workout.getDate());
-        }
-        
+        stamp(workout);
         Workout savedWorkout = workoutRepository.save(workout);
-        return convertToDto(savedWorkout);
+        return publish(savedWorkout, "created");
     }
     
     @Transactional
@@ -70,32 +82,19 @@ public class WorkoutService {
     })
     public WorkoutDto updateWorkout(String id, WorkoutDto workoutDto, UserDetailsImpl user) {
         // Verify workout exists and belongs to user
-        Workout existingWorkout = workoutRepository.findById(id)
-                .filter(w -> w.getUserId().equals(user.getId()))
+        Workout existingWorkout = workoutRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new RuntimeException("Workout not found or unauthorized"));
         
-        boolean wasCompleted = existingWorkout.isCompleted();
-        LocalDate oldDate = existingWorkout.getDate();
+        WorkoutDto previous = WorkoutMapper.toDto(existingWorkout);
         
         // Update the existing workout with new values
-        Workout workout = convertToEntity(workoutDto);
+        Workout workout = WorkoutMapper.toEntity(workoutDto);
         workout.setId(id);
         workout.setUserId(user.getId());
         
-        // Check if completion status changed
-        if (!wasCompleted && workout.isCompleted()) {
-            // Workout was marked as completed, update streak
-            streakService.updateStreak(user.getId(), workout.getDate());
-        } else if (wasCompleted && !workout.isCompleted() && oldDate.equals(workout.getDate())) {
-            // Workout was marked as incomplete, might need to recalculate streak
-            streakService.recalculateStreak(user.getId());
-        } else if (wasCompleted && workout.isCompleted() && !oldDate.equals(workout.getDate())) {
-            // Completed workout date changed, recalculate streak
-            streakService.recalculateStreak(user.getId());
-        }
-        
+        stamp(workout);
         Workout savedWorkout = workoutRepository.save(workout);
-        return convertToDto(savedWorkout);
+        return publish(savedWorkout, "updated", previous);
     }
     
     @Transactional
@@ -104,16 +103,15 @@ public class WorkoutService {
         @CacheEvict(value = "workouts", key = "#id + '_' + #user.getId()")
     })
     public void deleteWorkout(String id, UserDetailsImpl user) {
-        Workout workout = workoutRepository.findById(id)
-                .filter(w -> w.getUserId().equals(user.getId()))
+        Workout workout = workoutRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new RuntimeException("Workout not found or unauthorized"));
         
-        workoutRepository.delete(workout);
-        
-        // If deleted workout was completed, recalculate streak
-        if (workout.isCompleted()) {
-            streakService.recalculateStreak(user.getId());
-        }
+        workoutRepository.deleteByIdAndUserId(id, user.getId());
+        syncSequenceService.recordDeletion(user.getId(), "workout", id);
+        WorkoutDto previous = WorkoutMapper.toDto(workout);
+        eventPublisher.publishEvent(new UserUpdateEvent(
+                user.getId(), "workout", "deleted", id, null, previous));
+        appendToOutbox(user.getId(), "deleted", id, null, previous);
     }
     
     @Transactional
@@ -122,48 +120,56 @@ public class WorkoutService {
         @CacheEvict(value = "workouts", key = "#id + '_' + #user.getId()")
     })
     public WorkoutDto toggleWorkoutCompletion(String id, UserDetailsImpl user) {
-        Workout workout = workoutRepository.findById(id)
-                .filter(w -> w.getUserId().equals(user.getId()))
+        Workout workout = workoutRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new RuntimeException("Workout not found or unauthorized"));
         
+        WorkoutDto previous = WorkoutMapper.toDto(workout);
         workout.setCompleted(!workout.isCompleted());
         
-        // Update streak based on the new completion status
-        if (workout.isCompleted()) {
-            streakService.updateStreak(user.getId(), workout.getDate());
-        } else {
-            streakService.recalculateStreak(user.getId());
-        }
-        
+        stamp(workout);
         Workout savedWorkout = workoutRepository.save(workout);
-        return convertToDto(savedWorkout);
+        return publish(savedWorkout, "updated", previous);
+    }
+    
+    public List<Workout> findChangedSince(String userId, Long since) {
+        return since == null
+                ? workoutRepository.findByUserIdOrderByDateDesc(userId)
+                : workoutRepository.findByUserIdAndSyncSeqGreaterThan(userId, since);
+    }
+    
+    private void stamp(Workout workout) {
+        workout.setSyncSeq(syncSequenceService.nextSeq(workout.getUserId()));
+        workout.setUpdatedAt(clock.instant());
     }
     
-    private WorkoutDto convertToDto(Workout workout) {
-        return WorkoutDto.builder()
-                .id(workout.getId())
-                .title(workout.getTitle())
-                .type(workout.getType())
-                .duration(workout.getDuration())
-                .calories(workout.getCalories())
-                .exercises(workout.getExercises())
-                .date(workout.getDate().toString())
-                .completed(workout.isCompleted())
-                .notes(workout.getNotes())
-                .build();
+    private WorkoutDto publish(Workout workout, String action) {
+        return publish(workout, action, null);
     }
     
-    private Workout convertToEntity(WorkoutDto dto) {
-        return Workout.builder()
-                .id(dto.getId())
-                .title(dto.getTitle())
-                .type(dto.getType())
-                .duration(dto.getDuration())
-                .calories(dto.getCalories())
-                .exercises(dto.getExercises())
-                .date(LocalDate.parse(dto.getDate()))
-                .completed(dto.isCompleted())
-                .notes(dto.getNotes())
-                .build();
+    private WorkoutDto publish(Workout workout, String action, WorkoutDto previous) {
+        WorkoutDto dto = WorkoutMapper.toDto(workout);
+        eventPublisher.publishEvent(new UserUpdateEvent(
+                workout.getUserId(), "workout", action, workout.getId(), dto, previous));
+        appendToOutbox(workout.getUserId(), action, workout.getId(), dto, previous);
+        return dto;
     }
+    
+    // Streaks, leaderboards and achievements are brought up to date by the outbox handlers, after the response
+    private void appendToOutbox(String userId, String action, String id, WorkoutDto current, WorkoutDto previous) {
+        Map<String, Object> data = new HashMap<>();
+        if (current != null) {
+            data.put("date", current.getDate());
+            data.put("completed", current.isCompleted());
+            data.put("calories", current.getCalories());
+            data.put("duration", current.getDuration());
+        }
+        if (previous != null) {
+            data.put("previousDate", previous.getDate());
+            data.put("previousCompleted", previous.isCompleted());
+            data.put("previousCalories", previous.getCalories());
+            data.put("previousDuration", previous.getDuration());
+        }
+        outboxService.append(userId, "workout", action, id, data);
+    }
+    
 }
@@ -0,0 +1,115 @@
+package com.fitness.application.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks at startup that every derived query on a repository of a {@link
+ * org.springframework.data.mongodb.core.mapping.Sharded} entity filters on the whole shard key
+ * by equality in each of its or-branches, so it is routed to a single shard instead of being
+ * broadcast. Inherited CRUD methods such as findById are not checked and should not be used on
+ * these collections. Violations are logged; with app.sharding.verify=fail they stop the
+ * application. ShardKeyVerifierTest runs the same check over every repository and fails the build.
+ */
+@Component
+public class ShardKeyVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(ShardKeyVerifier.class);
+
+    private final ApplicationContext applicationContext;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${app.sharding.verify:warn}")
+    private String mode;
+
+    public ShardKeyVerifier(ApplicationContext applicationContext, MongoMappingContext mappingContext) {
+        this.applicationContext = applicationContext;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener
+    public void verify(ContextRefreshedEvent event) {
+        if ("off".equals(mode) || event.getApplicationContext() != applicationContext) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        int verified = check(violations);
+        if (violations.isEmpty()) {
+            logger.info("Verified {} repository queries are shard-targeted", verified);
+            return;
+        }
+        String message = "Repository queries that would scatter across shards:\n  " + String.join("\n  ", violations);
+        if ("fail".equals(mode)) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * Describes each repository query that would scatter across shards, whatever the mode.
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        check(violations);
+        return violations;
+    }
+
+    private int check(List<String> violations) {
+        Repositories repositories = new Repositories(applicationContext);
+        int verified = 0;
+        for (Class<?> domainType : repositories) {
+            MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+            if (entity == null || !entity.isSharded()) {
+                continue;
+            }
+            Set<String> shardKey = Set.copyOf(entity.getShardKey().getPropertyNames());
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                if (method.isAnnotationPresent(Query.class)) {
+                    violations.add(name + " uses @Query, which cannot be checked for the shard key");
+                } else if (!targetsShard(new PartTree(method.getName(), domainType), shardKey)) {
+                    violations.add(name + " does not filter on " + shardKey + " by equality");
+                } else {
+                    verified++;
+                }
+            }
+        }
+        return verified;
+    }
+
+    static boolean targetsShard(PartTree tree, Set<String> shardKey) {
+        boolean anyBranch = false;
+        for (PartTree.OrPart branch : tree) {
+            anyBranch = true;
+            Set<String> matched = new HashSet<>();
+            for (Part part : branch) {
+                if (part.getType() == Part.Type.SIMPLE_PROPERTY) {
+                    matched.add(part.getProperty().toDotPath());
+                }
+            }
+            if (!matched.containsAll(shardKey)) {
+                return false;
+            }
+        }
+        return anyBranch;
+    }
+}
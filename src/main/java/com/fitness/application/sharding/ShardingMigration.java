@@ -0,0 +1,122 @@
+package com.fitness.application.sharding;
+
+import com.fitness.application.service.LeaseService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoClient;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Prepares the existing collections of {@link Sharded} entities for their shard key: checks
+ * that no document lacks it, builds the shard key index and, when connected through mongos,
+ * shards the collection. Every step is idempotent, so the migration can be rerun after fixing a
+ * collection it skipped. Enabled with app.sharding.migrate=true and run by one node at a time.
+ */
+@Component
+public class ShardingMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoClient mongoClient;
+    private final MongoMappingContext mappingContext;
+    private final LeaseService leaseService;
+
+    @Value("${app.sharding.migrate:false}")
+    private boolean enabled;
+
+    @Value("${app.sharding.lease-ttl-ms:600000}")
+    private long leaseTtlMs;
+
+    public ShardingMigration(MongoTemplate mongoTemplate,
+                             MongoClient mongoClient,
+                             MongoMappingContext mappingContext,
+                             LeaseService leaseService) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoClient = mongoClient;
+        this.mappingContext = mappingContext;
+        this.leaseService = leaseService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled || !leaseService.tryAcquire("sharding-migration", Duration.ofMillis(leaseTtlMs))) {
+            return;
+        }
+        try {
+            boolean mongos = "isdbgrid".equals(mongoTemplate.executeCommand(new Document("isMaster", 1)).getString("msg"));
+            if (mongos) {
+                enableSharding();
+            } else {
+                logger.info("Not connected through mongos, only building shard key indexes");
+            }
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (entity.isSharded()) {
+                    migrate(entity, mongos);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Sharding migration failed: {}", e.getMessage());
+        } finally {
+            leaseService.release("sharding-migration");
+        }
+    }
+
+    private void migrate(MongoPersistentEntity<?> entity, boolean mongos) {
+        String collection = entity.getCollection();
+        Sharded sharded = entity.getRequiredAnnotation(Sharded.class);
+        Document shardKey = new Document();
+        for (String property : entity.getShardKey().getPropertyNames()) {
+            shardKey.append(entity.getRequiredPersistentProperty(property).getFieldName(),
+                    sharded.shardingStrategy() == ShardingStrategy.HASH ? "hashed" : 1);
+        }
+
+        // A document without the key cannot be placed on a shard, and would block sharding
+        Criteria missing = new Criteria();
+        missing.orOperator(shardKey.keySet().stream().map(field -> Criteria.where(field).is(null)).toArray(Criteria[]::new));
+        long unkeyed = mongoTemplate.count(new Query(missing), collection);
+        if (unkeyed > 0) {
+            logger.error("Skipping {}: {} documents have no {}", collection, unkeyed, shardKey.keySet());
+            return;
+        }
+
+        mongoTemplate.getCollection(collection).createIndex(shardKey);
+        if (!mongos) {
+            logger.info("Shard key index {} ready on {}", shardKey.toJson(), collection);
+            return;
+        }
+        try {
+            mongoClient.getDatabase("admin").runCommand(new Document("shardCollection", namespace(collection))
+                    .append("key", shardKey));
+            logger.info("Sharded {} on {}", collection, shardKey.toJson());
+        } catch (MongoCommandException e) {
+            logger.error("Cannot shard {} on {}: {}", collection, shardKey.toJson(), e.getErrorMessage());
+        }
+    }
+
+    private void enableSharding() {
+        try {
+            mongoClient.getDatabase("admin").runCommand(new Document("enableSharding", mongoTemplate.getDb().getName()));
+        } catch (MongoCommandException e) {
+            // Already enabled, or implicit on MongoDB 6 and later
+            logger.debug("enableSharding: {}", e.getErrorMessage());
+        }
+    }
+
+    private String namespace(String collection) {
+        return mongoTemplate.getDb().getName() + "." + collection;
+    }
+}
@@ -0,0 +1,160 @@
+package com.fitness.application.timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestTimings} context around each request, writes the Server-Timing header
+ * and logs a sample of slow requests with their per-phase breakdown. Runs ahead of the security
+ * filter chain so JWT parsing and the user lookup are included. Async requests are logged when
+ * they complete, so streamed bodies count towards the total.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestTimingFilter extends OncePerRequestFilter {
+    private static final Logger slowLog = LoggerFactory.getLogger("com.fitness.application.timing.SlowRequests");
+    private static final String HEADER = "Server-Timing";
+
+    @Value("${app.timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.timing.server-timing-header:true}")
+    private boolean headerEnabled;
+
+    @Value("${app.timing.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Value("${app.timing.slow-sample-rate:1.0}")
+    private double slowSampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket upgrades are long-lived and must see the container's own response
+        return !enabled || request.getRequestURI().startsWith("/ws");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        ServerTimingResponse timedResponse = headerEnabled ? new ServerTimingResponse(response, timings) : null;
+        try {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            RequestTimings.end();
+            if (timedResponse != null) {
+                // Bodiless responses (204, 304) never asked for a stream
+                timedResponse.writeHeader();
+            }
+            if (request.isAsyncStarted()) {
+                // Streamed bodies are written after the handler returns, on another thread that
+                // attaches these timings, so the request is only over once the response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logIfSlow(request, response, timings);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logIfSlow(request, response, timings);
+            }
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(timings.elapsedNanos());
+        if (elapsedMs < slowThresholdMs || ThreadLocalRandom.current().nextDouble() >= slowSampleRate) {
+            return;
+        }
+        slowLog.warn("Slow request {} {} -> {} in {} ms [{}]",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), elapsedMs, timings.summary());
+    }
+
+    /**
+     * Adds the header at the last moment before the response commits. Serialization happens
+     * after that point, so it only shows up in the slow-request log.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(HEADER, timings.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
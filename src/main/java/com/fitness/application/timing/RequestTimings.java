@@ -0,0 +1,170 @@
+package com.fitness.application.timing;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request accumulator of time spent in each {@link Phase}, bound to the request thread by
+ * {@link RequestTimingFilter}. When no request is being timed every entry point is a single
+ * ThreadLocal read and returns a shared no-op, so instrumented code pays almost nothing.
+ *
+ * <p>Phases can nest (the user lookup includes its cache and Mongo calls) and fan-out work on
+ * other threads is summed, so phase totals are not expected to add up to the wall-clock total.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final Stopwatch NOOP = () -> { };
+
+    public enum Phase {
+        JWT("jwt", "JWT parsing"),
+        USER("user", "User lookup"),
+        RATE_LIMIT("ratelimit", "Rate limiting"),
+        CACHE("cache", "Redis cache"),
+        MONGO("mongo", "MongoDB"),
+        SERIALIZATION("json", "JSON serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Closes a phase measurement; used with try-with-resources.
+     */
+    @FunctionalInterface
+    public interface Stopwatch extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+    private final AtomicLongArray counts = new AtomicLongArray(Phase.values().length);
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static Stopwatch start(Phase phase) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> timings.add(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Records a duration measured elsewhere, e.g. by the Mongo driver.
+     */
+    public static void record(Phase phase, long durationNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, durationNanos);
+        }
+    }
+
+    /**
+     * Carries the caller's timings onto the thread that runs the task, for executor fan-out.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            try (Stopwatch ignored = attach(timings)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * The timings of the request on this thread, or null when none is being timed. Hand it to
+     * {@link #attach} for work that finishes on another thread, such as a streamed body.
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds timings taken from {@link #current()} to this thread until the returned stopwatch
+     * is closed. A null argument binds nothing.
+     */
+    public static Stopwatch attach(RequestTimings timings) {
+        if (timings == null) {
+            return NOOP;
+        }
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    private void add(Phase phase, long durationNanos) {
+        nanos.addAndGet(phase.ordinal(), durationNanos);
+        counts.incrementAndGet(phase.ordinal());
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the phases seen so far as a Server-Timing header value (durations in ms).
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long count = counts.get(phase.ordinal());
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName)
+                    .append(";dur=").append(millis(nanos.get(phase.ordinal())))
+                    .append(";desc=\"").append(phase.description).append(" x").append(count).append("\", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    /**
+     * One-line summary for the slow-request log, e.g. {@code jwt=0.31ms/1 mongo=12.40ms/4}.
+     */
+    String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long count = counts.get(phase.ordinal());
+            if (count == 0) {
+                continue;
+            }
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(phase.metricName).append('=')
+                    .append(millis(nanos.get(phase.ordinal()))).append("ms/").append(count);
+        }
+        return summary.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
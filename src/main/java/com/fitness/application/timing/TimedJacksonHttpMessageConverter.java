@@ -0,0 +1,48 @@
+package com.fitness.application.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The standard JSON converter, with request and response bodies attributed to
+ * {@link Phase#SERIALIZATION}.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try (Stopwatch ignored = RequestTimings.start(Phase.SERIALIZATION)) {
+            return super.read(type, contextClass, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try (Stopwatch ignored = RequestTimings.start(Phase.SERIALIZATION)) {
+            return super.readInternal(clazz, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (Stopwatch ignored = RequestTimings.start(Phase.SERIALIZATION)) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
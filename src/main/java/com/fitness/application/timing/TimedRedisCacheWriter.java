@@ -0,0 +1,98 @@
+package com.fitness.application.timing;
+
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Attributes synchronous Redis cache round-trips to {@link Phase#CACHE}.
+ */
+public class TimedRedisCacheWriter implements RedisCacheWriter {
+    private final RedisCacheWriter delegate;
+
+    public TimedRedisCacheWriter(RedisCacheWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            return delegate.get(name, key);
+        }
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            return delegate.get(name, key, ttl);
+        }
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key) {
+        return delegate.retrieve(name, key);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            delegate.put(name, key, value, ttl);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            return delegate.putIfAbsent(name, key, value, ttl);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            delegate.remove(name, key);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        try (Stopwatch ignored = RequestTimings.start(Phase.CACHE)) {
+            delegate.clean(name, pattern);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new TimedRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector));
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fitness.application.timing;
+
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes Mongo round-trips to {@link Phase#MONGO}. The sync driver reports completion on the
+ * thread that issued the command, so the request's context is the current one.
+ */
+public class TimingCommandListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RequestTimings.record(Phase.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RequestTimings.record(Phase.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
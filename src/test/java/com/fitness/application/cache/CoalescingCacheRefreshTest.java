@@ -0,0 +1,190 @@
+package com.fitness.application.cache;
+
+import com.fitness.application.routing.ReadRoute;
+import com.fitness.application.routing.ReadRouting;
+import com.fitness.application.routing.ReadRoutingAspect;
+import com.fitness.application.routing.RoutedRead;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Refreshes run the {@code @Cacheable} method on the refresh executor, through the same advice
+ * chain as a request, so this wires the real cache, routing aspect and proxy.
+ */
+@SpringJUnitConfig(CoalescingCacheRefreshTest.Config.class)
+class CoalescingCacheRefreshTest {
+
+    @Autowired
+    private Loader loader;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MutableClock clock;
+
+    @Test
+    void staleEntryIsReplacedInTheBackground() throws Exception {
+        assertThat(loader.load("u1")).isEqualTo("u1#1");
+
+        clock.advance(Duration.ofSeconds(9)); // past the fresh 80% of the 10s TTL
+        assertThat(loader.load("u1")).isEqualTo("u1#1");
+
+        awaitCached("u1", "u1#2");
+        assertThat(loader.load("u1")).isEqualTo("u1#2");
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void missesOnTheSameKeyShareOneLoad() throws Exception {
+        loader.delay(200);
+        try {
+            List<Thread> threads = List.of(
+                    new Thread(() -> loader.load("u2")),
+                    new Thread(() -> loader.load("u2")),
+                    new Thread(() -> loader.load("u2")));
+            int before = loader.calls();
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertThat(loader.calls() - before).isEqualTo(1);
+        } finally {
+            loader.delay(0);
+        }
+    }
+
+    private void awaitCached(String key, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (expected.equals(cacheManager.getCache("values").get(key, String.class))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertThat(cacheManager.getCache("values").get(key, String.class)).isEqualTo(expected);
+    }
+
+    static class Loader {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long delay;
+
+        public int calls() {
+            return calls.get();
+        }
+
+        public void delay(long millis) {
+            delay = millis;
+        }
+
+        @Cacheable(value = "values", key = "#userId", sync = true)
+        @RoutedRead(ReadRoute.HISTORY)
+        public String load(String userId) {
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return userId + "#" + calls.incrementAndGet();
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2026-01-05T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class Config {
+
+        @Bean
+        MutableClock clock() {
+            return new MutableClock();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor refreshExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setTaskDecorator(ReadRouting::propagate);
+            return executor;
+        }
+
+        @Bean
+        CacheManager cacheManager(ThreadPoolTaskExecutor refreshExecutor, MeterRegistry meterRegistry, MutableClock clock) {
+            SimpleCacheManager manager = new SimpleCacheManager();
+            manager.setCaches(List.of(new CoalescingCache(new ConcurrentMapCache("values"),
+                    TtlFunction.just(Duration.ofSeconds(10)), 0.2, 0, refreshExecutor, meterRegistry, clock)));
+            return manager;
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        ReadRouting readRouting(MeterRegistry meterRegistry) {
+            return new ReadRouting(mock(ObjectProvider.class), mock(StringRedisTemplate.class), meterRegistry,
+                    true, "secondaryPreferred", "secondaryPreferred", 0, 60000);
+        }
+
+        @Bean
+        ReadRoutingAspect readRoutingAspect(ReadRouting readRouting) {
+            return new ReadRoutingAspect(readRouting);
+        }
+
+        @Bean
+        Loader loader() {
+            return new Loader();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.fitness.application.changestream;
+
+import com.fitness.application.service.LeaseService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ChangeStreamWatcherTest {
+    private MongoServer server;
+    private MongoClient client;
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private ChangeStreamWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        watcher = new ChangeStreamWatcher(new MongoTemplate(client, "change-stream-test"), mock(LeaseService.class),
+                List.of(), executor, Clock.systemUTC(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(watcher, "collections", List.of("workouts"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void disabledByDefault() {
+        watcher.start();
+
+        verify(executor, never()).execute(any());
+    }
+
+    @Test
+    void standaloneServerIsNotWatched() {
+        ReflectionTestUtils.setField(watcher, "enabled", true);
+
+        watcher.start();
+
+        verify(executor, never()).execute(any());
+    }
+}
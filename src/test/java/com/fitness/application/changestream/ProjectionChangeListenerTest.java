@@ -0,0 +1,163 @@
+package com.fitness.application.changestream;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.model.Workout;
+import com.fitness.application.service.OutboxService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProjectionChangeListenerTest {
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private ProjectionChangeListener listener;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "projection-change-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(SyncTombstone.class);
+        listener = new ProjectionChangeListener(outboxService, mongoTemplate);
+    }
+
+    @Test
+    void apiWritesAreLeftToTheirOwnOutboxEvents() {
+        listener.onChange("workouts", change("insert", workout(LocalDate.of(2026, 3, 2), true, 7), null, null));
+        listener.onChange("workouts", change("update", workout(LocalDate.of(2026, 3, 2), true, 8), null,
+                updated("syncSeq", "completed")));
+        listener.onChange("workouts", change("replace", workout(LocalDate.of(2026, 3, 2), true, 9), null, null));
+
+        verify(outboxService, never()).append(anyString(), anyString(), anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void scriptedUpdateIsQueuedWithTheWorkoutsState() {
+        listener.onChange("workouts", change("update", workout(LocalDate.of(2026, 3, 2), true, 7), null,
+                updated("completed")));
+
+        verify(outboxService).append(anyString(), eq("u1"), eq("workout"), eq("external"), eq("w1"),
+                eq(Map.of("date", "2026-03-02", "completed", true, "calories", 0, "duration", 0, "operation", "update")));
+    }
+
+    @Test
+    void deleteWithoutATombstoneIsQueuedFromItsPreImage() {
+        Document before = workout(LocalDate.of(2026, 3, 2), true, 7);
+        listener.onChange("workouts", change("delete", null, before, null));
+
+        mongoTemplate.insert(SyncTombstone.builder().userId("u1").type("workout").entityId("w1").syncSeq(8).build());
+        listener.onChange("workouts", change("delete", null, before, null));
+
+        verify(outboxService).append(anyString(), eq("u1"), eq("workout"), eq("external"), eq("w1"),
+                eq(Map.of("previousDate", "2026-03-02", "previousCompleted", true,
+                        "previousCalories", 0, "previousDuration", 0, "operation", "delete")));
+    }
+
+    @Test
+    void scriptedProgressInsertNamesItsExercise() {
+        Progress progress = Progress.builder()
+                .id("w1")
+                .userId("u1")
+                .category("strength")
+                .date(LocalDate.of(2026, 3, 2))
+                .value(100)
+                .additionalData(Map.of("exercise", " Bench  Press", "reps", 5))
+                .build();
+        Document document = new Document();
+        mongoTemplate.getConverter().write(progress, document);
+
+        listener.onChange("progress", change("insert", document, null, null));
+        listener.onChange("goals", change("insert", document, null, null));
+
+        verify(outboxService).append(any(), any(), any(), any(), any(), any());
+        verify(outboxService).append(anyString(), eq("u1"), eq("progress"), eq("external"), eq("w1"),
+                eq(Map.of("exercise", "bench press", "operation", "insert")));
+    }
+
+    @Test
+    void aReplayedChangeIsAppendedUnderTheSameId() {
+        ChangeStreamDocument<Document> change = change("update", workout(LocalDate.of(2026, 3, 2), true, 7), null,
+                updated("completed"), new BsonDocument("_data", new BsonString("8263A1")));
+        ChangeStreamDocument<Document> next = change("update", workout(LocalDate.of(2026, 3, 2), false, 7), null,
+                updated("completed"), new BsonDocument("_data", new BsonString("8263A2")));
+
+        listener.onChange("workouts", change);
+        listener.onChange("workouts", change);
+        listener.onChange("workouts", next);
+
+        ArgumentCaptor<String> ids = ArgumentCaptor.forClass(String.class);
+        verify(outboxService, times(3)).append(ids.capture(), any(), any(), any(), any(), any());
+        assertThat(ids.getAllValues().get(0)).isEqualTo(ids.getAllValues().get(1)).isNotEqualTo(ids.getAllValues().get(2));
+    }
+
+    private static Document workout(LocalDate date, boolean completed, long syncSeq) {
+        Workout workout = Workout.builder().id("w1").userId("u1").date(date).completed(completed).syncSeq(syncSeq).build();
+        Document document = new Document();
+        mongoTemplate.getConverter().write(workout, document);
+        return document;
+    }
+
+    private static UpdateDescription updated(String... fields) {
+        BsonDocument updatedFields = new BsonDocument();
+        for (String field : fields) {
+            updatedFields.put(field, new BsonInt64(1));
+        }
+        return new UpdateDescription(List.of(), updatedFields);
+    }
+
+    private static ChangeStreamDocument<Document> change(String operation, Document current, Document previous,
+                                                         UpdateDescription update) {
+        return change(operation, current, previous, update, new BsonDocument());
+    }
+
+    private static ChangeStreamDocument<Document> change(String operation, Document current, Document previous,
+                                                         UpdateDescription update, BsonDocument resumeToken) {
+        return new ChangeStreamDocument<>(operation, resumeToken, null, null, current, previous,
+                new BsonDocument("_id", new BsonString("w1")), new BsonTimestamp(1_772_000_000, 1), update,
+                null, null, null, null, null);
+    }
+}
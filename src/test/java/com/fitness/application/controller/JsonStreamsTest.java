@@ -0,0 +1,45 @@
+package com.fitness.application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonStreamsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesTheWholeStreamAsAnArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonStreams.array(objectMapper, () -> Stream.of(1, 2, 3)).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[1,2,3]");
+    }
+
+    @Test
+    void failurePartWayPropagatesAndLeavesTheArrayOpen() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> cursor = Stream.of(1, 2, 3)
+                .map(i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("cursor lost");
+                    }
+                    return i;
+                })
+                .onClose(() -> closed.set(true));
+
+        assertThatThrownBy(() -> JsonStreams.array(objectMapper, () -> cursor).writeTo(out))
+                .hasRootCauseMessage("cursor lost");
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[1,2");
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fitness.application.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedSkipListTest {
+
+    @Test
+    void tiesAreOrderedByMemberDescendingLikeZrevrange() {
+        RankedSkipList list = new RankedSkipList();
+        list.put("alice", 10);
+        list.put("carol", 10);
+        list.put("bob", 20);
+
+        assertThat(list.top(10)).containsExactly(
+                new LeaderboardEntry("bob", 20, 1),
+                new LeaderboardEntry("carol", 10, 2),
+                new LeaderboardEntry("alice", 10, 3));
+        assertThat(list.rank("alice")).isEqualTo(3);
+    }
+
+    @Test
+    void nonPositiveScoresRemoveTheMember() {
+        RankedSkipList list = new RankedSkipList();
+        list.put("alice", 10);
+        list.put("bob", 5);
+
+        assertThat(list.increment("alice", -10)).isZero();
+
+        assertThat(list.score("alice")).isNull();
+        assertThat(list.rank("alice")).isZero();
+        assertThat(list.rank("bob")).isEqualTo(1);
+        assertThat(list.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ranksMatchASortedCopyThroughRandomUpdates() {
+        RankedSkipList list = new RankedSkipList();
+        Map<String, Double> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            String member = "u" + random.nextInt(500);
+            double delta = random.nextInt(40) - 10;
+            double score = expected.getOrDefault(member, 0.0) + delta;
+            list.increment(member, delta);
+            if (score > 0) {
+                expected.put(member, score);
+            } else {
+                expected.remove(member);
+            }
+
+            if (step % 1000 == 0) {
+                assertMatches(list, expected);
+            }
+        }
+        assertMatches(list, expected);
+    }
+
+    private static void assertMatches(RankedSkipList list, Map<String, Double> expected) {
+        List<Map.Entry<String, Double>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Map.Entry.<String, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey())
+                .reversed());
+
+        List<LeaderboardEntry> ranked = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            ranked.add(new LeaderboardEntry(sorted.get(i).getKey(), sorted.get(i).getValue(), i + 1));
+        }
+        assertThat(list.size()).isEqualTo(expected.size());
+        assertThat(list.top(Integer.MAX_VALUE)).containsExactlyElementsOf(ranked);
+        for (LeaderboardEntry entry : ranked) {
+            assertThat(list.rank(entry.member())).as(entry.member()).isEqualTo(entry.rank());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fitness.application.leaderboard;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisLeaderboardStoreTest {
+    private static RedisServer server;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisLeaderboardStore store;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        server = RedisServer.newRedisServer(0);
+        server.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete("board");
+        store = new RedisLeaderboardStore(redisTemplate);
+    }
+
+    @Test
+    void seedKeepsScoresSetWhileItRan() {
+        store.set("board", "u1", 50);
+
+        store.seed("board", Map.of("u1", 10.0, "u2", 20.0), Duration.ofHours(1));
+
+        assertThat(store.isSeeded("board")).isTrue();
+        assertThat(store.top("board", 10)).containsExactly(
+                new LeaderboardEntry("u1", 50, 1), new LeaderboardEntry("u2", 20, 2));
+        assertThat(store.rank("board", "u2")).isEqualTo(new LeaderboardEntry("u2", 20, 2));
+        assertThat(redisTemplate.getExpire("board")).isPositive();
+    }
+
+    @Test
+    void boardLostWithRedisReadsAsUnseededOnceScoresComeBack() {
+        store.seed("board", Map.of("u1", 10.0), Duration.ofHours(1));
+        redisTemplate.delete("board");
+
+        store.set("board", "u2", 5);
+
+        assertThat(store.isSeeded("board")).isFalse();
+    }
+
+    @Test
+    void emptyWeekIsStillMarkedSeeded() {
+        store.seed("board", Map.of(), Duration.ofHours(1));
+
+        assertThat(store.isSeeded("board")).isTrue();
+        assertThat(store.top("board", 10)).isEmpty();
+    }
+
+    @Test
+    void largeSeedIsMarkedOnlyOnceEveryChunkIsIn() {
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 1; i <= 2500; i++) {
+            scores.put("u" + i, (double) i);
+        }
+
+        store.seed("board", scores, Duration.ofHours(1));
+
+        assertThat(store.isSeeded("board")).isTrue();
+        assertThat(redisTemplate.opsForZSet().zCard("board")).isEqualTo(2501);
+        assertThat(store.top("board", 1)).containsExactly(new LeaderboardEntry("u2500", 2500, 1));
+    }
+
+    @Test
+    void incrementToZeroLeavesTheBoard() {
+        assertThat(store.increment("board", "u1", 30)).isEqualTo(30);
+        assertThat(store.increment("board", "u1", -30)).isZero();
+
+        assertThat(store.rank("board", "u1")).isNull();
+    }
+}
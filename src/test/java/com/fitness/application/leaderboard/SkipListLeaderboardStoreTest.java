@@ -0,0 +1,111 @@
+package com.fitness.application.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkipListLeaderboardStoreTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:00:00Z"));
+    private final SkipListLeaderboardStore store = new SkipListLeaderboardStore(clock);
+
+    @Test
+    void seedKeepsScoresSetWhileItRan() {
+        store.set("board", "u1", 50);
+
+        store.seed("board", Map.of("u1", 10.0, "u2", 20.0), Duration.ofHours(1));
+
+        assertThat(store.isSeeded("board")).isTrue();
+        assertThat(store.top("board", 10)).containsExactly(
+                new LeaderboardEntry("u1", 50, 1), new LeaderboardEntry("u2", 20, 2));
+    }
+
+    @Test
+    void expiredBoardIsDroppedAndReadsAsUnseeded() {
+        store.seed("board", Map.of("u1", 10.0), Duration.ofHours(1));
+
+        clock.advance(Duration.ofHours(1));
+
+        assertThat(store.isSeeded("board")).isFalse();
+        assertThat(store.top("board", 10)).isEmpty();
+        assertThat(store.rank("board", "u1")).isNull();
+    }
+
+    @Test
+    void incrementNeverReportsANegativeScore() {
+        store.increment("board", "u1", 10);
+
+        assertThat(store.increment("board", "u1", -25)).isZero();
+        assertThat(store.rank("board", "u1")).isNull();
+    }
+
+    @Test
+    void concurrentIncrementsAreAllCounted() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.increment("board", "shared", 1);
+                        store.increment("board", "u" + thread, 1);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.rank("board", "shared")).isEqualTo(new LeaderboardEntry("shared", threads * perThread, 1));
+        assertThat(store.top("board", 100)).hasSize(threads + 1)
+                .allSatisfy(entry -> assertThat(entry.score()).isIn((double) perThread, (double) threads * perThread));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fitness.application.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fitness.application.dto.SyncResponseDto;
+import com.fitness.application.model.Workout;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityJsonModuleTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final Workout workout = Workout.builder()
+            .id("w1")
+            .userId("u1")
+            .title("Run")
+            .date(LocalDate.of(2024, 3, 1))
+            .syncSeq(7)
+            .build();
+
+    @Test
+    void syncResponseWritesEntitiesWithoutInternalFields() {
+        SyncResponseDto response = SyncResponseDto.builder().workouts(List.of(workout)).build();
+
+        JsonNode written = objectMapper.valueToTree(response).get("workouts").get(0);
+
+        assertThat(written.get("id").asText()).isEqualTo("w1");
+        assertThat(written.get("date").asText()).isEqualTo("2024-03-01");
+        assertThat(written.has("userId")).isFalse();
+        assertThat(written.has("syncSeq")).isFalse();
+    }
+
+    @Test
+    void mappersWithoutTheModuleKeepAllFields() {
+        JsonNode written = objectMapper.valueToTree(workout);
+
+        assertThat(written.get("userId").asText()).isEqualTo("u1");
+        assertThat(written.get("syncSeq").asLong()).isEqualTo(7);
+    }
+
+    @Test
+    void moduleAppliesToTheMapperItIsRegisteredOn() {
+        ObjectMapper entities = objectMapper.copy().registerModule(new EntityJsonModule());
+
+        assertThat(entities.valueToTree(workout).has("userId")).isFalse();
+        assertThat(objectMapper.valueToTree(workout).has("userId")).isTrue();
+    }
+}
@@ -0,0 +1,82 @@
+package com.fitness.application.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadRoutingFilterTest {
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private ReadRouting readRouting;
+    private ReadRoutingFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        readRouting = new ReadRouting(mock(ObjectProvider.class), redisTemplate, new SimpleMeterRegistry(),
+                true, "secondaryPreferred", "secondaryPreferred", 0, 60_000);
+        filter = new ReadRoutingFilter(readRouting);
+    }
+
+    @Test
+    void requestStoresOnlyItsLastWriteBeforeTheBodyIsWritten() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/workouts"), response, (request, wrapped) -> {
+            readRouting.recordWrite("u1", reply(1));
+            readRouting.recordWrite("u1", reply(2));
+            readRouting.recordWrite("u1", reply(3));
+            verify(values, never()).set(anyString(), anyString(), any(Duration.class));
+
+            wrapped.getOutputStream().write('x');
+            verify(values).set(eq("read-routing:last-write:u1"), contains("\"t\": 3"), eq(Duration.ofMinutes(1)));
+        });
+
+        verify(values, times(1)).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void bodilessResponseStoresTheWriteAsTheRequestEnds() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/goals/g1"), new MockHttpServletResponse(),
+                (request, wrapped) -> readRouting.recordWrite("u1", reply(1)));
+
+        verify(values, times(1)).set(eq("read-routing:last-write:u1"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void writesOutsideARequestAreStoredStraightAway() {
+        readRouting.recordWrite("u1", reply(1));
+        readRouting.recordWrite("u1", reply(2));
+
+        verify(values, times(2)).set(eq("read-routing:last-write:u1"), anyString(), any(Duration.class));
+    }
+
+    private static BsonDocument reply(int time) {
+        BsonTimestamp timestamp = new BsonTimestamp(time, 1);
+        return new BsonDocument("ok", new BsonInt32(1))
+                .append("operationTime", timestamp)
+                .append("$clusterTime", new BsonDocument("clusterTime", timestamp));
+    }
+}
@@ -0,0 +1,86 @@
+package com.fitness.application.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtChannelInterceptorTest {
+    private final JwtUtils jwtUtils = mock(JwtUtils.class);
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final JwtChannelInterceptor interceptor = new JwtChannelInterceptor(jwtUtils, userDetailsService);
+    private final Principal alice = new UsernamePasswordAuthenticationToken("alice", null, List.of());
+
+    JwtChannelInterceptorTest() {
+        ReflectionTestUtils.setField(interceptor, "headerName", "Authorization");
+        ReflectionTestUtils.setField(interceptor, "headerPrefix", "Bearer");
+    }
+
+    @Test
+    void connectBindsTheTokensUser() {
+        when(jwtUtils.validateJwtToken("token")).thenReturn(true);
+        when(jwtUtils.getUserIdFromJwtToken("token")).thenReturn("alice");
+        when(userDetailsService.loadUserById("alice")).thenReturn(mock(UserDetailsImpl.class));
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer token");
+        accessor.setLeaveMutable(true);
+
+        Message<?> sent = interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), channel);
+
+        assertThat(StompHeaderAccessor.wrap(sent).getUser().getName()).isEqualTo("alice");
+    }
+
+    @Test
+    void subscribesToOwnUpdates() {
+        Message<?> message = message(StompCommand.SUBSCRIBE, "/user/queue/updates", alice);
+
+        assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void refusesSubscribingToAnotherSessionsQueue() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/queue/updates-user1a", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/user/bob/queue/updates", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/topic/updates", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void refusesSubscribingWithoutConnecting() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SUBSCRIBE, "/user/queue/updates", null), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void refusesSendingToTheBrokerOrAnotherUser() {
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SEND, "/queue/updates-user1a", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SEND, "/topic/updates", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(message(StompCommand.SEND, "/user/bob/queue/updates", alice), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    private static Message<byte[]> message(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
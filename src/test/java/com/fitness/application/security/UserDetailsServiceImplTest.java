@@ -0,0 +1,40 @@
+package com.fitness.application.security;
+
+import com.fitness.application.repository.UserIdentity;
+import com.fitness.application.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailsServiceImpl service = new UserDetailsServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "adminUserIds", Set.of("admin"));
+        when(userRepository.findIdentityById("admin")).thenReturn(Optional.of(new UserIdentity("admin", "Admin", "admin@example.com")));
+        when(userRepository.findIdentityById("u1")).thenReturn(Optional.of(new UserIdentity("u1", "U1", "u1@example.com")));
+    }
+
+    @Test
+    void listedUsersAreAdmins() {
+        assertThat(service.loadUserById("admin").getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void otherUsersAreNot() {
+        assertThat(service.loadUserById("u1").getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+}
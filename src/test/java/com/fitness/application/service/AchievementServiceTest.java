@@ -0,0 +1,277 @@
+package com.fitness.application.service;
+
+import com.fitness.application.event.UserUpdateEvent;
+import com.fitness.application.model.Achievement;
+import com.fitness.application.model.AchievementState;
+import com.fitness.application.model.OutboxEvent;
+import com.fitness.application.model.PersonalRecordEntry;
+import com.fitness.application.model.Streak;
+import com.fitness.application.repository.ProgressRepository;
+import com.fitness.application.repository.StreakRepository;
+import com.fitness.application.repository.WorkoutRepository;
+import com.fitness.application.repository.WorkoutTotals;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AchievementServiceTest {
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private final StreakRepository streakRepository = mock(StreakRepository.class);
+    private final WorkoutRepository workoutRepository = mock(WorkoutRepository.class);
+    private final ProgressRepository progressRepository = mock(ProgressRepository.class);
+    private final List<UserUpdateEvent> announced = Collections.synchronizedList(new ArrayList<>());
+    private AchievementService achievementService;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "achievements-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(AchievementState.class);
+        mongoTemplate.dropCollection(OutboxEvent.class);
+        mongoTemplate.dropCollection(PersonalRecordEntry.class);
+        ApplicationEventPublisher eventPublisher = event -> announced.add((UserUpdateEvent) event);
+        achievementService = new AchievementService(mongoTemplate, streakRepository, workoutRepository,
+                progressRepository, eventPublisher);
+        ReflectionTestUtils.setField(achievementService, "partitions", 8);
+        ReflectionTestUtils.setField(achievementService, "appliedWindow", 200);
+        history(0, 0, 0);
+    }
+
+    @Test
+    void eventsAddTheirDifferenceToTheCounters() {
+        achievementService.getAchievements("u1");
+
+        achievementService.apply("u1", List.of(workout("created", null, true, 300, 45)));
+        achievementService.apply("u1", List.of(workout("updated", true, true, 200, 30)));
+
+        AchievementState state = mongoTemplate.findById("u1", AchievementState.class);
+        assertThat(state.getWorkouts()).isEqualTo(1);
+        assertThat(state.getCalories()).isEqualTo(300 - 200 + 200);
+        assertThat(state.getMinutes()).isEqualTo(45);
+
+        achievementService.apply("u1", List.of(workout("deleted", true, null, 0, 0)));
+        state = mongoTemplate.findById("u1", AchievementState.class);
+        assertThat(state.getWorkouts()).isZero();
+        assertThat(announced).extracting(UserUpdateEvent::getEntityId).containsExactly("first-workout");
+    }
+
+    @Test
+    void aRedeliveredEventIsCountedOnce() {
+        achievementService.getAchievements("u1");
+        OutboxEvent created = workout("created", null, true, 300, 45);
+        OutboxEvent progress = event("progress", "created", Map.of());
+
+        achievementService.apply("u1", List.of(created, progress));
+        achievementService.apply("u1", List.of(created, progress));
+        achievementService.apply("u1", List.of(progress));
+
+        AchievementState state = mongoTemplate.findById("u1", AchievementState.class);
+        assertThat(state.getWorkouts()).isEqualTo(1);
+        assertThat(state.getCalories()).isEqualTo(300);
+        assertThat(state.getProgressEntries()).isEqualTo(1);
+        assertThat(announced).extracting(UserUpdateEvent::getEntityId).containsExactlyInAnyOrder("first-workout", "first-progress");
+    }
+
+    @Test
+    void seedingCountsHistoryOnceAndSkipsTheEventsAlreadyInIt() {
+        OutboxEvent first = queued(workout("created", null, true, 100, 10));
+        OutboxEvent second = queued(workout("created", null, true, 100, 10));
+        history(2, 0, 0);
+
+        achievementService.apply("u1", List.of(first, second));
+        OutboxEvent later = workout("created", null, true, 100, 10);
+        achievementService.apply("u1", List.of(later));
+
+        assertThat(mongoTemplate.findById("u1", AchievementState.class).getWorkouts()).isEqualTo(3);
+        verify(workoutRepository).completedTotals("u1");
+        assertThat(announced).isEmpty();
+    }
+
+    @Test
+    void countersAreNotRecountedFromHistoryPerEvent() {
+        achievementService.getAchievements("u1");
+
+        achievementService.apply("u1", List.of(workout("created", null, true, 100, 10)));
+        achievementService.apply("u1", List.of(event("progress", "deleted", Map.of())));
+
+        verify(workoutRepository).completedTotals("u1");
+        verify(progressRepository).countByUserId("u1");
+    }
+
+    @Test
+    void anExternalUpdateWithoutItsPreviousValuesRecounts() {
+        achievementService.getAchievements("u1");
+        history(5, 0, 0);
+
+        achievementService.apply("u1", List.of(event("workout", "external",
+                Map.of("operation", "update", "completed", true, "calories", 10, "duration", 5))));
+
+        assertThat(mongoTemplate.findById("u1", AchievementState.class).getWorkouts()).isEqualTo(5);
+    }
+
+    @Test
+    void recordsAreCountedPerExercise() {
+        achievementService.getAchievements("u1");
+
+        achievementService.recordsChanged("u1", "bench press", 2);
+        achievementService.recordsChanged("u1", "db. row", 1);
+        achievementService.recordsChanged("u1", "squat", 4);
+        achievementService.recordsChanged("u1", "squat", 0);
+        achievementService.unlockEarned("u1");
+
+        AchievementState state = mongoTemplate.findById("u1", AchievementState.class);
+        assertThat(state.getRecords()).containsOnlyKeys("bench press", "db%2E row");
+        assertThat(state.getPersonalRecords()).isEqualTo(3);
+        assertThat(announced).extracting(UserUpdateEvent::getEntityId).containsExactly("first-record");
+    }
+
+    @Test
+    void recordsOfAUserWithoutADocumentAreCountedWhenSeeded() {
+        achievementService.recordsChanged("u1", "bench press", 2);
+        mongoTemplate.insertAll(List.of(
+                PersonalRecordEntry.builder().userId("u1").exercise("bench press").build(),
+                PersonalRecordEntry.builder().userId("u1").exercise("bench press").build(),
+                PersonalRecordEntry.builder().userId("u2").exercise("bench press").build()));
+
+        achievementService.getAchievements("u1");
+
+        assertThat(mongoTemplate.findById("u1", AchievementState.class).getPersonalRecords()).isEqualTo(2);
+    }
+
+    @Test
+    void theLongestStreakFollowsTheStoredStreakAndNeverShrinks() {
+        achievementService.getAchievements("u1");
+        history(0, 8, 0);
+        achievementService.unlockEarned("u1");
+
+        history(0, 2, 0);
+        achievementService.unlockEarned("u1");
+
+        assertThat(mongoTemplate.findById("u1", AchievementState.class).getLongestStreak()).isEqualTo(8);
+        assertThat(announced).extracting(UserUpdateEvent::getEntityId).containsExactly("streak-7");
+    }
+
+    @Test
+    void concurrentEventsAreEachCountedOnceAndEachBadgeAnnouncedOnce() throws Exception {
+        achievementService.getAchievements("u1");
+
+        int threads = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                OutboxEvent created = workout("created", null, true, 100, 10);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    achievementService.apply("u1", List.of(created));
+                    achievementService.apply("u1", List.of(created));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        AchievementState state = mongoTemplate.findById("u1", AchievementState.class);
+        assertThat(state.getWorkouts()).isEqualTo(10);
+        assertThat(state.getCalories()).isEqualTo(1000);
+        assertThat(announced).extracting(UserUpdateEvent::getEntityId)
+                .containsExactlyInAnyOrder("first-workout", "workouts-10", "calories-1k");
+    }
+
+    @Test
+    void readingBeforeAnyEventSeedsTheDocumentQuietly() {
+        history(1, 0, 0);
+
+        assertThat(achievementService.getAchievements("u1")).extracting("code").containsExactly("first-workout");
+        achievementService.unlockEarned("u1");
+
+        assertThat(announced).isEmpty();
+        verify(progressRepository, never()).countByUserId("u2");
+    }
+
+    private OutboxEvent queued(OutboxEvent event) {
+        return mongoTemplate.insert(event);
+    }
+
+    private static OutboxEvent workout(String action, Boolean wasCompleted, Boolean completed, int calories, int duration) {
+        Map<String, Object> data = new HashMap<>();
+        if (completed != null) {
+            data.put("completed", completed);
+            data.put("calories", calories);
+            data.put("duration", duration);
+        }
+        if (wasCompleted != null) {
+            data.put("previousCompleted", wasCompleted);
+            data.put("previousCalories", 200);
+            data.put("previousDuration", 30);
+        }
+        return event("workout", action, data);
+    }
+
+    private static OutboxEvent event(String type, String action, Map<String, Object> data) {
+        return OutboxEvent.builder()
+                .id(new ObjectId().toHexString())
+                .partition(OutboxService.partitionOf("u1", 8))
+                .userId("u1")
+                .type(type)
+                .action(action)
+                .data(data)
+                .build();
+    }
+
+    private void history(long workouts, int longestStreak, long progressEntries) {
+        when(workoutRepository.completedTotals("u1")).thenReturn(new WorkoutTotals("u1", workouts, 0, 0));
+        when(streakRepository.findByUserId("u1"))
+                .thenReturn(Optional.of(Streak.builder().userId("u1").longestStreak(longestStreak).build()));
+        when(progressRepository.countByUserId("u1")).thenReturn(progressEntries);
+    }
+}
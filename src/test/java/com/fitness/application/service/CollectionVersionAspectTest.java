@@ -0,0 +1,109 @@
+package com.fitness.application.service;
+
+import com.fitness.application.event.UserUpdateEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CollectionVersionAspectTest {
+    private static final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private static final ValueOperations<String, String> values = mock(ValueOperations.class);
+
+    @Test
+    void versionIsBumpedOnlyOnceTheCacheIsEvicted() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class)) {
+            GoalStore store = context.getBean(GoalStore.class);
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+            List<Boolean> cachedAtBump = new ArrayList<>();
+            when(redisTemplate.opsForValue()).thenReturn(values);
+            when(values.increment(anyString())).thenAnswer(invocation -> {
+                cachedAtBump.add(cacheManager.getCache("goals").get("u1") != null);
+                return 2L;
+            });
+
+            store.read("u1");
+            store.write("u1");
+
+            assertThat(cachedAtBump).containsExactly(false);
+        }
+    }
+
+    @Test
+    void versionIsBumpedWhenTheWriteFailsAfterPublishing() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class)) {
+            GoalStore store = context.getBean(GoalStore.class);
+            List<String> bumped = new ArrayList<>();
+            when(redisTemplate.opsForValue()).thenReturn(values);
+            when(values.increment(anyString())).thenAnswer(invocation -> {
+                bumped.add(invocation.getArgument(0));
+                return 2L;
+            });
+
+            assertThatThrownBy(() -> store.failAfterWrite("u1")).isInstanceOf(IllegalStateException.class);
+
+            assertThat(bumped).containsExactly("version:goals:u1");
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableAspectJAutoProxy
+    @Import({CollectionVersionAspect.class, GoalStore.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("goals");
+        }
+
+        @Bean
+        CollectionVersionService collectionVersionService() {
+            return new CollectionVersionService(redisTemplate, Clock.systemUTC());
+        }
+    }
+
+    static class GoalStore {
+        private final ApplicationEventPublisher eventPublisher;
+
+        GoalStore(ApplicationEventPublisher eventPublisher) {
+            this.eventPublisher = eventPublisher;
+        }
+
+        @Cacheable(value = "goals", key = "#p0")
+        public String read(String userId) {
+            return "goals of " + userId;
+        }
+
+        @CacheEvict(value = "goals", key = "#p0")
+        public void write(String userId) {
+            eventPublisher.publishEvent(new UserUpdateEvent(userId, "goal", "updated", "g1", null));
+        }
+
+        @CacheEvict(value = "goals", key = "#p0")
+        public void failAfterWrite(String userId) {
+            eventPublisher.publishEvent(new UserUpdateEvent(userId, "goal", "updated", "g1", null));
+            throw new IllegalStateException("response failed");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.DashboardDto;
+import com.fitness.application.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final UserDetailsImpl user = UserDetailsImpl.build("u1", "u1@example.com", "u1@example.com", "secret", "U1");
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        executor.initialize();
+        dashboardService = new DashboardService(mock(WorkoutService.class), mock(GoalService.class),
+                mock(StreakService.class), progressService, executor);
+        ReflectionTestUtils.setField(dashboardService, "timeoutMs", 5_000L);
+        ReflectionTestUtils.setField(dashboardService, "maxCategories", 3);
+        when(progressService.getUserProgress(any(), anyString())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void repeatedAndBlankCategoriesAreReadOnce() {
+        DashboardDto dashboard = dashboardService.getDashboard(user, List.of("weight", " weight", "", "strength"));
+
+        assertThat(dashboard.getLatestProgress()).containsOnlyKeys("weight", "strength");
+        verify(progressService, times(1)).getUserProgress(user, "weight");
+    }
+
+    @Test
+    void tooManyCategoriesAreRejectedBeforeAnyRead() {
+        assertThatThrownBy(() -> dashboardService.getDashboard(user, List.of("a", "b", "c", "d")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        verify(progressService, never()).getUserProgress(any(), anyString());
+    }
+}
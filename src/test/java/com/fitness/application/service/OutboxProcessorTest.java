@@ -0,0 +1,211 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.OutboxEvent;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class OutboxProcessorTest {
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-03-02T12:00:00Z"));
+    private final RecordingHandler handler = new RecordingHandler();
+    private OutboxProcessor processor;
+    private OutboxService outboxService;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "outbox-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(OutboxEvent.class);
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        LeaseService leaseService = mock(LeaseService.class);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        // Drains run on the calling thread, so every poll and append has finished when it returns
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                task.run();
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        processor = new OutboxProcessor(mongoTemplate, leaseService, List.of(handler), executor, clock, meterRegistry);
+        ReflectionTestUtils.setField(processor, "partitions", 1);
+        ReflectionTestUtils.setField(processor, "batchSize", 200);
+        ReflectionTestUtils.setField(processor, "maxBatchesPerPartition", 10);
+        ReflectionTestUtils.setField(processor, "leaseTtlMs", 30_000L);
+        ReflectionTestUtils.setField(processor, "retryBackoffMs", 1_000L);
+        ReflectionTestUtils.setField(processor, "maxRetryBackoffMs", 300_000L);
+
+        outboxService = new OutboxService(mongoTemplate, processor, clock, meterRegistry);
+        ReflectionTestUtils.setField(outboxService, "partitions", 1);
+        ReflectionTestUtils.setField(outboxService, "maxBacklog", 10_000L);
+    }
+
+    @Test
+    void failedEventHoldsBackItsUsersLaterEventsOnly() {
+        handler.failing.add("w1");
+        queue("u1", "w1");
+        queue("u1", "w2");
+        queue("u2", "w3");
+
+        processor.poll();
+
+        assertThat(handler.applied).containsExactly("w3");
+        OutboxEvent failed = queued("w1");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isEqualTo(now.get().plusSeconds(1));
+        assertThat(queued("w2").getNextAttemptAt()).isEqualTo(failed.getNextAttemptAt());
+
+        // Still backing off: the later event is due but must not overtake the failed one
+        queue("u2", "w4");
+        processor.poll();
+        assertThat(handler.applied).containsExactly("w3", "w4");
+
+        handler.failing.clear();
+        now.set(now.get().plusSeconds(1));
+        processor.poll();
+
+        assertThat(handler.applied).containsExactly("w3", "w4", "w1", "w2");
+        assertThat(mongoTemplate.count(new Query(), OutboxEvent.class)).isZero();
+    }
+
+    @Test
+    void retryBackoffGrowsWithEachFailure() {
+        handler.failing.add("w1");
+        queue("u1", "w1");
+
+        processor.poll();
+        now.set(now.get().plusSeconds(1));
+        processor.poll();
+
+        OutboxEvent failed = queued("w1");
+        assertThat(failed.getAttempts()).isEqualTo(2);
+        assertThat(failed.getNextAttemptAt()).isEqualTo(now.get().plusSeconds(2));
+    }
+
+    @Test
+    void inlineFailureIsQueuedAndHoldsBackTheUsersNextEvent() {
+        ReflectionTestUtils.setField(outboxService, "maxBacklog", 0L);
+        handler.failing.add("w1");
+
+        outboxService.append("u1", "workout", "created", "w1", Map.of());
+
+        assertThat(handler.applied).isEmpty();
+        OutboxEvent failed = queued("w1");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isAfter(now.get());
+
+        // The user has an event queued, so the next one queues behind it instead of running inline
+        outboxService.append("u1", "workout", "created", "w2", Map.of());
+        outboxService.append("u2", "workout", "created", "w3", Map.of());
+        assertThat(handler.applied).containsExactly("w3");
+        assertThat(queued("w2")).isNotNull();
+
+        handler.failing.clear();
+        now.set(now.get().plusSeconds(1));
+        processor.poll();
+
+        assertThat(handler.applied).containsExactly("w3", "w1", "w2");
+    }
+
+    @Test
+    void eventThatCanNeitherBeAppliedNorQueuedIsCountedNotThrown() {
+        MongoTemplate unavailable = spy(mongoTemplate);
+        doThrow(new DataAccessResourceFailureException("no primary")).when(unavailable).insert(any(OutboxEvent.class));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutboxService service = new OutboxService(unavailable, processor, Clock.systemUTC(), meterRegistry);
+        ReflectionTestUtils.setField(service, "partitions", 1);
+        ReflectionTestUtils.setField(service, "maxBacklog", 10_000L);
+        handler.failing.add("w1");
+
+        service.append("u1", "workout", "created", "w1", Map.of());
+
+        assertThat(meterRegistry.counter("fitness.outbox.lost").count()).isEqualTo(1);
+        assertThat(mongoTemplate.count(new Query(), OutboxEvent.class)).isZero();
+    }
+
+    private void queue(String userId, String entityId) {
+        mongoTemplate.insert(OutboxEvent.builder()
+                .partition(0)
+                .userId(userId)
+                .type("workout")
+                .action("created")
+                .entityId(entityId)
+                .createdAt(now.get())
+                .nextAttemptAt(now.get())
+                .build());
+    }
+
+    private OutboxEvent queued(String entityId) {
+        return mongoTemplate.findOne(new Query(
+                Criteria.where("entityId").is(entityId)), OutboxEvent.class);
+    }
+
+    private static final class RecordingHandler implements OutboxHandler {
+        final Set<String> failing = new HashSet<>();
+        final List<String> applied = new ArrayList<>();
+
+        @Override
+        public Set<String> types() {
+            return Set.of("workout");
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            for (OutboxEvent event : events) {
+                if (failing.contains(event.getEntityId())) {
+                    throw new IllegalStateException("cannot apply " + event.getEntityId());
+                }
+            }
+            events.forEach(event -> applied.add(event.getEntityId()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.ProgressMeasurement;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProgressSeriesMigrationTest {
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private ProgressSeriesMigration migration;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "progress-series-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Progress.class);
+        mongoTemplate.dropCollection(ProgressMeasurement.class);
+        LeaseService leaseService = mock(LeaseService.class);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        migration = new ProgressSeriesMigration(mongoTemplate, leaseService);
+        ReflectionTestUtils.setField(migration, "enabled", true);
+    }
+
+    @Test
+    void rerunCopiesOnlyEntriesNotYetInTheSeries() {
+        Progress first = progress("u1", LocalDate.of(2026, 3, 1), 80);
+        mongoTemplate.insert(first);
+        mongoTemplate.insert(progress("u2", LocalDate.of(2026, 3, 1), 70));
+        migration.migrate();
+
+        mongoTemplate.insert(progress("u1", LocalDate.of(2026, 3, 2), 79.5));
+        migration.migrate();
+
+        assertThat(mongoTemplate.findAll(ProgressMeasurement.class))
+                .extracting(measurement -> measurement.getMeta().getUserId() + "@" + measurement.getValue())
+                .containsExactlyInAnyOrder("u1@80.0", "u2@70.0", "u1@79.5");
+        assertThat(mongoTemplate.findById(first.getId(), ProgressMeasurement.class).toProgress())
+                .isEqualTo(first);
+    }
+
+    @Test
+    void entriesWithoutADateAreSkipped() {
+        mongoTemplate.insert(progress("u1", null, 80));
+
+        migration.migrate();
+
+        assertThat(mongoTemplate.findAll(ProgressMeasurement.class)).isEmpty();
+    }
+
+    private static Progress progress(String userId, LocalDate date, double value) {
+        return Progress.builder()
+                .id(new ObjectId().toHexString())
+                .userId(userId)
+                .category("weight")
+                .date(date)
+                .value(value)
+                .build();
+    }
+}
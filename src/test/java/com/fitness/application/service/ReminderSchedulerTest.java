@@ -0,0 +1,67 @@
+package com.fitness.application.service;
+
+import com.fitness.application.model.Notification;
+import com.fitness.application.model.ReminderPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderSchedulerTest {
+    private static final Instant NOW = Instant.parse("2026-03-02T07:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final BulkOperations reschedule = mock(BulkOperations.class);
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ReminderScheduler(mongoTemplate, mock(LeaseService.class), notificationService,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 500);
+        when(mongoTemplate.find(any(Query.class), eq(ReminderPreference.class))).thenReturn(List.of(
+                ReminderPreference.builder().id("p1").userId("u1").workoutRemindersEnabled(true)
+                        .frequency("daily").time("07:00").timezone("UTC").nextDueAt(NOW).build()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReminderPreference.class)).thenReturn(reschedule);
+        when(notificationService.workoutReminder("u1")).thenReturn(Notification.builder().userId("u1").build());
+    }
+
+    @Test
+    void deliversBeforeMovingTheReminderOn() {
+        assertThat(scheduler.processBatch(0, NOW)).isEqualTo(1);
+
+        InOrder order = inOrder(notificationService, reschedule);
+        order.verify(notificationService).deliver(anyCollection());
+        order.verify(reschedule).execute();
+    }
+
+    @Test
+    void failedDeliveryLeavesTheReminderDue() {
+        doThrow(new IllegalStateException("mongo down")).when(notificationService).deliver(anyCollection());
+
+        assertThatThrownBy(() -> scheduler.processBatch(0, NOW)).hasMessage("mongo down");
+
+        verify(reschedule, never()).execute();
+    }
+}
@@ -0,0 +1,97 @@
+package com.fitness.application.service;
+
+import com.fitness.application.dto.SyncResponseDto;
+import com.fitness.application.model.Goal;
+import com.fitness.application.model.SyncCounter;
+import com.fitness.application.model.SyncTombstone;
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.SyncTombstoneRepository;
+import com.fitness.application.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SyncServiceTest {
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00Z");
+    private static final Instant SETTLED = NOW.minusSeconds(120);
+    private static final Instant RECENT = NOW.minusSeconds(5);
+
+    private final WorkoutService workoutService = mock(WorkoutService.class);
+    private final GoalService goalService = mock(GoalService.class);
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final SyncSequenceService syncSequenceService = mock(SyncSequenceService.class);
+    private final SyncTombstoneRepository tombstoneRepository = mock(SyncTombstoneRepository.class);
+    private final UserDetailsImpl user = UserDetailsImpl.build("u1", "u1@example.com", "u1@example.com", "secret", "U1");
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(workoutService, goalService, progressService, syncSequenceService,
+                tombstoneRepository, Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(syncService, "commitMarginMs", 60_000L);
+        when(syncSequenceService.getCounter("u1")).thenReturn(SyncCounter.builder().id("u1").seq(20).build());
+        when(progressService.findChangedSince(eq("u1"), any())).thenReturn(List.of());
+        when(tombstoneRepository.findByUserIdAndSyncSeqGreaterThan(eq("u1"), anyLong())).thenReturn(List.of());
+    }
+
+    @Test
+    void tokenStopsBeforeChangesWithinTheCommitMargin() {
+        // Seq 11 may have been taken by a write still being saved when 12 was read
+        when(workoutService.findChangedSince("u1", 5L)).thenReturn(List.of(workout(10, SETTLED), workout(12, RECENT)));
+        when(goalService.findChangedSince("u1", 5L)).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.sync(user, "5");
+
+        assertThat(response.isFullResync()).isFalse();
+        assertThat(response.getWorkouts()).hasSize(2);
+        assertThat(response.getNextToken()).isEqualTo("10");
+    }
+
+    @Test
+    void tokenNeverMovesBackwards() {
+        when(workoutService.findChangedSince("u1", 15L)).thenReturn(List.of(workout(16, RECENT)));
+        when(goalService.findChangedSince("u1", 15L)).thenReturn(List.of());
+
+        assertThat(syncService.sync(user, "15").getNextToken()).isEqualTo("15");
+    }
+
+    @Test
+    void settledTombstonesAndGoalsAdvanceTheToken() {
+        when(workoutService.findChangedSince("u1", 5L)).thenReturn(List.of());
+        when(goalService.findChangedSince("u1", 5L)).thenReturn(List.of(Goal.builder().id("g").syncSeq(7).updatedAt(SETTLED).build()));
+        when(tombstoneRepository.findByUserIdAndSyncSeqGreaterThan("u1", 5L)).thenReturn(List.of(
+                SyncTombstone.builder().type("workout").entityId("w9").syncSeq(9).deletedAt(SETTLED).build()));
+
+        SyncResponseDto response = syncService.sync(user, "5");
+
+        assertThat(response.getDeleted()).hasSize(1);
+        assertThat(response.getNextToken()).isEqualTo("9");
+    }
+
+    @Test
+    void missingTokenGetsASnapshot() {
+        when(workoutService.findChangedSince("u1", null)).thenReturn(List.of(workout(3, SETTLED), workout(20, RECENT)));
+        when(goalService.findChangedSince("u1", null)).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.sync(user, null);
+
+        assertThat(response.isFullResync()).isTrue();
+        assertThat(response.getNextToken()).isEqualTo("3");
+    }
+
+    private static Workout workout(long seq, Instant updatedAt) {
+        return Workout.builder().id("w" + seq).userId("u1").syncSeq(seq).updatedAt(updatedAt).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fitness.application.sharding;
+
+import com.fitness.application.model.Progress;
+import com.fitness.application.model.Workout;
+import com.fitness.application.repository.WorkoutBucketStore;
+import com.fitness.application.repository.WorkoutRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails the build when a repository query on a sharded collection would be broadcast to every
+ * shard, whatever app.sharding.verify is set to at runtime.
+ */
+class ShardKeyVerifierTest {
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "shard-key-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void everyRepositoryQueryTargetsOneShard() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AllRepositories.class)) {
+            assertThat(new Repositories(context).hasRepositoryFor(Workout.class)).isTrue();
+            assertThat(new Repositories(context).hasRepositoryFor(Progress.class)).isTrue();
+
+            assertThat(context.getBean(ShardKeyVerifier.class).violations()).isEmpty();
+        }
+    }
+
+    @Test
+    void queriesMissingTheShardKeyInAnyBranchScatter() {
+        Set<String> shardKey = Set.of("userId");
+
+        assertThat(ShardKeyVerifier.targetsShard(new PartTree("findByUserIdAndDateBetween", Workout.class), shardKey)).isTrue();
+        assertThat(ShardKeyVerifier.targetsShard(new PartTree("findByTitle", Workout.class), shardKey)).isFalse();
+        assertThat(ShardKeyVerifier.targetsShard(new PartTree("findByUserIdNot", Workout.class), shardKey)).isFalse();
+        assertThat(ShardKeyVerifier.targetsShard(new PartTree("findByUserIdOrTitle", Workout.class), shardKey)).isFalse();
+        assertThat(ShardKeyVerifier.targetsShard(new PartTree("countByCompletedTrue", Workout.class), shardKey)).isFalse();
+    }
+
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = WorkoutRepository.class)
+    @Import({WorkoutBucketStore.class, ShardKeyVerifier.class})
+    static class AllRepositories {
+        @Bean
+        MongoTemplate mongoTemplate() {
+            return mongoTemplate;
+        }
+
+        @Bean
+        MongoMappingContext mongoMappingContext() {
+            return (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        }
+    }
+}
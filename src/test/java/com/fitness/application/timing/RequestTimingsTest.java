@@ -0,0 +1,51 @@
+package com.fitness.application.timing;
+
+import com.fitness.application.timing.RequestTimings.Phase;
+import com.fitness.application.timing.RequestTimings.Stopwatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.end();
+    }
+
+    @Test
+    void attachedTimingsCollectWorkFinishedOnAnotherThread() {
+        RequestTimings timings = RequestTimings.begin();
+        RequestTimings captured = RequestTimings.current();
+        RequestTimings.end();
+
+        CompletableFuture.runAsync(() -> {
+            try (Stopwatch attached = RequestTimings.attach(captured)) {
+                RequestTimings.record(Phase.SERIALIZATION, 2_000_000);
+            }
+            assertThat(RequestTimings.current()).isNull();
+        }).join();
+
+        assertThat(timings.summary()).isEqualTo("json=2.00ms/1");
+    }
+
+    @Test
+    void attachRestoresTheTimingsAlreadyBound() {
+        RequestTimings streamed = RequestTimings.begin();
+        RequestTimings running = RequestTimings.begin();
+
+        try (Stopwatch attached = RequestTimings.attach(streamed)) {
+            RequestTimings.record(Phase.MONGO, 1_000_000);
+        }
+        try (Stopwatch attached = RequestTimings.attach(null)) {
+            assertThat(RequestTimings.current()).isSameAs(running);
+        }
+
+        assertThat(RequestTimings.current()).isSameAs(running);
+        assertThat(running.summary()).isEmpty();
+        assertThat(streamed.summary()).isEqualTo("mongo=1.00ms/1");
+    }
+}